@@ -0,0 +1,173 @@
+package projekt.runner;
+
+import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.archetype.ProblemGroup;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.service.DeliveryService;
+import projekt.delivery.simulation.BasicDeliverySimulation;
+import projekt.delivery.simulation.Simulation;
+import projekt.delivery.simulation.SimulationConfig;
+import projekt.runner.handler.ResultHandler;
+import projekt.runner.handler.SimulationFinishedHandler;
+import projekt.runner.handler.SimulationSetupHandler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link Runner} that executes the runs of all {@link ProblemArchetype}s of a {@link ProblemGroup} concurrently.<p>
+ *
+ * Every pair of a {@link ProblemArchetype} and a run is executed as an independent task on a bounded thread pool. Each
+ * task simulates its own {@link ProblemArchetype#copy() copy} of the {@link ProblemArchetype}, so no mutable state is
+ * shared between the tasks except the {@link SimulationConfig} and the {@link projekt.delivery.routing.PathCalculator}
+ * of the {@link projekt.delivery.routing.VehicleManager}, which therefore has to be thread safe.<p>
+ *
+ * The ratings are summed up in the same order as by a sequential execution, i.e. run by run and within a run in the
+ * order of {@link ProblemGroup#problems()}, so the result passed to the {@link ResultHandler} is identical to the one
+ * of a sequential {@link Runner}. The handlers are never called concurrently, but the {@link SimulationSetupHandler}
+ * and the {@link SimulationFinishedHandler} are called from the threads of the pool in no particular order.<p>
+ *
+ * If the execution stops early, because a {@link SimulationFinishedHandler} requested it, a simulation failed or the
+ * calling thread was interrupted, the simulations that are still running are ended before this method returns.
+ */
+public class ParallelRunnerImpl implements Runner {
+
+    private final int parallelism;
+
+    /**
+     * Creates a new {@link ParallelRunnerImpl}.
+     * @param parallelism The maximum amount of simulations that are executed at the same time.
+     */
+    public ParallelRunnerImpl(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Creates a new {@link ParallelRunnerImpl} that executes as many simulations at the same time as there are
+     * available processors.
+     */
+    public ParallelRunnerImpl() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public void run(ProblemGroup problemGroup,
+                    SimulationConfig simulationConfig,
+                    int simulationRuns,
+                    DeliveryService.Factory deliveryServiceFactory,
+                    SimulationSetupHandler simulationSetupHandler,
+                    SimulationFinishedHandler simulationFinishedHandler,
+                    ResultHandler resultHandler) {
+
+        List<ProblemArchetype> problems = problemGroup.problems();
+        List<RatingCriteria> criteria = problemGroup.ratingCriteria();
+        Object handlerLock = new Object();
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Set<Simulation> runningSimulations = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+
+        try {
+            List<Future<double[]>> futures = new ArrayList<>(simulationRuns * problems.size());
+            for (int run = 0; run < simulationRuns; run++) {
+                for (ProblemArchetype problem : problems) {
+                    int i = run;
+                    futures.add(executor.submit(() -> {
+                        if (interrupted.get()) {
+                            return null;
+                        }
+                        Simulation simulation = createSimulation(problem.copy(), simulationConfig, deliveryServiceFactory);
+                        synchronized (handlerLock) {
+                            simulationSetupHandler.accept(simulation, problem, i);
+                        }
+
+                        runningSimulations.add(simulation);
+                        try {
+                            // checked after registering, so that the simulation is either skipped or ended below
+                            if (interrupted.get()) {
+                                return null;
+                            }
+                            simulation.runSimulation(problem.simulationLength());
+                        } finally {
+                            runningSimulations.remove(simulation);
+                        }
+
+                        synchronized (handlerLock) {
+                            if (interrupted.get() || simulationFinishedHandler.accept(simulation, problem)) {
+                                // the simulations that have not been started yet are skipped
+                                interrupted.set(true);
+                                return null;
+                            }
+                        }
+
+                        double[] ratings = new double[criteria.size()];
+                        for (int j = 0; j < criteria.size(); j++) {
+                            ratings[j] = simulation.getRatingForCriterion(criteria.get(j));
+                        }
+                        return ratings;
+                    }));
+                }
+            }
+
+            double[] sums = new double[criteria.size()];
+            for (Future<double[]> future : futures) {
+                double[] ratings = future.get();
+                if (ratings == null) {
+                    return;
+                }
+                for (int j = 0; j < criteria.size(); j++) {
+                    sums[j] += ratings[j];
+                }
+            }
+
+            Map<RatingCriteria, Double> result = new HashMap<>();
+            for (int j = 0; j < criteria.size(); j++) {
+                result.put(criteria.get(j), sums[j] / (simulationRuns * problems.size()));
+            }
+            resultHandler.accept(result);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            interrupted.set(true);
+            // a simulation that is about to start is stopped by the interrupt of shutdownNow
+            runningSimulations.forEach(Simulation::endSimulation);
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public Map<ProblemArchetype, Simulation> createSimulations(ProblemGroup problemGroup,
+                                                                SimulationConfig simulationConfig,
+                                                                DeliveryService.Factory deliveryServiceFactory) {
+
+        Map<ProblemArchetype, Simulation> simulations = new HashMap<>();
+        for (ProblemArchetype problem : problemGroup.problems()) {
+            simulations.put(problem, createSimulation(problem, simulationConfig, deliveryServiceFactory));
+        }
+        return simulations;
+    }
+
+    private static Simulation createSimulation(ProblemArchetype problem,
+                                               SimulationConfig simulationConfig,
+                                               DeliveryService.Factory deliveryServiceFactory) {
+        return new BasicDeliverySimulation(
+            simulationConfig,
+            problem.raterFactoryMap(),
+            deliveryServiceFactory.create(problem.vehicleManager()),
+            problem.orderGeneratorFactory());
+    }
+}
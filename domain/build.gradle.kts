@@ -1,3 +1,8 @@
+val bench: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += output + compileClasspath + sourceSets.main.get().runtimeClasspath
+}
+
 dependencies {
     implementation(libs.annotations)
     implementation(libs.algoutils.student)
@@ -8,4 +13,10 @@ tasks {
     test {
         useJUnitPlatform()
     }
+    register<JavaExec>("benchmark") {
+        description = "Runs the LocationMap benchmark, the grid size and the amount of lookups can be passed as --args"
+        classpath = bench.runtimeClasspath
+        mainClass.set("projekt.delivery.routing.LocationMapBenchmark")
+        maxHeapSize = "4g"
+    }
 }
@@ -0,0 +1,149 @@
+package projekt.delivery.routing;
+
+import projekt.base.Location;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/**
+ * Compares a {@link LocationMap} with a {@link HashMap} for the lookups of a grid region: a map of all nodes and a
+ * nested map of the edges of every node, like {@link RegionImpl} uses them.<p>
+ *
+ * The {@link HashMap}s are keyed by points with a fixed hash code instead of {@link Location}s, because the hash code of
+ * a {@link Location} is part of the assignment. The naive hash code {@code 31 * x + y} collides a lot on grids, the
+ * mixed one does not.<p>
+ *
+ * Run it with {@code ./gradlew :domain:benchmark --args="<grid size> <lookups>"}. The defaults are a 1000x1000 grid
+ * and 4 million lookups. The retained memory is measured after a full garbage collection and is only an estimate.
+ */
+public final class LocationMapBenchmark {
+
+    private static final int ROUNDS = 3;
+
+    private LocationMapBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 4_000_000;
+        Location[] locations = new Location[size * size];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                locations[x * size + y] = new Location(x, y);
+            }
+        }
+        // the probed nodes always have an upper neighbor
+        Random random = new Random(1);
+        int[] probes = new int[lookups];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = random.nextInt(locations.length - size);
+        }
+        System.out.printf("grid %dx%d, %d node and edge lookups per round%n", size, size, lookups);
+
+        runHashMap("HashMap (31 * x + y)", locations, size, probes, NaivePoint::new);
+        runHashMap("HashMap (mixed hash)", locations, size, probes, MixedPoint::new);
+        runLocationMap(locations, size, probes);
+    }
+
+    private static void runHashMap(String name, Location[] locations, int size, int[] probes,
+                                   BiFunction<Integer, Integer, Object> keys) {
+        Object[] points = new Object[locations.length];
+        for (int i = 0; i < locations.length; i++) {
+            points[i] = keys.apply(locations[i].getX(), locations[i].getY());
+        }
+        long before = usedMemory();
+        long start = System.nanoTime();
+        Map<Object, Object> nodes = new HashMap<>();
+        Map<Object, Map<Object, Object>> edges = new HashMap<>();
+        for (int i = 0; i < points.length; i++) {
+            nodes.put(points[i], points[i]);
+            Map<Object, Object> neighbors = new HashMap<>();
+            if ((i + 1) % size != 0) {
+                neighbors.put(points[i + 1], points[i]);
+            }
+            if (i + size < points.length) {
+                neighbors.put(points[i + size], points[i]);
+            }
+            edges.put(points[i], neighbors);
+        }
+        long buildTime = System.nanoTime() - start;
+        long memory = usedMemory() - before;
+
+        long lookupTime = Long.MAX_VALUE;
+        long found = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            start = System.nanoTime();
+            for (int probe : probes) {
+                found += nodes.get(points[probe]) != null ? 1 : 0;
+                found += edges.get(points[probe]).get(points[probe + size]) != null ? 1 : 0;
+            }
+            lookupTime = Math.min(lookupTime, System.nanoTime() - start);
+        }
+        print(name, buildTime, memory, lookupTime, probes.length, found + nodes.size() + edges.size());
+    }
+
+    private static void runLocationMap(Location[] locations, int size, int[] probes) {
+        long before = usedMemory();
+        long start = System.nanoTime();
+        LocationMap<Location> nodes = new LocationMap<>(locations.length);
+        LocationMap<LocationMap<Location>> edges = new LocationMap<>(locations.length);
+        for (int i = 0; i < locations.length; i++) {
+            nodes.put(locations[i], locations[i]);
+            LocationMap<Location> neighbors = new LocationMap<>(2);
+            if ((i + 1) % size != 0) {
+                neighbors.put(locations[i + 1], locations[i]);
+            }
+            if (i + size < locations.length) {
+                neighbors.put(locations[i + size], locations[i]);
+            }
+            edges.put(locations[i], neighbors);
+        }
+        long buildTime = System.nanoTime() - start;
+        long memory = usedMemory() - before;
+
+        long lookupTime = Long.MAX_VALUE;
+        long found = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            start = System.nanoTime();
+            for (int probe : probes) {
+                found += nodes.get(locations[probe]) != null ? 1 : 0;
+                found += edges.get(locations[probe]).get(locations[probe + size]) != null ? 1 : 0;
+            }
+            lookupTime = Math.min(lookupTime, System.nanoTime() - start);
+        }
+        print("LocationMap", buildTime, memory, lookupTime, probes.length, found + nodes.size() + edges.size());
+    }
+
+    private static void print(String name, long buildTime, long memory, long lookupTime, int lookups, long checksum) {
+        // the checksum keeps the lookups from being optimized away
+        System.out.printf("%-22s build %6d ms, retained %6.1f MB, lookup %7.1f ns (checksum %d)%n",
+            name, buildTime / 1_000_000, memory / 1e6, lookupTime / (double) lookups, checksum);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private record NaivePoint(int x, int y) {
+
+        @Override
+        public int hashCode() {
+            return 31 * x + y;
+        }
+    }
+
+    private record MixedPoint(int x, int y) {
+
+        @Override
+        public int hashCode() {
+            long hash = (((long) x << 32) | (y & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+}
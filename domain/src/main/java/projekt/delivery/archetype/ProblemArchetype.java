@@ -5,6 +5,7 @@ import projekt.delivery.rating.Rater;
 import projekt.delivery.rating.RatingCriteria;
 import projekt.delivery.routing.VehicleManager;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -51,4 +52,25 @@ public interface ProblemArchetype {
      * @return The name of this problem.
      */
     String name();
+
+    /**
+     * Creates a copy of this problem with its own {@link VehicleManager}, see {@link VehicleManager#copy()}.<p>
+     *
+     * The {@link OrderGenerator.Factory} and the {@link Rater.Factory}s of the copy are bound to the copied
+     * {@link VehicleManager}, so that the copy can be simulated independently of this problem and results in the same
+     * ratings.
+     *
+     * @return The created copy.
+     */
+    default ProblemArchetype copy() {
+        VehicleManager vehicleManager = vehicleManager().copy();
+        Map<RatingCriteria, Rater.Factory> raterFactoryMap = new LinkedHashMap<>();
+        raterFactoryMap().forEach((criterion, factory) -> raterFactoryMap.put(criterion, factory.withVehicleManager(vehicleManager)));
+        return new ProblemArchetypeImpl(
+            orderGeneratorFactory().withVehicleManager(vehicleManager),
+            vehicleManager,
+            raterFactoryMap,
+            simulationLength(),
+            name());
+    }
 }
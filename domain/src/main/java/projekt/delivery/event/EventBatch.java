@@ -0,0 +1,94 @@
+package projekt.delivery.event;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable {@link List} of the {@link Event}s of a tick that is indexed by the type of the {@link Event}s.<p>
+ *
+ * The {@link Event}s are grouped by their class once when the batch is created. {@link #of(Class)} returns the
+ * {@link Event}s of a type without filtering the whole batch again, so every consumer of a tick can look up the types
+ * it cares about cheaply. The returned {@link List}s keep the order of the {@link Event}s in the batch.<p>
+ *
+ * Batches are safe to be read by multiple threads.
+ */
+public final class EventBatch extends AbstractList<Event> implements RandomAccess {
+
+    private static final EventBatch EMPTY = new EventBatch(new Event[0]);
+
+    private final Event[] events;
+    private final Map<Class<?>, List<Event>> eventsByClass = new HashMap<>();
+    private final Map<Class<?>, List<?>> eventsByType = new ConcurrentHashMap<>();
+
+    private EventBatch(Event[] events) {
+        this.events = events;
+        for (Event event : events) {
+            eventsByClass.computeIfAbsent(event.getClass(), c -> new ArrayList<>()).add(event);
+        }
+        eventsByClass.replaceAll((c, list) -> Collections.unmodifiableList(list));
+    }
+
+    /**
+     * Returns an {@link EventBatch} containing the given {@link Event}s. If the given {@link Collection} already is an
+     * {@link EventBatch}, it is returned itself.
+     * @param events The {@link Event}s of the batch.
+     * @return An {@link EventBatch} containing the given {@link Event}s.
+     */
+    public static EventBatch of(Collection<? extends Event> events) {
+        if (events instanceof EventBatch batch) {
+            return batch;
+        }
+        return events.isEmpty() ? EMPTY : new EventBatch(events.toArray(new Event[0]));
+    }
+
+    /**
+     * Returns an empty {@link EventBatch}.
+     * @return An empty {@link EventBatch}.
+     */
+    public static EventBatch empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns all {@link Event}s of this batch that are instances of the given type in the order of this batch.
+     * @param type The type of the {@link Event}s.
+     * @param <E> The type of the {@link Event}s.
+     * @return An unmodifiable {@link List} containing the {@link Event}s of the given type.
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Event> List<E> of(Class<E> type) {
+        return (List<E>) eventsByType.computeIfAbsent(type, this::findEvents);
+    }
+
+    private List<Event> findEvents(Class<?> type) {
+        List<Class<?>> classes = eventsByClass.keySet().stream()
+            .filter(type::isAssignableFrom)
+            .toList();
+
+        if (classes.isEmpty()) {
+            return List.of();
+        } else if (classes.size() == 1) {
+            return eventsByClass.get(classes.get(0));
+        }
+
+        // the events of multiple classes have to be merged in the order of this batch
+        Set<Class<?>> classSet = Set.copyOf(classes);
+        List<Event> result = new ArrayList<>();
+        for (Event event : events) {
+            if (classSet.contains(event.getClass())) {
+                result.add(event);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public Event get(int index) {
+        return events[index];
+    }
+
+    @Override
+    public int size() {
+        return events.length;
+    }
+}
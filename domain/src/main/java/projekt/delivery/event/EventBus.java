@@ -1,29 +1,65 @@
 package projekt.delivery.event;
 
+import org.jetbrains.annotations.Nullable;
+import projekt.delivery.routing.Region;
+
 import java.util.*;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
 
 /**
- * A class for storing all {@link Event}s that occurred during a tick.
+ * A class for storing all {@link Event}s that occurred during a tick.<p>
+ *
+ * The popped {@link Event}s are kept in a {@link #getLog() log}. By default, the {@link Event}s of all ticks are
+ * retained, which lets the log grow with every tick. For long simulations, the log can be limited to the last ticks
+ * or turned off completely, and the {@link Event}s of the ticks that are dropped from the log can be passed on, e.g.
+ * to a journal on the disk, see {@link #setLogRetention(int, ObjLongConsumer)}.<p>
+ *
+ * The {@link Event}s of a tick are collected in an {@link EventBatch} once when they are popped, which is used for the
+ * log and to notify the subscribers of the {@link Event} types, see {@link #subscribe(Class, Consumer)}.<p>
+ *
+ * {@link Event}s can be added by multiple threads at the same time without locking. Since the order in which the
+ * {@link Event}s of different threads are added depends on the scheduling, the {@link Event}s can be sorted
+ * deterministically when they are popped, see {@link #setDeterministicOrder(boolean)}.
  */
 public class EventBus {
 
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    private final List<Event> queuedEvents = new ArrayList<>();
-    private final Map<Long, List<Event>> log = new HashMap<>();
+    /**
+     * The log retention that retains the {@link Event}s of all ticks.
+     */
+    public static final int UNLIMITED_RETENTION = -1;
+
+    /**
+     * The order of {@link Event}s that does not depend on the thread that added them. The {@link Event}s are sorted by
+     * their tick, by the id of their {@link projekt.delivery.routing.Vehicle}, where {@link Event}s without a vehicle
+     * come first and are sorted by the id of their order, and by their component, where nodes come before edges.
+     */
+    private static final Comparator<Event> DETERMINISTIC_ORDER = Comparator
+        .comparingLong(Event::getTick)
+        .thenComparingLong(event -> event instanceof VehicleEvent vehicleEvent ? vehicleEvent.getVehicle().getId() : -1)
+        .thenComparingLong(event -> event instanceof OrderReceivedEvent orderEvent && !(event instanceof VehicleEvent)
+            ? orderEvent.getOrder().getOrderID() : -1)
+        .thenComparing(EventBus::getComponent, Comparator.nullsFirst(EventBus::compareComponents));
+
+    private final Object lock = new Object();
+    private final AtomicReference<QueuedEvent> queuedEvents = new AtomicReference<>();
+    private volatile boolean deterministicOrder = false;
+    private final Map<Long, List<Event>> log = new LinkedHashMap<>();
     private final Map<Long, List<Event>> unmodifiableLog = Collections.unmodifiableMap(log);
+    private volatile boolean printEvents = false;
+    private int logRetention = UNLIMITED_RETENTION;
+    private @Nullable ObjLongConsumer<List<Event>> evictedTicksHandler;
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
 
     /**
      * Adds an {@link Event} to the bus.
      * @param event The {@link Event} to add.
      */
     public void queuePost(Event event) {
-        lock.readLock().lock();
-        try {
-            queuedEvents.add(event);
-        } finally {
-            lock.readLock().unlock();
-        }
+        QueuedEvent queuedEvent = new QueuedEvent(event);
+        push(queuedEvent, queuedEvent);
     }
 
     /**
@@ -31,45 +67,261 @@ public class EventBus {
      * @param events The {@link Event}s to add.
      */
     public void queuePost(Collection<Event> events) {
-        lock.readLock().lock();
-        try {
-            queuedEvents.addAll(events);
-        } finally {
-            lock.readLock().unlock();
+        // the events are linked in reverse order, so they stay together and in their order
+        QueuedEvent top = null;
+        QueuedEvent bottom = null;
+        for (Event event : events) {
+            QueuedEvent queuedEvent = new QueuedEvent(event);
+            queuedEvent.next = top;
+            top = queuedEvent;
+            if (bottom == null) {
+                bottom = queuedEvent;
+            }
         }
+        if (top != null) {
+            push(top, bottom);
+        }
+    }
+
+    private void push(QueuedEvent top, QueuedEvent bottom) {
+        QueuedEvent next;
+        do {
+            next = queuedEvents.get();
+            bottom.next = next;
+        } while (!queuedEvents.compareAndSet(next, top));
+    }
+
+    /**
+     * Returns true if any {@link Event}s have been added since the last time this bus has been cleared.
+     * @return True if {@link #popEvents(long)} would return any {@link Event}s.
+     */
+    public boolean hasQueuedEvents() {
+        return queuedEvents.get() != null;
     }
 
     /**
      * Returns all {@link Event}s that have been added since the last time this bus has been cleared and clears this bus.
+     * The {@link Event}s are returned in the order in which they have been added or in the deterministic order, see
+     * {@link #setDeterministicOrder(boolean)}.
      * @param tick The current Tick.
      * @return All {@link Event}s that have been added since the last time this bus has been cleared
      */
     public List<Event> popEvents(long tick) {
-        // is not a read lock because the queue has to be cleared too
-        lock.writeLock().lock();
-        try {
-            log.put(tick, queuedEvents);
-            System.out.printf("Tick: %s - %s\n", tick, queuedEvents);
-            List<Event> copy = new ArrayList<>(queuedEvents);
-            clear();
-            return copy;
-        } finally {
-            lock.writeLock().unlock();
+        List<Event> popped = new ArrayList<>();
+        for (QueuedEvent queuedEvent = queuedEvents.getAndSet(null); queuedEvent != null; queuedEvent = queuedEvent.next) {
+            popped.add(queuedEvent.event);
         }
+        Collections.reverse(popped);
+        if (deterministicOrder) {
+            // the sort is stable, so events with the same key keep the order in which they have been added
+            popped.sort(DETERMINISTIC_ORDER);
+        }
+
+        EventBatch events = EventBatch.of(popped);
+        synchronized (lock) {
+            if (printEvents) {
+                System.out.printf("Tick: %s - %s\n", tick, events);
+            }
+            log(tick, events);
+        }
+        // the subscribers may post new events
+        for (Subscription<?> subscription : subscriptions) {
+            subscription.dispatch(events);
+        }
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * Subscribes the given subscriber to the {@link Event}s of the given type. Whenever the {@link Event}s of a tick
+     * are {@link #popEvents(long) popped}, the subscriber is called once for each of them that is an instance of the
+     * given type, in the order in which they have been added.
+     * @param type The type of the {@link Event}s.
+     * @param subscriber The subscriber.
+     * @param <E> The type of the {@link Event}s.
+     */
+    public <E extends Event> void subscribe(Class<E> type, Consumer<? super E> subscriber) {
+        subscriptions.add(new Subscription<>(type, subscriber));
+    }
+
+    /**
+     * Removes all subscriptions of the given subscriber.
+     * @param subscriber The subscriber to remove.
+     * @return True, if the subscriber had been subscribed to any type.
+     */
+    public boolean unsubscribe(Consumer<?> subscriber) {
+        return subscriptions.removeIf(subscription -> subscription.subscriber() == subscriber);
+    }
+
+    private void log(long tick, List<Event> events) {
+        if (logRetention == 0) {
+            if (evictedTicksHandler != null) {
+                evictedTicksHandler.accept(events, tick);
+            }
+            return;
+        }
+        log.merge(tick, events, (logged, popped) -> {
+            List<Event> merged = new ArrayList<>(logged);
+            merged.addAll(popped);
+            return EventBatch.of(merged);
+        });
+        trimLog();
+    }
+
+    private void trimLog() {
+        if (logRetention == UNLIMITED_RETENTION) {
+            return;
+        }
+        // the log is ordered by insertion, so the oldest ticks are removed first
+        Iterator<Map.Entry<Long, List<Event>>> iterator = log.entrySet().iterator();
+        while (log.size() > logRetention) {
+            Map.Entry<Long, List<Event>> entry = iterator.next();
+            iterator.remove();
+            if (evictedTicksHandler != null) {
+                evictedTicksHandler.accept(entry.getValue(), entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Changes how many ticks are retained in the {@link #getLog() log}. If more ticks have been logged, the oldest
+     * ones are dropped immediately.
+     * @param retainedTicks The amount of the last ticks whose {@link Event}s are retained, {@code 0} to turn the log
+     *                      off or {@link #UNLIMITED_RETENTION} to retain all ticks.
+     * @throws IllegalArgumentException If the given amount is negative and not {@link #UNLIMITED_RETENTION}.
+     */
+    public void setLogRetention(int retainedTicks) {
+        setLogRetention(retainedTicks, null);
+    }
+
+    /**
+     * Changes how many ticks are retained in the {@link #getLog() log} and passes the {@link Event}s of every tick
+     * that is dropped from the log, together with the tick, to the given handler. If the log is turned off, the
+     * {@link Event}s are passed to the handler when they are popped.<p>
+     *
+     * Spilling the log to the disk is achieved by passing
+     * {@link projekt.delivery.simulation.EventJournal#onTick(List, long)} as handler.
+     *
+     * @param retainedTicks The amount of the last ticks whose {@link Event}s are retained, {@code 0} to turn the log
+     *                      off or {@link #UNLIMITED_RETENTION} to retain all ticks.
+     * @param evictedTicksHandler The handler for the ticks that are dropped from the log or {@code null}.
+     * @throws IllegalArgumentException If the given amount is negative and not {@link #UNLIMITED_RETENTION}.
+     */
+    public void setLogRetention(int retainedTicks, @Nullable ObjLongConsumer<List<Event>> evictedTicksHandler) {
+        if (retainedTicks < 0 && retainedTicks != UNLIMITED_RETENTION) {
+            throw new IllegalArgumentException("retainedTicks must not be negative");
+        }
+        synchronized (lock) {
+            logRetention = retainedTicks;
+            this.evictedTicksHandler = evictedTicksHandler;
+            trimLog();
+        }
+    }
+
+    /**
+     * Returns how many ticks are retained in the {@link #getLog() log}.
+     * @return The amount of retained ticks, {@code 0} if the log is turned off or {@link #UNLIMITED_RETENTION}.
+     */
+    public int getLogRetention() {
+        return logRetention;
+    }
+
+    /**
+     * Changes whether the popped {@link Event}s are sorted in an order that does not depend on the threads that added
+     * them. They are sorted by their tick, the id of their {@link projekt.delivery.routing.Vehicle} and their
+     * component. {@link Event}s with the same key keep the order in which they have been added, so all {@link Event}s
+     * of a {@link projekt.delivery.routing.Vehicle} in a tick should be added by the same thread.<p>
+     *
+     * If enabled, a tick that is executed by multiple threads produces the same {@link Event}s in the same order as
+     * if it was executed by a single thread. By default, the {@link Event}s are returned in the order in which they
+     * have been added.
+     *
+     * @param deterministicOrder True, if the {@link Event}s should be sorted.
+     */
+    public void setDeterministicOrder(boolean deterministicOrder) {
+        this.deterministicOrder = deterministicOrder;
+    }
+
+    /**
+     * Returns true if the popped {@link Event}s are sorted in an order that does not depend on the threads that added
+     * them, see {@link #setDeterministicOrder(boolean)}.
+     * @return True, if the {@link Event}s are sorted.
+     */
+    public boolean isDeterministicOrder() {
+        return deterministicOrder;
+    }
+
+    /**
+     * Changes whether the {@link Event}s of every tick are printed to the console when they are popped. By default,
+     * they are not printed.
+     * @param printEvents True, if the {@link Event}s should be printed.
+     */
+    public void setPrintEvents(boolean printEvents) {
+        this.printEvents = printEvents;
     }
 
     /**
      * Removes all added {@link Event}s.
      */
     public void clear() {
-        queuedEvents.clear();
+        queuedEvents.set(null);
     }
 
     /**
-     * Returns a log of this bus.
+     * Returns a log of this bus. It only contains the ticks that are retained, see {@link #setLogRetention(int)}.
      * @return A log of this bus containing all {@link Event}s popped at a specific tick.
      */
     public Map<Long, List<Event>> getLog() {
         return unmodifiableLog;
     }
+
+    private static @Nullable Region.Component<?> getComponent(Event event) {
+        if (event instanceof SpawnEvent spawnEvent) {
+            return spawnEvent.getNode();
+        } else if (event instanceof ArrivedAtNodeEvent arrivedAtNodeEvent) {
+            return arrivedAtNodeEvent.getNode();
+        } else if (event instanceof ArrivedAtEdgeEvent arrivedAtEdgeEvent) {
+            return arrivedAtEdgeEvent.getEdge();
+        } else if (event instanceof LoadOrderEvent loadOrderEvent) {
+            return loadOrderEvent.getRestaurant();
+        } else if (event instanceof DeliverOrderEvent deliverOrderEvent) {
+            return deliverOrderEvent.getNode();
+        } else if (event instanceof OrderReceivedEvent orderReceivedEvent) {
+            return orderReceivedEvent.getRestaurant();
+        }
+        return null;
+    }
+
+    private static int compareComponents(Region.Component<?> a, Region.Component<?> b) {
+        if (a instanceof Region.Node nodeA && b instanceof Region.Node nodeB) {
+            return compareNodes(nodeA, nodeB);
+        } else if (a instanceof Region.Edge edgeA && b instanceof Region.Edge edgeB) {
+            int result = compareNodes(edgeA.getNodeA(), edgeB.getNodeA());
+            return result != 0 ? result : compareNodes(edgeA.getNodeB(), edgeB.getNodeB());
+        }
+        return a instanceof Region.Node ? -1 : b instanceof Region.Node ? 1 : 0;
+    }
+
+    private static int compareNodes(Region.Node a, Region.Node b) {
+        int result = Integer.compare(a.getLocation().getX(), b.getLocation().getX());
+        return result != 0 ? result : Integer.compare(a.getLocation().getY(), b.getLocation().getY());
+    }
+
+    private static final class QueuedEvent {
+
+        private final Event event;
+        private QueuedEvent next;
+
+        private QueuedEvent(Event event) {
+            this.event = event;
+        }
+    }
+
+    private record Subscription<E extends Event>(Class<E> type, Consumer<? super E> subscriber) {
+
+        private void dispatch(EventBatch events) {
+            for (E event : events.of(type)) {
+                subscriber.accept(event);
+            }
+        }
+    }
 }
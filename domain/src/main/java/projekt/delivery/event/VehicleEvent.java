@@ -7,6 +7,13 @@ import projekt.delivery.routing.Vehicle;
  */
 public interface VehicleEvent extends Event {
 
+    static VehicleEvent of(
+        long tick,
+        Vehicle vehicle
+    ) {
+        return new VehicleEventImpl(tick, vehicle);
+    }
+
     /**
      * Returns the {@link Vehicle} this {@link Event} is associated with.
      * @return The {@link Vehicle} this {@link Event} is associated with.
@@ -18,6 +18,7 @@ import static org.tudalgo.algoutils.student.Student.crash;
 public class FridayOrderGenerator implements OrderGenerator {
 
     private final Random random;
+    private final long lastTick;
 
     /**
      * Creates a new {@link FridayOrderGenerator} with the given parameters.
@@ -32,6 +33,7 @@ public class FridayOrderGenerator implements OrderGenerator {
      */
     private FridayOrderGenerator(int orderCount, VehicleManager vehicleManager, int deliveryInterval, double maxWeight, double standardDeviation, long lastTick, int seed) {
         random = seed < 0 ? new Random() : new Random(seed);
+        this.lastTick = lastTick;
         crash(); // TODO: H7.1 - remove if implemented
     }
 
@@ -40,6 +42,12 @@ public class FridayOrderGenerator implements OrderGenerator {
         return crash(); // TODO: H7.1 - remove if implemented
     }
 
+    @Override
+    public long getNextOrderTick(long tick) {
+        // no orders are created after the last tick
+        return tick <= lastTick ? tick : Long.MAX_VALUE;
+    }
+
     /**
      * A {@link OrderGenerator.Factory} for creating a new {@link FridayOrderGenerator}.
      */
@@ -68,6 +76,11 @@ public class FridayOrderGenerator implements OrderGenerator {
             return new FridayOrderGenerator(orderCount, vehicleManager, deliveryInterval, maxWeight, standardDeviation, lastTick, seed);
         }
 
+        @Override
+        public Factory withVehicleManager(VehicleManager vehicleManager) {
+            return new Factory(orderCount, vehicleManager, deliveryInterval, maxWeight, standardDeviation, lastTick, seed);
+        }
+
         /**
          * Creates a new {@link FridayOrderGenerator.FactoryBuilder}.
          * @return The created {@link FridayOrderGenerator.FactoryBuilder}.
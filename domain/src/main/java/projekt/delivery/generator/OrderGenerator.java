@@ -1,6 +1,7 @@
 package projekt.delivery.generator;
 
 import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.VehicleManager;
 
 import java.util.List;
 
@@ -22,6 +23,19 @@ public interface OrderGenerator {
      */
     List<ConfirmedOrder> generateOrders(long tick);
 
+    /**
+     * Returns the earliest tick, starting at the given tick, for which {@link #generateOrders(long)} may return any
+     * orders.<p>
+     *
+     * By default, orders may be generated in every tick.
+     *
+     * @param tick the tick to start searching at
+     * @return the earliest tick that may have orders or {@link Long#MAX_VALUE} if there are no more orders
+     */
+    default long getNextOrderTick(long tick) {
+        return tick;
+    }
+
     /**
      * A factory for creating a new {@link OrderGenerator}.
      */
@@ -33,6 +47,20 @@ public interface OrderGenerator {
          * @return The new {@link OrderGenerator}.
          */
         OrderGenerator create();
+
+        /**
+         * Returns a {@link Factory} that creates the same {@link OrderGenerator}s as this {@link Factory}, but for the
+         * given {@link VehicleManager}. This is used to simulate a copy of a problem independently of the original.<p>
+         *
+         * By default, this {@link Factory} is returned, which is correct for every {@link Factory} that does not depend
+         * on a {@link VehicleManager}.
+         *
+         * @param vehicleManager The {@link VehicleManager} the created {@link OrderGenerator}s create orders for.
+         * @return A {@link Factory} for the given {@link VehicleManager}.
+         */
+        default Factory withVehicleManager(VehicleManager vehicleManager) {
+            return this;
+        }
     }
 
     /**
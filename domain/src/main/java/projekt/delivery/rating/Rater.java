@@ -1,13 +1,20 @@
 package projekt.delivery.rating;
 
 import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.routing.VehicleManager;
 import projekt.delivery.simulation.Simulation;
 import projekt.delivery.simulation.SimulationListener;
 
 /**
  * A {@link SimulationListener} that calculates a score in the range [0,1] for the observed {@link Simulation}.<p>
  *
- * A rating is always based on a {@link RatingCriteria}.
+ * A rating is always based on a {@link RatingCriteria}.<p>
+ *
+ * A {@link Rater} may implement {@link projekt.delivery.simulation.Checkpointable} to store its state in a
+ * {@link projekt.delivery.simulation.SimulationCheckpoint}. Otherwise, the
+ * {@link projekt.delivery.simulation.BasicDeliverySimulation} records the {@link projekt.delivery.event.Event}s the
+ * {@link Rater} observes and replays them to a new {@link Rater} when a checkpoint is restored, so its state must only
+ * depend on the observed {@link projekt.delivery.event.Event}s.
  */
 public interface Rater extends SimulationListener {
 
@@ -34,6 +41,20 @@ public interface Rater extends SimulationListener {
          * @return The new {@link Rater}.
          */
         Rater create();
+
+        /**
+         * Returns a {@link Factory} that creates the same {@link Rater}s as this {@link Factory}, but for the given
+         * {@link VehicleManager}. This is used to rate a copy of a problem independently of the original.<p>
+         *
+         * By default, this {@link Factory} is returned, which is correct for every {@link Factory} that does not depend
+         * on a {@link VehicleManager}.
+         *
+         * @param vehicleManager The {@link VehicleManager} of the rated simulation.
+         * @return A {@link Factory} for the given {@link VehicleManager}.
+         */
+        default Factory withVehicleManager(VehicleManager vehicleManager) {
+            return this;
+        }
     }
 
     /**
@@ -63,6 +63,11 @@ public class TravelDistanceRater implements Rater {
             return new TravelDistanceRater(vehicleManager, factor);
         }
 
+        @Override
+        public Factory withVehicleManager(VehicleManager vehicleManager) {
+            return new Factory(vehicleManager, factor);
+        }
+
         /**
          * Creates a new {@link TravelDistanceRater.FactoryBuilder}.
          * @return The created {@link TravelDistanceRater.FactoryBuilder}.
@@ -18,6 +18,8 @@ abstract class AbstractOccupied<C extends Region.Component<? super C>> implement
     protected final Map<VehicleImpl, VehicleStats> vehicles = new HashMap<>();
     private final Collection<Vehicle> unmodifiableVehicles =
         Collections.unmodifiableCollection(vehicles.keySet());
+    private @Nullable VehicleManagerImpl.ActiveSet activeSet;
+    private int activeIndex;
 
     AbstractOccupied(C component, VehicleManager vehicleManager) {
         this.component = component;
@@ -42,6 +44,63 @@ abstract class AbstractOccupied<C extends Region.Component<? super C>> implement
     @Override
     public void reset() {
         vehicles.clear();
+        updateActiveSet();
+    }
+
+    /**
+     * Puts the given vehicle into {@link #vehicles} and reports the change, see {@link #vehicleAdded(VehicleImpl,
+     * VehicleStats)} and {@link #updateActiveSet()}. Every vehicle is put into {@link #vehicles} by this method.
+     * @param vehicle The vehicle to add.
+     * @param stats The {@link VehicleStats} of the vehicle or {@code null}, if they are unknown.
+     */
+    void putVehicle(VehicleImpl vehicle, @Nullable VehicleStats stats) {
+        vehicles.put(vehicle, stats);
+        if (stats != null) {
+            vehicleAdded(vehicle, stats);
+        }
+        updateActiveSet();
+    }
+
+    /**
+     * Removes the given vehicle from {@link #vehicles} and reports the change, see {@link #updateActiveSet()}. Every
+     * vehicle is removed from {@link #vehicles} by this method.
+     * @param vehicle The vehicle to remove.
+     * @return The {@link VehicleStats} of the removed vehicle or {@code null}, if it was not contained.
+     */
+    @Nullable VehicleStats removeVehicle(VehicleImpl vehicle) {
+        VehicleStats stats = vehicles.remove(vehicle);
+        updateActiveSet();
+        return stats;
+    }
+
+    /**
+     * Called whenever a vehicle is put into {@link #vehicles}.
+     * @param vehicle The added vehicle.
+     * @param stats The {@link VehicleStats} of the added vehicle.
+     */
+    void vehicleAdded(VehicleImpl vehicle, VehicleStats stats) {
+    }
+
+    /**
+     * Reports to the {@link VehicleManagerImpl.ActiveSet} this {@link AbstractOccupied} is registered in whether it
+     * contains any vehicles. Has to be called after every modification of {@link #vehicles}.
+     */
+    void updateActiveSet() {
+        if (activeSet != null) {
+            activeSet.update(activeIndex, !vehicles.isEmpty());
+        }
+    }
+
+    /**
+     * Registers this {@link AbstractOccupied} in the given {@link VehicleManagerImpl.ActiveSet}, which is updated
+     * whenever this {@link AbstractOccupied} becomes occupied or empty.
+     * @param activeSet The {@link VehicleManagerImpl.ActiveSet} to register in.
+     * @param index The index of this {@link AbstractOccupied} in the {@link VehicleManagerImpl.ActiveSet}.
+     */
+    void setActiveSet(VehicleManagerImpl.ActiveSet activeSet, int index) {
+        this.activeSet = activeSet;
+        this.activeIndex = index;
+        updateActiveSet();
     }
 
     protected static class VehicleStats {
@@ -0,0 +1,233 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static projekt.delivery.routing.CompactRegionGraph.INFINITY;
+
+/**
+ * A {@link PathCalculator} that precomputes the shortest paths between all pairs of nodes of a {@link Region}.<p>
+ *
+ * The durations and the next node on the shortest path are stored in two dense matrices that are filled once per
+ * {@link Region} by running a Dijkstra from every node in parallel. Afterwards, every query only walks the next-node
+ * matrix. Since the matrices grow quadratically with the amount of nodes, regions with more nodes than configured are
+ * delegated to another {@link PathCalculator} instead.
+ */
+public class AllPairsPathCalculator implements PathCalculator {
+
+    /**
+     * The largest amount of nodes a region may have so that the matrices can be indexed by an {@code int}.
+     */
+    public static final int MAX_NODES = 46_340;
+
+    private final int maxNodes;
+    private final PathCalculator fallback;
+    private final ForkJoinPool pool;
+    private volatile @Nullable Table table;
+    // the last region that was too large to be precomputed
+    private volatile @Nullable Region oversizedRegion;
+
+    /**
+     * Creates a new {@link AllPairsPathCalculator}.
+     * @param maxNodes The largest amount of nodes of a {@link Region} whose shortest paths are precomputed.
+     * @param fallback The {@link PathCalculator} used for regions with more than {@code maxNodes} nodes.
+     * @param pool The {@link ForkJoinPool} used to fill the matrices.
+     */
+    public AllPairsPathCalculator(int maxNodes, PathCalculator fallback, ForkJoinPool pool) {
+        if (maxNodes < 0 || maxNodes > MAX_NODES) {
+            throw new IllegalArgumentException("maxNodes must be between 0 and %d".formatted(MAX_NODES));
+        }
+        this.maxNodes = maxNodes;
+        this.fallback = fallback;
+        this.pool = pool;
+    }
+
+    /**
+     * Creates a new {@link AllPairsPathCalculator} that fills the matrices using the common {@link ForkJoinPool}.
+     * @param maxNodes The largest amount of nodes of a {@link Region} whose shortest paths are precomputed.
+     * @param fallback The {@link PathCalculator} used for regions with more than {@code maxNodes} nodes.
+     */
+    public AllPairsPathCalculator(int maxNodes, PathCalculator fallback) {
+        this(maxNodes, fallback, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new {@link AllPairsPathCalculator}.<p>
+     * It will precompute regions with up to 2000 nodes and use a {@link CompactDijkstraPathCalculator} otherwise.
+     */
+    public AllPairsPathCalculator() {
+        this(2000, new CompactDijkstraPathCalculator());
+    }
+
+    /**
+     * Returns the {@link PathCalculator} used for regions that are too large to be precomputed.
+     * @return The fallback {@link PathCalculator}.
+     */
+    public PathCalculator getFallback() {
+        return fallback;
+    }
+
+    /**
+     * Checks whether the shortest paths of the given {@link Region} are answered from the precomputed matrices.
+     * @param region The {@link Region} to check.
+     * @return True, if the {@link Region} has at most as many nodes as configured.
+     */
+    public boolean isPrecomputed(Region region) {
+        Table table = this.table;
+        if (table != null && table.graph.getRegion() == region) {
+            return true;
+        }
+        if (region == oversizedRegion) {
+            return false;
+        }
+        if (region.getNodes().size() > maxNodes) {
+            oversizedRegion = region;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the {@link Table} of the given {@link Region} and fills it if necessary.<p>
+     *
+     * The amount of nodes is only checked until the {@link Table} has been filled or the {@link Region} turned out to
+     * be too large, afterwards the result is taken from the cached {@link Table} or region.
+     *
+     * @param region The {@link Region} to return the {@link Table} of.
+     * @return The {@link Table} of the given {@link Region} or {@code null}, if it is not precomputed.
+     */
+    private @Nullable Table getTable(Region region) {
+        Table table = this.table;
+        if (table == null || table.graph.getRegion() != region) {
+            if (!isPrecomputed(region)) {
+                return null;
+            }
+            synchronized (this) {
+                table = this.table;
+                if (table == null || table.graph.getRegion() != region) {
+                    table = new Table(CompactRegionGraph.of(region), pool);
+                    this.table = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        Table table = getTable(end.getRegion());
+        if (table == null) {
+            return fallback.getPath(start, end);
+        }
+        int startIndex = table.graph.indexOf(start);
+        int endIndex = table.graph.indexOf(end);
+        if (table.distances[table.index(endIndex, startIndex)] == INFINITY) {
+            throw new IllegalArgumentException("There is no path from %s to %s".formatted(start, end));
+        }
+        return table.walk(startIndex, endIndex);
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        Table table = getTable(end.getRegion());
+        if (table == null) {
+            return fallback.getAllPathsTo(end);
+        }
+        int endIndex = table.graph.indexOf(end);
+
+        Map<Region.Node, Deque<Region.Node>> paths = new HashMap<>(2 * table.graph.size());
+        for (int node = 0; node < table.graph.size(); node++) {
+            // nodes that are not connected to end have no path
+            if (table.distances[table.index(endIndex, node)] != INFINITY) {
+                paths.put(table.graph.getNode(node), table.walk(node, endIndex));
+            }
+        }
+
+        return paths;
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        Table table = getTable(end.getRegion());
+        if (table == null) {
+            return fallback.getDuration(start, end);
+        }
+        long duration = table.distances[table.index(table.graph.indexOf(end), table.graph.indexOf(start))];
+        if (duration == INFINITY) {
+            throw new IllegalArgumentException("There is no path from %s to %s".formatted(start, end));
+        }
+        return duration;
+    }
+
+    @Override
+    public long[][] getDurationMatrix(Collection<? extends Region.Node> sources, Collection<? extends Region.Node> targets) {
+        if (sources.isEmpty()) {
+            return new long[0][];
+        }
+        Table table = getTable(sources.iterator().next().getRegion());
+        if (table == null) {
+            return fallback.getDurationMatrix(sources, targets);
+        }
+        int[] targetIndices = targets.stream().mapToInt(table.graph::indexOf).toArray();
+
+        // the edges are undirected, so the row of a source contains the durations to all targets
+        long[][] matrix = new long[sources.size()][targetIndices.length];
+        int i = 0;
+        for (Region.Node source : sources) {
+            int row = table.index(table.graph.indexOf(source), 0);
+            for (int j = 0; j < targetIndices.length; j++) {
+                matrix[i][j] = table.distances[row + targetIndices[j]];
+            }
+            i++;
+        }
+        return matrix;
+    }
+
+    /**
+     * The precomputed durations and next nodes of all shortest paths of a {@link CompactRegionGraph}.<p>
+     *
+     * Row {@code end} of both matrices belongs to the shortest path tree towards {@code end}, i.e. the entry of
+     * {@code start} contains the duration from {@code start} to {@code end} and the node following {@code start} on
+     * that path.
+     */
+    private static class Table {
+
+        private final CompactRegionGraph graph;
+        private final long[] distances;
+        private final int[] nextNodes;
+
+        private Table(CompactRegionGraph graph, ForkJoinPool pool) {
+            this.graph = graph;
+            int size = graph.size();
+            distances = new long[size * size];
+            nextNodes = new int[size * size];
+
+            // every task only writes its own row, so no synchronization is necessary
+            pool.submit(() -> IntStream.range(0, size).parallel().forEach(end -> {
+                CompactRegionGraph.ShortestPathTree tree = graph.shortestPathTree(end);
+                System.arraycopy(tree.distances(), 0, distances, index(end, 0), size);
+                System.arraycopy(tree.predecessors(), 0, nextNodes, index(end, 0), size);
+            })).join();
+        }
+
+        private int index(int end, int node) {
+            return end * graph.size() + node;
+        }
+
+        private Deque<Region.Node> walk(int start, int end) {
+            Deque<Region.Node> path = new ArrayDeque<>();
+            for (int node = start; node != end; ) {
+                node = nextNodes[index(end, node)];
+                path.addLast(graph.getNode(node));
+            }
+            return path;
+        }
+    }
+}
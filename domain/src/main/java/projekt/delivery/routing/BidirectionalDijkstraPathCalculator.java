@@ -0,0 +1,106 @@
+package projekt.delivery.routing;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import static projekt.delivery.routing.CompactRegionGraph.INFINITY;
+import static projekt.delivery.routing.CompactRegionGraph.NO_NODE;
+
+/**
+ * A {@link PathCalculator} that calculates the shortest path between two nodes using a bidirectional Dijkstra on a
+ * {@link CompactRegionGraph}.<p>
+ *
+ * One search starts at the start node and one at the end node. The search with the smaller tentative distance is
+ * advanced first, and both stop as soon as no shorter path than the best one found so far can meet in the middle.
+ * {@link #getAllPathsTo(Region.Node)} still computes a full shortest path tree.
+ */
+public class BidirectionalDijkstraPathCalculator extends CompactDijkstraPathCalculator {
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompactRegionGraph graph = getGraph(end.getRegion());
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        if (startIndex == endIndex) {
+            return new ArrayDeque<>();
+        }
+
+        Search forward = new Search(graph, startIndex);
+        Search backward = new Search(graph, endIndex);
+        long best = INFINITY;
+        int meetForward = NO_NODE;
+        int meetBackward = NO_NODE;
+        int expandedNodes = 0;
+
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            // no path through an unsettled node can be shorter than the best one found so far
+            if (forward.heap.peekPriority() + backward.heap.peekPriority() >= best) {
+                break;
+            }
+            boolean isForward = forward.heap.peekPriority() <= backward.heap.peekPriority();
+            Search current = isForward ? forward : backward;
+            Search other = isForward ? backward : forward;
+
+            int u = current.heap.poll();
+            expandedNodes++;
+            long distance = current.distances[u];
+            for (int edge = graph.offsets[u]; edge < graph.offsets[u + 1]; edge++) {
+                int v = graph.targets[edge];
+                long candidate = distance + graph.durations[edge];
+                if (candidate < current.distances[v]) {
+                    current.distances[v] = candidate;
+                    current.predecessors[v] = u;
+                    current.heap.insertOrDecrease(v, candidate);
+                }
+                if (other.distances[v] != INFINITY && candidate + other.distances[v] < best) {
+                    best = candidate + other.distances[v];
+                    meetForward = isForward ? u : v;
+                    meetBackward = isForward ? v : u;
+                }
+            }
+        }
+        countExpandedNodes(expandedNodes);
+
+        if (best == INFINITY) {
+            throw new IllegalArgumentException("There is no path from %s to %s".formatted(start, end));
+        }
+
+        // walk back from the meeting edge to the start and then on to the end
+        Deque<Region.Node> path = new ArrayDeque<>();
+        for (int node = meetForward; node != startIndex; node = forward.predecessors[node]) {
+            path.addFirst(graph.getNode(node));
+        }
+        for (int node = meetBackward; node != NO_NODE; node = backward.predecessors[node]) {
+            path.addLast(graph.getNode(node));
+        }
+
+        return path;
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        CompactRegionGraph graph = getGraph(end.getRegion());
+        return graph.pathDuration(graph.indexOf(start), getPath(start, end));
+    }
+
+    /**
+     * The state of one direction of the bidirectional search.
+     */
+    private static class Search {
+
+        private final long[] distances;
+        private final int[] predecessors;
+        private final IndexedMinHeap heap;
+
+        private Search(CompactRegionGraph graph, int root) {
+            distances = new long[graph.size()];
+            predecessors = new int[graph.size()];
+            heap = new IndexedMinHeap(graph.size());
+            Arrays.fill(distances, INFINITY);
+            Arrays.fill(predecessors, NO_NODE);
+            distances[root] = 0;
+            heap.insertOrDecrease(root, 0);
+        }
+    }
+}
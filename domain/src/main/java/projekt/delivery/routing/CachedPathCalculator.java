@@ -3,17 +3,61 @@ package projekt.delivery.routing;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
 
 /**
- * A {@link PathCalculator} that is based on another {@link PathCalculator} and caches its result for later use.
+ * A {@link PathCalculator} that is based on another {@link PathCalculator} and caches its result for later use.<p>
+ *
+ * The paths to every end node are stored once as a tree of next nodes. All returned paths are {@link PathView}s of
+ * that shared tree, so a cache hit does not copy any path. Removing the first node of a returned path only advances
+ * the view, any other modification copies the path first, so the returned paths behave like fresh copies.<p>
+ *
+ * The cache can be shared by multiple threads. It is split into stripes with their own lock, each of which evicts its
+ * least recently used end node once its share of the capacity is exceeded. The eviction is therefore only an
+ * approximation of a least recently used eviction across the whole cache: a stripe may evict an end node while another
+ * stripe still has room. Caches for less than {@value #MIN_STRIPE_SIZE} end nodes per stripe use fewer stripes,
+ * down to a single stripe with an exact least recently used eviction.<p>
+ *
+ * The capacity is either an amount of end nodes or an estimated amount of bytes, see
+ * {@link #withMaximumBytes(PathCalculator, long)}. Paths whose tree alone exceeds the share of a stripe are calculated
+ * on every request, so the cache never uses more than its capacity.
  */
 public class CachedPathCalculator implements PathCalculator {
 
+    /**
+     * The estimated amount of bytes a cached end node uses per node of the {@link Region}.
+     */
+    static final long BYTES_PER_NODE = 112;
+
+    private static final int MAX_STRIPES = 16;
+
+    /**
+     * The smallest amount of end nodes a stripe of a cache limited by an amount of end nodes holds, unless the whole
+     * cache is smaller.
+     */
+    static final int MIN_STRIPE_SIZE = 64;
+
     private final PathCalculator delegate;
-    private final Map<Region.Node, Map<Region.Node, Deque<Region.Node>>> cache = new HashMap<>();
-    private final int size;
-    private final Set<Region.Node> accessOrder;
+    private final Stripe[] stripes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loadTime = new LongAdder();
+
+    private CachedPathCalculator(PathCalculator delegate, long capacity, ToLongFunction<PathTree> weigher, int stripeCount) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity of the cache must be positive");
+        }
+        this.delegate = delegate;
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            // spread the capacity so that the stripes add up to the total capacity
+            stripes[i] = new Stripe(capacity / stripeCount + (i < capacity % stripeCount ? 1 : 0), weigher);
+        }
+    }
 
     /**
      * Creates a new {@link CachedPathCalculator}.
@@ -21,9 +65,7 @@ public class CachedPathCalculator implements PathCalculator {
      * @param size The size of the cache.
      */
     public CachedPathCalculator(PathCalculator delegate, int size) {
-        this.delegate = delegate;
-        this.size = size;
-        this.accessOrder = new LinkedHashSet<>(size);
+        this(delegate, size, tree -> 1, Math.max(1, Math.min(MAX_STRIPES, size / MIN_STRIPE_SIZE)));
     }
 
     /**
@@ -35,9 +77,20 @@ public class CachedPathCalculator implements PathCalculator {
         this(delegate, 1024);
     }
 
+    /**
+     * Creates a new {@link CachedPathCalculator} whose capacity is limited by the estimated memory use of the cached
+     * paths instead of the amount of end nodes.
+     * @param delegate The {@link PathCalculator} the {@link CachedPathCalculator} uses to calculate the paths.
+     * @param maximumBytes The estimated amount of bytes the cached paths may use.
+     * @return The created {@link CachedPathCalculator}.
+     */
+    public static CachedPathCalculator withMaximumBytes(PathCalculator delegate, long maximumBytes) {
+        return new CachedPathCalculator(delegate, maximumBytes, PathTree::estimateBytes, MAX_STRIPES);
+    }
+
     @Override
     public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
-        return getAllPathsTo(end).get(start);
+        return getPathTree(end).getPath(start);
     }
 
     public PathCalculator getDelegate() {
@@ -46,32 +99,254 @@ public class CachedPathCalculator implements PathCalculator {
 
     @Override
     public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
-        @Nullable Map<Region.Node, Deque<Region.Node>> path = cache.get(end);
-        if (path != null) {
-            return copyPath(path);
+        return new PathMap(getPathTree(end));
+    }
+
+    /**
+     * Returns the amount of requests that were answered from the cache.
+     * @return The amount of cache hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the amount of requests that had to be calculated by the delegate.
+     * @return The amount of cache misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the amount of end nodes that were removed from the cache to stay within its capacity.
+     * @return The amount of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the total time spent calculating the paths of cache misses.
+     * @return The total load time in nanoseconds.
+     */
+    public long getTotalLoadTime() {
+        return loadTime.sum();
+    }
+
+    /**
+     * Returns the amount of end nodes that are currently cached.
+     * @return The amount of cached end nodes.
+     */
+    public int getCachedCount() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    /**
+     * Resets the hit, miss, eviction and load time counters to zero.
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        loadTime.reset();
+    }
+
+    /**
+     * Returns the cached {@link PathTree} of the given end node and calculates it if necessary.
+     * @param end The end node of all paths in the {@link PathTree}.
+     * @return The {@link PathTree} of the given end node.
+     */
+    private PathTree getPathTree(Region.Node end) {
+        Stripe stripe = stripes[Math.floorMod(end.hashCode() ^ (end.hashCode() >>> 16), stripes.length)];
+        @Nullable PathTree tree = stripe.get(end);
+        if (tree != null) {
+            hits.increment();
+            return tree;
         }
+        misses.increment();
+
+        // calculate outside the lock, so that other end nodes of the same stripe are not blocked
+        long start = System.nanoTime();
+        tree = new PathTree(end, delegate.getAllPathsTo(end));
+        loadTime.add(System.nanoTime() - start);
+
+        return stripe.put(end, tree);
+    }
 
-        path = delegate.getAllPathsTo(end);
+    /**
+     * A part of the cache with its own lock and least recently used eviction.
+     */
+    private class Stripe {
+
+        private final Lock lock = new ReentrantLock();
+        private final LinkedHashMap<Region.Node, PathTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+        private final long capacity;
+        private final ToLongFunction<PathTree> weigher;
+        private long weight;
+
+        private Stripe(long capacity, ToLongFunction<PathTree> weigher) {
+            this.capacity = capacity;
+            this.weigher = weigher;
+        }
 
-        // Limit cache size
-        if (accessOrder.size() >= size) {
-            Iterator<Region.Node> iterator = accessOrder.iterator();
-            cache.remove(iterator.next());
-            iterator.remove();
+        private @Nullable PathTree get(Region.Node end) {
+            lock.lock();
+            try {
+                // an access ordered map moves the end node to the back
+                return trees.get(end);
+            } finally {
+                lock.unlock();
+            }
         }
 
-        // Update access order if the element already exists
-        accessOrder.remove(end);
-        accessOrder.add(end);
-        cache.put(end, path);
+        private PathTree put(Region.Node end, PathTree tree) {
+            lock.lock();
+            try {
+                // another thread may have loaded the same end node in the meantime
+                @Nullable PathTree existing = trees.get(end);
+                if (existing != null) {
+                    return existing;
+                }
+                long treeWeight = weigher.applyAsLong(tree);
+                if (treeWeight > capacity) {
+                    // caching the tree would exceed the capacity even if every other tree was evicted
+                    return tree;
+                }
+                trees.put(end, tree);
+                weight += treeWeight;
 
-        return copyPath(path);
+                // the latest tree fits on its own, so it is never evicted here
+                Iterator<PathTree> iterator = trees.values().iterator();
+                while (weight > capacity) {
+                    weight -= weigher.applyAsLong(iterator.next());
+                    iterator.remove();
+                    evictions.increment();
+                }
+                return tree;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return trees.size();
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 
-    private Map<Region.Node, Deque<Region.Node>> copyPath(Map<Region.Node, Deque<Region.Node>> path) {
-        return path.entrySet().stream()
-            .map(entry -> Map.entry(entry.getKey(), new LinkedList<>(entry.getValue())))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    /**
+     * The shortest paths from every node to a single end node, stored as the next node and the length of every path.
+     */
+    private static class PathTree {
+
+        private final Region.Node end;
+        private final Map<Region.Node, Region.Node> nextNodes;
+        private final Map<Region.Node, Integer> sizes;
+
+        private PathTree(Region.Node end, Map<Region.Node, Deque<Region.Node>> paths) {
+            this.end = end;
+            nextNodes = new HashMap<>(2 * paths.size());
+            sizes = new HashMap<>(2 * paths.size());
+            for (Map.Entry<Region.Node, Deque<Region.Node>> entry : paths.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    nextNodes.put(entry.getKey(), entry.getValue().getFirst());
+                }
+            }
+            for (Region.Node start : paths.keySet()) {
+                computeSize(start);
+            }
+        }
+
+        /**
+         * Computes the length of the path of the given node by following the next nodes, so that the length always
+         * matches the nodes returned by a {@link PathView}.
+         */
+        private void computeSize(Region.Node start) {
+            Deque<Region.Node> unknown = new ArrayDeque<>();
+            Region.Node node = start;
+            while (!sizes.containsKey(node) && nextNodes.containsKey(node)) {
+                unknown.push(node);
+                node = nextNodes.get(node);
+            }
+            int size = sizes.getOrDefault(node, 0);
+            sizes.putIfAbsent(node, size);
+            while (!unknown.isEmpty()) {
+                sizes.put(unknown.pop(), ++size);
+            }
+        }
+
+        private long estimateBytes() {
+            return sizes.size() * BYTES_PER_NODE;
+        }
+
+        private @Nullable Deque<Region.Node> getPath(Object start) {
+            @Nullable Integer size = sizes.get(start);
+            return size == null ? null : new PathView(nextNodes::get, (Region.Node) start, end, size);
+        }
     }
 
+    /**
+     * A read-only {@link Map} view of a {@link PathTree} that creates a {@link PathView} whenever a path is requested.
+     */
+    private static class PathMap extends AbstractMap<Region.Node, Deque<Region.Node>> {
+
+        private final PathTree tree;
+
+        private PathMap(PathTree tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        public int size() {
+            return tree.sizes.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return tree.sizes.containsKey(key);
+        }
+
+        @Override
+        public @Nullable Deque<Region.Node> get(Object key) {
+            return tree.getPath(key);
+        }
+
+        @Override
+        public Set<Entry<Region.Node, Deque<Region.Node>>> entrySet() {
+            return new AbstractSet<>() {
+
+                @Override
+                public int size() {
+                    return tree.sizes.size();
+                }
+
+                @Override
+                public Iterator<Entry<Region.Node, Deque<Region.Node>>> iterator() {
+                    Iterator<Region.Node> starts = tree.sizes.keySet().iterator();
+                    return new Iterator<>() {
+
+                        @Override
+                        public boolean hasNext() {
+                            return starts.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Region.Node, Deque<Region.Node>> next() {
+                            Region.Node start = starts.next();
+                            return Map.entry(start, Objects.requireNonNull(tree.getPath(start)));
+                        }
+                    };
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,306 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.Location;
+import projekt.base.TickInterval;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes the state of a simulation that was encoded by a {@link CheckpointOutput}.<p>
+ *
+ * Components of the {@link Region} and {@link ConfirmedOrder}s are resolved using the given {@link VehicleManager}, so
+ * a state can be restored into any {@link VehicleManager} with an equal {@link Region}, e.g. a
+ * {@link VehicleManager#copy() copy} of the original one.<p>
+ *
+ * If the original {@link ConfirmedOrder}s are given, a state restored into the {@link VehicleManager} it was written
+ * from reuses them, so that objects that still refer to them, like arrival actions, stay valid.
+ *
+ * @see CheckpointOutput
+ */
+public final class CheckpointInput {
+
+    private DataInputStream in;
+    private final List<Object> references;
+    private final List<ConfirmedOrder> originalOrders;
+    private final VehicleManager vehicleManager;
+    private final List<ConfirmedOrder> orders = new ArrayList<>();
+    private final Map<ConfirmedOrder, ConfirmedOrder> restoredOrders = new IdentityHashMap<>();
+
+    /**
+     * Creates a new {@link CheckpointInput} without the original {@link ConfirmedOrder}s.
+     * @param data The encoded data.
+     * @param references The references written by {@link CheckpointOutput#writeReference(Object)} or an empty
+     *                   {@link List}, if they are not available.
+     * @param vehicleManager The {@link VehicleManager} used to resolve components and restaurants.
+     */
+    public CheckpointInput(byte[] data, List<Object> references, VehicleManager vehicleManager) {
+        this(data, references, List.of(), vehicleManager);
+    }
+
+    /**
+     * Creates a new {@link CheckpointInput}.
+     * @param data The encoded data.
+     * @param references The references written by {@link CheckpointOutput#writeReference(Object)} or an empty
+     *                   {@link List}, if they are not available.
+     * @param originalOrders The {@link ConfirmedOrder}s returned by {@link CheckpointOutput#getOrders()} or an empty
+     *                       {@link List}, if they are not available.
+     * @param vehicleManager The {@link VehicleManager} used to resolve components and restaurants.
+     */
+    public CheckpointInput(byte[] data, List<Object> references, List<ConfirmedOrder> originalOrders,
+                           VehicleManager vehicleManager) {
+        this.in = new DataInputStream(new ByteArrayInputStream(data));
+        this.references = references;
+        this.originalOrders = originalOrders;
+        this.vehicleManager = vehicleManager;
+    }
+
+    /**
+     * Continues reading with the given data, which has to be the next block returned by
+     * {@link CheckpointOutput#drain()}. The {@link ConfirmedOrder}s read from previous blocks are kept.
+     * @param data The next block of encoded data.
+     */
+    public void setData(byte[] data) {
+        in = new DataInputStream(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Returns true if the data has not been read completely.
+     * @return True, if there is data left to read.
+     */
+    public boolean hasRemaining() {
+        try {
+            return in.available() > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the {@link VehicleManager} used to resolve components and restaurants.
+     * @return The {@link VehicleManager} used to resolve components and restaurants.
+     */
+    public VehicleManager getVehicleManager() {
+        return vehicleManager;
+    }
+
+    /**
+     * Reads a {@code long} written by {@link CheckpointOutput#writeLong(long)}.
+     * @return The read value.
+     */
+    public long readLong() {
+        long encoded = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            encoded |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (encoded >>> 1) ^ -(encoded & 1);
+            }
+        }
+        throw new IllegalArgumentException("The checkpoint is corrupted: invalid number");
+    }
+
+    /**
+     * Reads an {@code int} written by {@link CheckpointOutput#writeInt(int)}.
+     * @return The read value.
+     */
+    public int readInt() {
+        return Math.toIntExact(readLong());
+    }
+
+    /**
+     * Reads a {@code boolean} written by {@link CheckpointOutput#writeBoolean(boolean)}.
+     * @return The read value.
+     */
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    /**
+     * Reads a {@code double} written by {@link CheckpointOutput#writeDouble(double)}.
+     * @return The read value.
+     */
+    public double readDouble() {
+        try {
+            return in.readDouble();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The checkpoint is corrupted", e);
+        }
+    }
+
+    /**
+     * Reads a {@link String} written by {@link CheckpointOutput#writeString(String)}.
+     * @return The read value.
+     */
+    public String readString() {
+        try {
+            return in.readUTF();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The checkpoint is corrupted", e);
+        }
+    }
+
+    /**
+     * Reads an array of bytes written by {@link CheckpointOutput#writeBytes(byte[])}.
+     * @return The read value.
+     */
+    public byte[] readBytes() {
+        byte[] value = new byte[readInt()];
+        try {
+            in.readFully(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The checkpoint is corrupted", e);
+        }
+        return value;
+    }
+
+    /**
+     * Reads a {@link Location} written by {@link CheckpointOutput#writeLocation(Location)}.
+     * @return The read {@link Location}.
+     */
+    public Location readLocation() {
+        return new Location(readInt(), readInt());
+    }
+
+    /**
+     * Reads a {@link Region.Component} written by {@link CheckpointOutput#writeComponent(Region.Component)}.
+     * @return The read {@link Region.Node} or {@link Region.Edge}.
+     * @throws IllegalArgumentException If the {@link Region} does not contain the component.
+     */
+    public Region.Component<?> readComponent() {
+        Region region = vehicleManager.getRegion();
+        if (!readBoolean()) {
+            Location location = readLocation();
+            @Nullable Region.Node node = region.getNode(location);
+            if (node == null) {
+                throw new IllegalArgumentException("The region does not contain a node at %s".formatted(location));
+            }
+            return node;
+        }
+        Location locationA = readLocation();
+        Location locationB = readLocation();
+        @Nullable Region.Edge edge = region.getEdge(locationA, locationB);
+        if (edge == null) {
+            throw new IllegalArgumentException("The region does not contain an edge from %s to %s".formatted(locationA, locationB));
+        }
+        return edge;
+    }
+
+    /**
+     * Reads a {@link ConfirmedOrder} written by {@link CheckpointOutput#writeOrder(ConfirmedOrder)}. Every order is
+     * only created once, later occurrences return the same object. If the original order is available, it is
+     * restored by {@link #restoreOrder(ConfirmedOrder)} instead of creating a new one.
+     * @return The read {@link ConfirmedOrder}.
+     */
+    public ConfirmedOrder readOrder() {
+        int index = readInt();
+        if (index < orders.size()) {
+            return orders.get(index);
+        }
+        if (index != orders.size()) {
+            throw new IllegalArgumentException("The checkpoint is corrupted: unknown order %d".formatted(index));
+        }
+
+        int orderID = readInt();
+        Location location = readLocation();
+        Location restaurantLocation = readLocation();
+        TickInterval deliveryInterval = new TickInterval(readLong(), readLong());
+        List<String> foodList = new ArrayList<>();
+        for (int i = readInt(); i > 0; i--) {
+            foodList.add(readString());
+        }
+        double weight = readDouble();
+        long actualDeliveryTick = readLong();
+
+        ConfirmedOrder order;
+        if (index < originalOrders.size()) {
+            order = restoreOrder(originalOrders.get(index));
+            order.setActualDeliveryTick(actualDeliveryTick);
+        } else {
+            order = new ConfirmedOrder(orderID, location, getOccupiedRestaurant(orderID, restaurantLocation),
+                deliveryInterval, foodList, weight, actualDeliveryTick);
+        }
+        orders.add(order);
+        return order;
+    }
+
+    /**
+     * Returns the {@link ConfirmedOrder} of the restored state that corresponds to the given original order. If the
+     * original order belongs to the {@link VehicleManager} of this {@link CheckpointInput}, it is returned itself,
+     * otherwise a copy that was placed at the corresponding restaurant. Every original order is only copied once.
+     * @param original The original {@link ConfirmedOrder}.
+     * @return The corresponding {@link ConfirmedOrder}.
+     */
+    ConfirmedOrder restoreOrder(ConfirmedOrder original) {
+        if (original.getRestaurant().getVehicleManager() == vehicleManager) {
+            return original;
+        }
+        return restoredOrders.computeIfAbsent(original, o -> new ConfirmedOrder(o,
+            getOccupiedRestaurant(o.getOrderID(), o.getRestaurant().getComponent().getLocation())));
+    }
+
+    private VehicleManager.OccupiedRestaurant getOccupiedRestaurant(int orderID, Location location) {
+        if (!(vehicleManager.getRegion().getNode(location) instanceof Region.Restaurant restaurant)) {
+            throw new IllegalArgumentException("The order %d was not placed at a restaurant".formatted(orderID));
+        }
+        return vehicleManager.getOccupiedRestaurant(restaurant);
+    }
+
+    /**
+     * Reads a {@link List} of {@link ConfirmedOrder}s written by {@link CheckpointOutput#writeOrders(List)}.
+     * @return The read {@link ConfirmedOrder}s.
+     */
+    public List<ConfirmedOrder> readOrders() {
+        int size = readInt();
+        List<ConfirmedOrder> orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            orders.add(readOrder());
+        }
+        return orders;
+    }
+
+    /**
+     * Reads an object written by {@link CheckpointOutput#writeReference(Object)}.
+     * @param type The type of the object.
+     * @param fallback The value to return if the references are not available.
+     * @param <T> The type of the object.
+     * @return The read object or {@code fallback}.
+     */
+    public <T> T readReference(Class<T> type, T fallback) {
+        int index = readInt();
+        return index < references.size() ? type.cast(references.get(index)) : fallback;
+    }
+
+    /**
+     * Reads an object written by {@link CheckpointOutput#writeReference(Object)} that is required to restore the
+     * state.
+     * @param type The type of the object.
+     * @param <T> The type of the object.
+     * @return The read object.
+     * @throws UnsupportedOperationException If the references are not available, e.g. because the checkpoint has
+     *                                       been read from a stream.
+     */
+    public <T> T readReference(Class<T> type) {
+        int index = readInt();
+        if (index >= references.size()) {
+            throw new UnsupportedOperationException("The checkpoint refers to an object that is only available in "
+                + "the process it was created in");
+        }
+        return type.cast(references.get(index));
+    }
+
+    private int readByte() {
+        try {
+            return in.readUnsignedByte();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The checkpoint is corrupted", e);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package projekt.delivery.routing;
+
+import projekt.base.Location;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the state of a simulation in a compact binary format.<p>
+ *
+ * Integers are written as variable length quantities, so small values like ticks, ids and coordinates only take one
+ * or two bytes. Components of the {@link Region} are written as the {@link Location}s of their nodes and
+ * {@link Vehicle}s as their id. Every {@link ConfirmedOrder} is written completely only once, later occurrences
+ * refer to the first one, so that the restored state shares orders exactly like the original.<p>
+ *
+ * Objects that cannot be encoded, like the arrival actions of queued moves, are collected as references. The encoded
+ * data only contains their index, see {@link #writeReference(Object)}.
+ *
+ * @see CheckpointInput
+ */
+public final class CheckpointOutput {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private final Map<ConfirmedOrder, Integer> orders = new IdentityHashMap<>();
+    private final List<ConfirmedOrder> writtenOrders = new ArrayList<>();
+    private final List<Object> references = new ArrayList<>();
+
+    /**
+     * Writes a {@code long} using as few bytes as possible for values close to zero.
+     * @param value The value to write.
+     */
+    public void writeLong(long value) {
+        // zigzag encoding maps small negative values to small positive values
+        long encoded = (value << 1) ^ (value >> 63);
+        try {
+            while ((encoded & ~0x7FL) != 0) {
+                out.writeByte((int) (encoded & 0x7F) | 0x80);
+                encoded >>>= 7;
+            }
+            out.writeByte((int) encoded);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes an {@code int} using as few bytes as possible for values close to zero.
+     * @param value The value to write.
+     */
+    public void writeInt(int value) {
+        writeLong(value);
+    }
+
+    /**
+     * Writes a {@code boolean}.
+     * @param value The value to write.
+     */
+    public void writeBoolean(boolean value) {
+        try {
+            out.writeBoolean(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a {@code double}.
+     * @param value The value to write.
+     */
+    public void writeDouble(double value) {
+        try {
+            out.writeDouble(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a {@link String}.
+     * @param value The value to write.
+     */
+    public void writeString(String value) {
+        try {
+            out.writeUTF(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes an array of bytes including its length.
+     * @param value The value to write.
+     */
+    public void writeBytes(byte[] value) {
+        writeInt(value.length);
+        try {
+            out.write(value, 0, value.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a {@link Location}.
+     * @param location The {@link Location} to write.
+     */
+    public void writeLocation(Location location) {
+        writeInt(location.getX());
+        writeInt(location.getY());
+    }
+
+    /**
+     * Writes a {@link Region.Component} by the {@link Location}s of its nodes.
+     * @param component The {@link Region.Node} or {@link Region.Edge} to write.
+     */
+    public void writeComponent(Region.Component<?> component) {
+        if (component instanceof Region.Node node) {
+            writeBoolean(false);
+            writeLocation(node.getLocation());
+        } else if (component instanceof Region.Edge edge) {
+            writeBoolean(true);
+            writeLocation(edge.getNodeA().getLocation());
+            writeLocation(edge.getNodeB().getLocation());
+        } else {
+            throw new IllegalArgumentException("Component must be either node or edge");
+        }
+    }
+
+    /**
+     * Writes a {@link ConfirmedOrder}. Only the first occurrence of an order is written completely.
+     * @param order The {@link ConfirmedOrder} to write.
+     */
+    public void writeOrder(ConfirmedOrder order) {
+        Integer index = orders.get(order);
+        if (index != null) {
+            writeInt(index);
+            return;
+        }
+        writeInt(orders.size());
+        orders.put(order, orders.size());
+        writtenOrders.add(order);
+
+        writeInt(order.getOrderID());
+        writeLocation(order.getLocation());
+        writeLocation(order.getRestaurant().getComponent().getLocation());
+        writeLong(order.getDeliveryInterval().start());
+        writeLong(order.getDeliveryInterval().end());
+        writeInt(order.getFoodList().size());
+        for (String food : order.getFoodList()) {
+            writeString(food);
+        }
+        writeDouble(order.getWeight());
+        writeLong(order.getActualDeliveryTick());
+    }
+
+    /**
+     * Writes a {@link List} of {@link ConfirmedOrder}s.
+     * @param orders The {@link ConfirmedOrder}s to write.
+     */
+    public void writeOrders(List<ConfirmedOrder> orders) {
+        writeInt(orders.size());
+        for (ConfirmedOrder order : orders) {
+            writeOrder(order);
+        }
+    }
+
+    /**
+     * Writes an object that cannot be encoded. The object itself is only kept in memory and its index is written, so
+     * it can only be restored from a {@link CheckpointInput} that is given the same references.
+     * @param reference The object to write.
+     */
+    public void writeReference(Object reference) {
+        writeInt(references.size());
+        references.add(reference);
+    }
+
+    /**
+     * Returns the encoded data.
+     * @return The written bytes.
+     */
+    public byte[] toByteArray() {
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the data written since the last call of this method and discards it. The {@link ConfirmedOrder}s that
+     * have already been written are still only referred to, so the returned blocks have to be read by the same
+     * {@link CheckpointInput} in the same order, see {@link CheckpointInput#setData(byte[])}.
+     * @return The bytes written since the last call.
+     */
+    public byte[] drain() {
+        byte[] data = bytes.toByteArray();
+        bytes.reset();
+        return data;
+    }
+
+    /**
+     * Returns the {@link ConfirmedOrder}s written by {@link #writeOrder(ConfirmedOrder)} in the order of their
+     * indices. Like the references, they are only kept in memory and allow a {@link CheckpointInput} to restore the
+     * original objects instead of copies, see {@link CheckpointInput#readOrder()}.
+     * @return The written {@link ConfirmedOrder}s.
+     */
+    public List<ConfirmedOrder> getOrders() {
+        return Collections.unmodifiableList(writtenOrders);
+    }
+
+    /**
+     * Returns the objects written by {@link #writeReference(Object)} in the order of their indices.
+     * @return The written references.
+     */
+    public List<Object> getReferences() {
+        return Collections.unmodifiableList(references);
+    }
+}
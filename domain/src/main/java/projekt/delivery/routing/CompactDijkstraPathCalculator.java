@@ -0,0 +1,141 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link PathCalculator} that calculates the shortest path using Dijkstra on a {@link CompactRegionGraph}.<p>
+ *
+ * In contrast to the {@link DijkstraPathCalculator}, the graph is only traversed using primitive arrays. The snapshot
+ * of the {@link Region} is created once and reused as long as all queries are made on the same {@link Region}.
+ */
+public class CompactDijkstraPathCalculator implements PathCalculator {
+
+    private final LongAdder expandedNodes = new LongAdder();
+    private volatile @Nullable CompactRegionGraph graph;
+
+    /**
+     * Returns the total amount of nodes expanded by all searches of this {@link PathCalculator}.<p>
+     *
+     * Running the same queries on two {@link CompactDijkstraPathCalculator}s and comparing this value shows how much
+     * work is saved by a goal-directed search.
+     *
+     * @return The total amount of expanded nodes.
+     */
+    public long getExpandedNodes() {
+        return expandedNodes.sum();
+    }
+
+    /**
+     * Resets the counter returned by {@link #getExpandedNodes()} to zero.
+     */
+    public void resetExpandedNodes() {
+        expandedNodes.reset();
+    }
+
+    /**
+     * Adds the given amount to the counter returned by {@link #getExpandedNodes()}.
+     * @param count The amount of nodes expanded by a search.
+     */
+    void countExpandedNodes(long count) {
+        expandedNodes.add(count);
+    }
+
+    /**
+     * Returns the {@link CompactRegionGraph} of the given {@link Region} and creates it if necessary.
+     * @param region The {@link Region} to return the {@link CompactRegionGraph} of.
+     * @return The {@link CompactRegionGraph} of the given {@link Region}.
+     */
+    CompactRegionGraph getGraph(Region region) {
+        CompactRegionGraph graph = this.graph;
+        if (graph == null || graph.getRegion() != region) {
+            graph = CompactRegionGraph.of(region);
+            this.graph = graph;
+        }
+        return graph;
+    }
+
+    /**
+     * Searches the shortest path from {@code start} to {@code end}.<p>
+     *
+     * The search may stop as soon as the path of {@code start} is known, so only the distance and the predecessors of
+     * {@code start} and the nodes on its path are guaranteed to be final.
+     * @param graph The {@link CompactRegionGraph} to search in.
+     * @param start The index of the start node.
+     * @param end The index of the end node.
+     * @return A {@link CompactRegionGraph.ShortestPathTree} rooted at {@code end}.
+     */
+    CompactRegionGraph.ShortestPathTree search(CompactRegionGraph graph, int start, int end) {
+        return graph.shortestPathTree(end, start);
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompactRegionGraph graph = getGraph(end.getRegion());
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        // search from end to start, so that the predecessors point towards end
+        CompactRegionGraph.ShortestPathTree tree = search(graph, startIndex, endIndex);
+        countExpandedNodes(tree.settledNodes());
+
+        return graph.reconstructPath(tree.predecessors(), startIndex, endIndex);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        CompactRegionGraph graph = getGraph(end.getRegion());
+        int startIndex = graph.indexOf(start);
+        CompactRegionGraph.ShortestPathTree tree = search(graph, startIndex, graph.indexOf(end));
+        countExpandedNodes(tree.settledNodes());
+
+        if (!tree.isReachable(startIndex)) {
+            throw new IllegalArgumentException("There is no path from %s to %s".formatted(start, end));
+        }
+        return tree.distances()[startIndex];
+    }
+
+    @Override
+    public long[][] getDurationMatrix(Collection<? extends Region.Node> sources, Collection<? extends Region.Node> targets) {
+        if (sources.isEmpty()) {
+            return new long[0][];
+        }
+        CompactRegionGraph graph = getGraph(sources.iterator().next().getRegion());
+        int[] sourceIndices = sources.stream().mapToInt(graph::indexOf).toArray();
+        int[] targetIndices = targets.stream().mapToInt(graph::indexOf).toArray();
+
+        // the edges are undirected, so the tree of a source contains the durations to all targets
+        return Arrays.stream(sourceIndices).parallel().mapToObj(source -> {
+            CompactRegionGraph.ShortestPathTree tree = graph.shortestPathTree(source);
+            countExpandedNodes(tree.settledNodes());
+            long[] row = new long[targetIndices.length];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = tree.distances()[targetIndices[i]];
+            }
+            return row;
+        }).toArray(long[][]::new);
+    }
+
+    @Override
+    public Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        CompactRegionGraph graph = getGraph(end.getRegion());
+        int endIndex = graph.indexOf(end);
+        CompactRegionGraph.ShortestPathTree tree = graph.shortestPathTree(endIndex);
+        countExpandedNodes(tree.settledNodes());
+
+        Map<Region.Node, Deque<Region.Node>> paths = new HashMap<>(2 * graph.size());
+        for (int node = 0; node < graph.size(); node++) {
+            // nodes that are not connected to end have no path
+            if (tree.isReachable(node)) {
+                paths.put(graph.getNode(node), graph.reconstructPath(tree.predecessors(), node, endIndex));
+            }
+        }
+
+        return paths;
+    }
+}
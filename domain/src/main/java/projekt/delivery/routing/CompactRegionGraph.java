@@ -0,0 +1,307 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.function.IntToLongFunction;
+
+/**
+ * An immutable snapshot of a {@link Region} in compressed sparse row (CSR) layout.<p>
+ *
+ * Every {@link Region.Node} is mapped to an index in {@code [0, size())}, ordered by the coordinates of its location.
+ * The neighbors of the node with index {@code i} are stored in {@code targets[offsets[i]]} to
+ * {@code targets[offsets[i + 1] - 1]} and the duration of the connecting {@link Region.Edge} at the same position in
+ * {@code durations}. Since edges are undirected, every {@link Region.Edge} is stored once for each direction.
+ */
+final class CompactRegionGraph {
+
+    /**
+     * The distance of a node that cannot be reached.
+     */
+    static final long INFINITY = Long.MAX_VALUE;
+
+    /**
+     * The predecessor of a node that has none, i.e. the root of a search or an unreachable node.
+     */
+    static final int NO_NODE = -1;
+
+    private static final Comparator<Region.Node> NODE_ORDER = Comparator
+        .<Region.Node>comparingInt(node -> node.getLocation().getX())
+        .thenComparingInt(node -> node.getLocation().getY());
+
+    final int[] offsets;
+    final int[] targets;
+    final long[] durations;
+    private final Region region;
+    private final Region.Node[] nodes;
+    private final LocationMap<Integer> indices;
+
+    private CompactRegionGraph(Region region, Region.Node[] nodes, LocationMap<Integer> indices,
+                               int[] offsets, int[] targets, long[] durations) {
+        this.region = region;
+        this.nodes = nodes;
+        this.indices = indices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.durations = durations;
+    }
+
+    /**
+     * Creates a new snapshot of the given {@link Region}.
+     * @param region The {@link Region} to create the snapshot of.
+     * @return The created {@link CompactRegionGraph}.
+     */
+    static CompactRegionGraph of(Region region) {
+        Region.Node[] nodes = region.getNodes().toArray(Region.Node[]::new);
+        Arrays.sort(nodes, NODE_ORDER);
+        LocationMap<Integer> indices = new LocationMap<>(nodes.length);
+        for (int i = 0; i < nodes.length; i++) {
+            indices.put(nodes[i].getLocation(), i);
+        }
+
+        Region.Edge[] edges = region.getEdges().toArray(Region.Edge[]::new);
+        int[] edgeA = new int[edges.length];
+        int[] edgeB = new int[edges.length];
+        int[] offsets = new int[nodes.length + 1];
+        for (int i = 0; i < edges.length; i++) {
+            edgeA[i] = indices.get(edges[i].getNodeA().getLocation());
+            edgeB[i] = indices.get(edges[i].getNodeB().getLocation());
+            if (edgeA[i] != edgeB[i]) {
+                offsets[edgeA[i] + 1]++;
+                offsets[edgeB[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] targets = new int[offsets[nodes.length]];
+        long[] durations = new long[targets.length];
+        int[] next = Arrays.copyOf(offsets, nodes.length);
+        for (int i = 0; i < edges.length; i++) {
+            // self loops never lie on a shortest path
+            if (edgeA[i] == edgeB[i]) {
+                continue;
+            }
+            long duration = edges[i].getDuration();
+            targets[next[edgeA[i]]] = edgeB[i];
+            durations[next[edgeA[i]]++] = duration;
+            targets[next[edgeB[i]]] = edgeA[i];
+            durations[next[edgeB[i]]++] = duration;
+        }
+
+        return new CompactRegionGraph(region, nodes, indices, offsets, targets, durations);
+    }
+
+    /**
+     * Returns the {@link Region} this snapshot was created from.
+     * @return The {@link Region} this snapshot was created from.
+     */
+    Region getRegion() {
+        return region;
+    }
+
+    /**
+     * Returns the amount of nodes in this graph.
+     * @return The amount of nodes in this graph.
+     */
+    int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns the {@link Region.Node} with the given index.
+     * @param index The index of the {@link Region.Node}.
+     * @return The {@link Region.Node} with the given index.
+     */
+    Region.Node getNode(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * Returns the index of the given {@link Region.Node}.
+     * @param node The {@link Region.Node} to return the index of.
+     * @return The index of the given {@link Region.Node}.
+     * @throws IllegalArgumentException If the given {@link Region.Node} is not part of this graph.
+     */
+    int indexOf(Region.Node node) {
+        // nodes are looked up by their location, which is unique within a region
+        Integer index = indices.get(node.getLocation());
+        if (index == null || (nodes[index] != node && !nodes[index].equals(node))) {
+            throw new IllegalArgumentException("Node %s is not part of the region".formatted(node));
+        }
+        return index;
+    }
+
+    /**
+     * Returns a hash of the locations of all nodes and of all edges and their durations.<p>
+     *
+     * Two snapshots with the same fingerprint describe the same graph with the same node indices, so data that was
+     * precomputed for one of them can be reused for the other.
+     *
+     * @return The fingerprint of this graph.
+     */
+    long fingerprint() {
+        long hash = nodes.length;
+        for (Region.Node node : nodes) {
+            hash = 31 * hash + node.getLocation().getX();
+            hash = 31 * hash + node.getLocation().getY();
+        }
+        for (int i = 0; i <= nodes.length; i++) {
+            hash = 31 * hash + offsets[i];
+        }
+        for (int i = 0; i < targets.length; i++) {
+            hash = 31 * hash + targets[i];
+            hash = 31 * hash + durations[i];
+        }
+        return hash;
+    }
+
+    /**
+     * Executes Dijkstra's algorithm starting at the given node and settles every reachable node.
+     * @param root The index of the node to start at.
+     * @return The resulting {@link ShortestPathTree}.
+     */
+    ShortestPathTree shortestPathTree(int root) {
+        return shortestPathTree(root, NO_NODE);
+    }
+
+    /**
+     * Executes Dijkstra's algorithm starting at the given node and stops as soon as {@code target} is settled.<p>
+     *
+     * Only the distances and predecessors of the settled nodes, which include every node on the path from
+     * {@code target} to {@code root}, are final. All other values are upper bounds.
+     *
+     * @param root   The index of the node to start at.
+     * @param target The index of the node to stop at or {@link #NO_NODE} to settle every reachable node.
+     * @return The resulting {@link ShortestPathTree}.
+     */
+    ShortestPathTree shortestPathTree(int root, int target) {
+        return shortestPathTree(root, target, null);
+    }
+
+    /**
+     * Executes A* starting at the given node and stops as soon as {@code target} is settled.<p>
+     *
+     * The given estimate must never overestimate the duration from a node to {@code target} and must be consistent,
+     * i.e. the estimates of two adjacent nodes may not differ by more than the duration of the connecting edge. Only
+     * the distances and predecessors of the settled nodes, which include every node on the path from {@code target}
+     * to {@code root}, are final. All other values are upper bounds.
+     *
+     * @param root     The index of the node to start at.
+     * @param target   The index of the node to stop at or {@link #NO_NODE} to settle every reachable node.
+     * @param estimate A lower bound of the duration from the node with the given index to {@code target} or
+     *                 {@code null} to execute Dijkstra's algorithm.
+     * @return The resulting {@link ShortestPathTree}.
+     */
+    ShortestPathTree shortestPathTree(int root, int target, @Nullable IntToLongFunction estimate) {
+        long[] distances = new long[size()];
+        int[] predecessors = new int[size()];
+        long[] estimates = estimate == null ? null : new long[size()];
+        Arrays.fill(distances, INFINITY);
+        Arrays.fill(predecessors, NO_NODE);
+        IndexedMinHeap heap = new IndexedMinHeap(size());
+
+        distances[root] = 0;
+        heap.insertOrDecrease(root, 0);
+        int settledNodes = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settledNodes++;
+            if (u == target) {
+                break;
+            }
+            long distance = distances[u];
+            for (int edge = offsets[u]; edge < offsets[u + 1]; edge++) {
+                int v = targets[edge];
+                long candidate = distance + durations[edge];
+                if (candidate < distances[v]) {
+                    if (estimates != null && distances[v] == INFINITY) {
+                        estimates[v] = estimate.applyAsLong(v);
+                    }
+                    distances[v] = candidate;
+                    predecessors[v] = u;
+                    heap.insertOrDecrease(v, estimates == null ? candidate : candidate + estimates[v]);
+                }
+            }
+        }
+
+        return new ShortestPathTree(root, distances, predecessors, settledNodes);
+    }
+
+    /**
+     * Reconstructs the path from {@code start} to {@code end} by following the given predecessors, where the
+     * predecessor of a node is the next node on its way to {@code end}.
+     * @param predecessors The predecessors pointing towards {@code end}.
+     * @param start The index of the start node of the path.
+     * @param end The index of the end node of the path.
+     * @return The nodes of the path, excluding {@code start} and including {@code end}.
+     * @throws IllegalArgumentException If there is no path from {@code start} to {@code end}.
+     */
+    Deque<Region.Node> reconstructPath(int[] predecessors, int start, int end) {
+        Deque<Region.Node> path = new ArrayDeque<>();
+        int node = start;
+        while (node != end) {
+            node = predecessors[node];
+            if (node == NO_NODE) {
+                throw new IllegalArgumentException("There is no path from %s to %s".formatted(nodes[start], nodes[end]));
+            }
+            path.addLast(nodes[node]);
+        }
+        return path;
+    }
+
+    /**
+     * Sums up the durations of the edges of the given path.<p>
+     *
+     * If there are multiple edges between two nodes, the shortest one is used.
+     * @param start The index of the start node of the path.
+     * @param path The nodes of the path, excluding {@code start} and including the end.
+     * @return The sum of the durations of all edges of the path.
+     * @throws IllegalArgumentException If two consecutive nodes of the path are not connected.
+     */
+    long pathDuration(int start, Iterable<Region.Node> path) {
+        long duration = 0;
+        int previous = start;
+        for (Region.Node node : path) {
+            int next = indexOf(node);
+            long edgeDuration = INFINITY;
+            for (int edge = offsets[previous]; edge < offsets[previous + 1]; edge++) {
+                if (targets[edge] == next) {
+                    edgeDuration = Math.min(edgeDuration, durations[edge]);
+                }
+            }
+            if (edgeDuration == INFINITY) {
+                throw new IllegalArgumentException("There is no edge between %s and %s".formatted(nodes[previous], node));
+            }
+            duration += edgeDuration;
+            previous = next;
+        }
+        return duration;
+    }
+
+    /**
+     * The result of a single source shortest path search on a {@link CompactRegionGraph}.<p>
+     *
+     * Since edges are undirected, the predecessor of every node is the next node on its shortest path to the root.
+     *
+     * @param root         The index of the node the search started at.
+     * @param distances    The duration of the shortest path of every node to the root, or {@link #INFINITY}.
+     * @param predecessors The predecessor of every node, or {@link #NO_NODE}.
+     * @param settledNodes The amount of nodes that were settled by the search.
+     */
+    record ShortestPathTree(int root, long[] distances, int[] predecessors, int settledNodes) {
+
+        /**
+         * Returns true if the node with the given index is connected to the root.
+         * @param node The index of the node.
+         * @return True if the node with the given index is connected to the root.
+         */
+        boolean isReachable(int node) {
+            return distances[node] != INFINITY;
+        }
+    }
+}
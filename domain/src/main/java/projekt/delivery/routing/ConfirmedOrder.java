@@ -5,6 +5,7 @@ import projekt.base.TickInterval;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A class representing an order that contains a {@link List} of foods, was placed at an {@link VehicleManager.OccupiedRestaurant} and should be delivered to a {@link Location} during a given {@link TickInterval}.
@@ -18,7 +19,7 @@ public class ConfirmedOrder implements Serializable {
     private final VehicleManager.OccupiedRestaurant restaurant;
     private long actualDeliveryTick;
 
-    private static int nextOrderID;
+    private static final AtomicInteger nextOrderID = new AtomicInteger();
 
     /**
      * Creates a new {@link ConfirmedOrder} instance.
@@ -41,7 +42,7 @@ public class ConfirmedOrder implements Serializable {
         this.deliveryInterval = deliveryInterval;
         this.foodList = foodList;
         this.weight = weight;
-        orderID = nextOrderID++;
+        orderID = nextOrderID.getAndIncrement();
     }
 
     /**
@@ -57,6 +58,38 @@ public class ConfirmedOrder implements Serializable {
         this(new Location(x,y), restaurant, deliveryInterval, foodList, weight);
     }
 
+    /**
+     * Creates a copy of the given {@link ConfirmedOrder} with the same ID that was placed at the given
+     * {@link VehicleManager.OccupiedRestaurant}, which belongs to a forked {@link VehicleManager}.
+     * @param order The {@link ConfirmedOrder} to copy.
+     * @param restaurant The {@link VehicleManager.OccupiedRestaurant} the copy was placed at.
+     */
+    ConfirmedOrder(ConfirmedOrder order, VehicleManager.OccupiedRestaurant restaurant) {
+        this(order.orderID, order.location, restaurant, order.deliveryInterval, order.foodList, order.weight,
+            order.actualDeliveryTick);
+    }
+
+    /**
+     * Creates a {@link ConfirmedOrder} with the given ID that has been restored from a checkpoint.
+     * @param orderID The ID of the {@link ConfirmedOrder}.
+     * @param location The {@link Location} to deliver the {@link ConfirmedOrder} to.
+     * @param restaurant The {@link VehicleManager.OccupiedRestaurant} the {@link ConfirmedOrder} was placed at.
+     * @param deliveryInterval The {@link TickInterval} in which the {@link ConfirmedOrder} should be delivered.
+     * @param foodList A {@link List} containing the ordered food.
+     * @param weight The weight of the {@link ConfirmedOrder}.
+     * @param actualDeliveryTick The tick the {@link ConfirmedOrder} was actually delivered at.
+     */
+    ConfirmedOrder(int orderID, Location location, VehicleManager.OccupiedRestaurant restaurant,
+                   TickInterval deliveryInterval, List<String> foodList, double weight, long actualDeliveryTick) {
+        this.orderID = orderID;
+        this.location = location;
+        this.restaurant = restaurant;
+        this.deliveryInterval = deliveryInterval;
+        this.foodList = foodList;
+        this.weight = weight;
+        this.actualDeliveryTick = actualDeliveryTick;
+    }
+
     /**
      * Returns the {@link Location} to deliver the {@link ConfirmedOrder} to.
      * @return The {@link Location} to deliver the {@link ConfirmedOrder} to.
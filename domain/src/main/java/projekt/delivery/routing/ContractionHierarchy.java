@@ -0,0 +1,542 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+import static projekt.delivery.routing.CompactRegionGraph.INFINITY;
+import static projekt.delivery.routing.CompactRegionGraph.NO_NODE;
+
+/**
+ * A contraction hierarchy of a {@link CompactRegionGraph}.<p>
+ *
+ * Every node is given a rank by contracting the nodes one after another. When a node is contracted, shortcut edges
+ * are added between its remaining neighbors for every shortest path that leads through it. Afterwards, each node only
+ * keeps the edges to nodes with a higher rank. A shortest path can then be found by two searches, from the start and
+ * from the end, that only follow these upward edges and meet at the node with the highest rank on the path.
+ */
+final class ContractionHierarchy {
+
+    /**
+     * The amount of nodes a witness search may settle before a shortcut is added without further search.
+     */
+    private static final int WITNESS_SETTLE_LIMIT = 64;
+
+    private static final int MAGIC = 0x46434831;
+
+    private final CompactRegionGraph graph;
+    private final int[] ranks;
+    private final int[] offsets;
+    private final int[] targets;
+    private final long[] durations;
+    private final int[] middles;
+
+    /**
+     * Creates a new {@link ContractionHierarchy}.
+     * @param graph The {@link CompactRegionGraph} the hierarchy was built for.
+     * @param ranks The rank of every node.
+     * @param offsets The start of the upward edges of every node in {@code targets}.
+     * @param targets The node with the higher rank of every upward edge.
+     * @param durations The duration of every upward edge.
+     * @param middles The contracted node every shortcut leads through or {@link CompactRegionGraph#NO_NODE}.
+     */
+    private ContractionHierarchy(CompactRegionGraph graph, int[] ranks, int[] offsets, int[] targets,
+                                 long[] durations, int[] middles) {
+        this.graph = graph;
+        this.ranks = ranks;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.durations = durations;
+        this.middles = middles;
+    }
+
+    /**
+     * Builds the {@link ContractionHierarchy} of the given {@link CompactRegionGraph}.
+     * @param graph The {@link CompactRegionGraph} to build the hierarchy of.
+     * @return The built {@link ContractionHierarchy}.
+     */
+    static ContractionHierarchy build(CompactRegionGraph graph) {
+        return new Builder(graph).build();
+    }
+
+    /**
+     * Reads a {@link ContractionHierarchy} written by {@link #write(DataOutput)}.<p>
+     *
+     * The read arrays are checked before they are used, so that a truncated or corrupted input is rejected instead of
+     * failing during a query.
+     *
+     * @param graph The {@link CompactRegionGraph} the hierarchy is supposed to belong to.
+     * @param input The {@link DataInput} to read from.
+     * @return The read {@link ContractionHierarchy} or {@code null} if it was built for a different graph, is
+     *     incomplete or is not a valid hierarchy of the graph.
+     * @throws IOException If an I/O error occurs or the input is not a {@link ContractionHierarchy}.
+     */
+    static @Nullable ContractionHierarchy read(CompactRegionGraph graph, DataInput input) throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IOException("input is not a contraction hierarchy");
+        }
+        int size = graph.size();
+        if (input.readLong() != graph.fingerprint() || input.readInt() != size) {
+            return null;
+        }
+
+        try {
+            int[] ranks = new int[size];
+            int[] offsets = new int[size + 1];
+            for (int node = 0; node < size; node++) {
+                ranks[node] = input.readInt();
+            }
+            for (int node = 0; node <= size; node++) {
+                offsets[node] = input.readInt();
+            }
+            // every pair of nodes is connected by at most one upward edge
+            if (!isValid(ranks, offsets) || offsets[size] > (long) size * (size - 1) / 2) {
+                return null;
+            }
+            int[] targets = new int[offsets[size]];
+            long[] durations = new long[targets.length];
+            int[] middles = new int[targets.length];
+            for (int edge = 0; edge < targets.length; edge++) {
+                targets[edge] = input.readInt();
+                durations[edge] = input.readLong();
+                middles[edge] = input.readInt();
+            }
+
+            ContractionHierarchy hierarchy = new ContractionHierarchy(graph, ranks, offsets, targets, durations, middles);
+            return hierarchy.hasValidEdges() ? hierarchy : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the given ranks are a permutation of the nodes and the given offsets start at zero and do not
+     * decrease.
+     * @param ranks The rank of every node.
+     * @param offsets The start of the upward edges of every node.
+     * @return True, if the ranks and offsets are valid.
+     */
+    private static boolean isValid(int[] ranks, int[] offsets) {
+        boolean[] used = new boolean[ranks.length];
+        for (int rank : ranks) {
+            if (rank < 0 || rank >= ranks.length || used[rank]) {
+                return false;
+            }
+            used[rank] = true;
+        }
+        if (offsets[0] != 0) {
+            return false;
+        }
+        for (int node = 0; node < ranks.length; node++) {
+            if (offsets[node + 1] < offsets[node]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether every edge leads upwards to a node of the graph, has a valid duration and, if it is a shortcut,
+     * leads through a node with a lower rank that is connected to both of its ends.
+     * @return True, if all edges are valid.
+     */
+    private boolean hasValidEdges() {
+        int size = graph.size();
+        for (int node = 0; node < size; node++) {
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                int target = targets[edge];
+                if (target < 0 || target >= size || ranks[target] <= ranks[node] || durations[edge] < 0
+                    || durations[edge] >= INFINITY) {
+                    return false;
+                }
+                int middle = middles[edge];
+                if (middle == NO_NODE) {
+                    continue;
+                }
+                if (middle < 0 || middle >= size || ranks[middle] >= ranks[node]
+                    || !hasEdge(middle, node) || !hasEdge(middle, target)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether there is an upward edge from {@code lower} to {@code higher}.
+     * @param lower The node with the lower rank.
+     * @param higher The node with the higher rank.
+     * @return True, if the edge exists.
+     */
+    private boolean hasEdge(int lower, int higher) {
+        for (int edge = offsets[lower]; edge < offsets[lower + 1]; edge++) {
+            if (targets[edge] == higher) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes this {@link ContractionHierarchy} in a binary format that can be read by
+     * {@link #read(CompactRegionGraph, DataInput)}.
+     * @param output The {@link DataOutput} to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    void write(DataOutput output) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeLong(graph.fingerprint());
+        output.writeInt(graph.size());
+        for (int rank : ranks) {
+            output.writeInt(rank);
+        }
+        for (int offset : offsets) {
+            output.writeInt(offset);
+        }
+        for (int edge = 0; edge < targets.length; edge++) {
+            output.writeInt(targets[edge]);
+            output.writeLong(durations[edge]);
+            output.writeInt(middles[edge]);
+        }
+    }
+
+    /**
+     * Returns the {@link CompactRegionGraph} this hierarchy was built for.
+     * @return The {@link CompactRegionGraph} this hierarchy was built for.
+     */
+    CompactRegionGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the amount of shortcut edges that were added during the contraction.
+     * @return The amount of shortcut edges.
+     */
+    int getShortcutCount() {
+        return (int) Arrays.stream(middles).filter(middle -> middle != NO_NODE).count();
+    }
+
+    /**
+     * Calculates the shortest path from {@code start} to {@code end}.
+     * @param start The index of the start node.
+     * @param end The index of the end node.
+     * @param expandedNodes A {@link LongConsumer} that accepts the amount of nodes settled by the search.
+     * @return The nodes of the path, excluding {@code start} and including {@code end}.
+     * @throws IllegalArgumentException If there is no path from {@code start} to {@code end}.
+     */
+    Deque<Region.Node> getPath(int start, int end, LongConsumer expandedNodes) {
+        Deque<Region.Node> path = new ArrayDeque<>();
+        if (start == end) {
+            return path;
+        }
+
+        UpwardSearch forward = new UpwardSearch(start);
+        UpwardSearch backward = new UpwardSearch(end);
+        long best = INFINITY;
+        int meet = NO_NODE;
+        int settled = 0;
+        while (true) {
+            // a direction is finished as soon as it cannot find a shorter path anymore
+            if (!forward.heap.isEmpty() && forward.heap.peekPriority() >= best) {
+                forward.heap.clear();
+            }
+            if (!backward.heap.isEmpty() && backward.heap.peekPriority() >= best) {
+                backward.heap.clear();
+            }
+            if (forward.heap.isEmpty() && backward.heap.isEmpty()) {
+                break;
+            }
+            boolean isForward = backward.heap.isEmpty()
+                || (!forward.heap.isEmpty() && forward.heap.peekPriority() <= backward.heap.peekPriority());
+            UpwardSearch current = isForward ? forward : backward;
+            UpwardSearch other = isForward ? backward : forward;
+
+            int u = current.settleNext();
+            settled++;
+            if (other.distances[u] != INFINITY && current.distances[u] + other.distances[u] < best) {
+                best = current.distances[u] + other.distances[u];
+                meet = u;
+            }
+        }
+
+        expandedNodes.accept(settled);
+
+        if (meet == NO_NODE) {
+            throw new IllegalArgumentException("There is no path from %s to %s".formatted(
+                graph.getNode(start), graph.getNode(end)));
+        }
+
+        // the forward search leads from start up to meet
+        List<Integer> upward = new ArrayList<>();
+        for (int node = meet; node != start; node = forward.predecessors[node]) {
+            upward.add(node);
+        }
+        int from = start;
+        for (int i = upward.size() - 1; i >= 0; i--) {
+            int to = upward.get(i);
+            unpack(from, to, middles[forward.edges[to]], path);
+            from = to;
+        }
+        // the backward search leads from end up to meet, so it is walked down from meet to end
+        for (int node = meet; node != end; node = backward.predecessors[node]) {
+            unpack(node, backward.predecessors[node], middles[backward.edges[node]], path);
+        }
+
+        return path;
+    }
+
+    /**
+     * Appends the nodes of the edge from {@code from} to {@code to} to the given path, replacing shortcuts by the
+     * edges they consist of.
+     * @param from The node the edge starts at, which is not added.
+     * @param to The node the edge ends at, which is added.
+     * @param middle The node the edge leads through or {@link CompactRegionGraph#NO_NODE} if it is no shortcut.
+     * @param path The path to append the nodes to.
+     */
+    private void unpack(int from, int to, int middle, Deque<Region.Node> path) {
+        if (middle == NO_NODE) {
+            path.addLast(graph.getNode(to));
+            return;
+        }
+        unpack(from, middle, middles[findEdge(from, middle)], path);
+        unpack(middle, to, middles[findEdge(middle, to)], path);
+    }
+
+    /**
+     * Returns the upward edge connecting the two given nodes, which is stored at the node with the lower rank.
+     * @param a The first node.
+     * @param b The second node.
+     * @return The index of the edge.
+     */
+    private int findEdge(int a, int b) {
+        int lower = ranks[a] < ranks[b] ? a : b;
+        int higher = lower == a ? b : a;
+        for (int edge = offsets[lower]; edge < offsets[lower + 1]; edge++) {
+            if (targets[edge] == higher) {
+                return edge;
+            }
+        }
+        throw new AssertionError("Missing upward edge from %d to %d".formatted(lower, higher));
+    }
+
+    /**
+     * The state of a search that only follows upward edges.
+     */
+    private class UpwardSearch {
+
+        private final long[] distances = new long[graph.size()];
+        private final int[] predecessors = new int[graph.size()];
+        private final int[] edges = new int[graph.size()];
+        private final IndexedMinHeap heap = new IndexedMinHeap(graph.size());
+
+        private UpwardSearch(int root) {
+            Arrays.fill(distances, INFINITY);
+            Arrays.fill(predecessors, NO_NODE);
+            distances[root] = 0;
+            heap.insertOrDecrease(root, 0);
+        }
+
+        private int settleNext() {
+            int u = heap.poll();
+            long distance = distances[u];
+            for (int edge = offsets[u]; edge < offsets[u + 1]; edge++) {
+                int v = targets[edge];
+                long candidate = distance + durations[edge];
+                if (candidate < distances[v]) {
+                    distances[v] = candidate;
+                    predecessors[v] = u;
+                    edges[v] = edge;
+                    heap.insertOrDecrease(v, candidate);
+                }
+            }
+            return u;
+        }
+    }
+
+    /**
+     * Contracts the nodes of a {@link CompactRegionGraph} one after another.
+     */
+    private static class Builder {
+
+        private final CompactRegionGraph graph;
+        private final List<Map<Integer, Shortcut>> remaining;
+        private final int[] contractedNeighbors;
+        private final long[] witnessDistances;
+        private final IndexedMinHeap witnessHeap;
+        private final List<Integer> witnessTouched = new ArrayList<>();
+
+        private Builder(CompactRegionGraph graph) {
+            this.graph = graph;
+            remaining = new ArrayList<>(graph.size());
+            for (int u = 0; u < graph.size(); u++) {
+                Map<Integer, Shortcut> neighbors = new HashMap<>();
+                for (int edge = graph.offsets[u]; edge < graph.offsets[u + 1]; edge++) {
+                    neighbors.merge(graph.targets[edge], new Shortcut(graph.durations[edge], NO_NODE), Builder::shorter);
+                }
+                remaining.add(neighbors);
+            }
+            contractedNeighbors = new int[graph.size()];
+            witnessDistances = new long[graph.size()];
+            Arrays.fill(witnessDistances, INFINITY);
+            witnessHeap = new IndexedMinHeap(graph.size());
+        }
+
+        private ContractionHierarchy build() {
+            int size = graph.size();
+            int[] ranks = new int[size];
+            List<Map<Integer, Shortcut>> upward = new ArrayList<>(size);
+            IndexedMinHeap queue = new IndexedMinHeap(size);
+            for (int v = 0; v < size; v++) {
+                upward.add(null);
+                queue.insertOrDecrease(v, priority(v, findShortcuts(v)));
+            }
+
+            int rank = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                List<Candidate> shortcuts = findShortcuts(v);
+                // priorities are updated lazily, so a node is only contracted if it is still the best candidate
+                long priority = priority(v, shortcuts);
+                if (!queue.isEmpty() && priority > queue.peekPriority()) {
+                    queue.insertOrDecrease(v, priority);
+                    continue;
+                }
+
+                ranks[v] = rank++;
+                Map<Integer, Shortcut> neighbors = remaining.set(v, null);
+                upward.set(v, neighbors);
+                for (int u : neighbors.keySet()) {
+                    remaining.get(u).remove(v);
+                    contractedNeighbors[u]++;
+                }
+                for (Candidate candidate : shortcuts) {
+                    Shortcut shortcut = new Shortcut(candidate.duration, v);
+                    remaining.get(candidate.nodeA).merge(candidate.nodeB, shortcut, Builder::shorter);
+                    remaining.get(candidate.nodeB).merge(candidate.nodeA, shortcut, Builder::shorter);
+                }
+            }
+
+            int[] offsets = new int[size + 1];
+            for (int v = 0; v < size; v++) {
+                offsets[v + 1] = offsets[v] + upward.get(v).size();
+            }
+            int[] targets = new int[offsets[size]];
+            long[] durations = new long[targets.length];
+            int[] middles = new int[targets.length];
+            for (int v = 0; v < size; v++) {
+                int edge = offsets[v];
+                for (Map.Entry<Integer, Shortcut> entry : upward.get(v).entrySet()) {
+                    targets[edge] = entry.getKey();
+                    durations[edge] = entry.getValue().duration;
+                    middles[edge] = entry.getValue().middle;
+                    edge++;
+                }
+            }
+
+            return new ContractionHierarchy(graph, ranks, offsets, targets, durations, middles);
+        }
+
+        private static Shortcut shorter(Shortcut a, Shortcut b) {
+            return a.duration <= b.duration ? a : b;
+        }
+
+        private long priority(int v, List<Candidate> shortcuts) {
+            // edge difference plus the amount of contracted neighbors to contract the graph evenly
+            return shortcuts.size() - remaining.get(v).size() + contractedNeighbors[v];
+        }
+
+        /**
+         * Returns the shortcuts that are necessary if the given node is contracted.
+         * @param v The node to contract.
+         * @return The necessary shortcuts between the neighbors of the given node.
+         */
+        private List<Candidate> findShortcuts(int v) {
+            List<Candidate> shortcuts = new ArrayList<>();
+            Map<Integer, Shortcut> neighbors = remaining.get(v);
+            int[] nodes = neighbors.keySet().stream().mapToInt(Integer::intValue).toArray();
+            long[] distances = new long[nodes.length];
+            long maxDistance = 0;
+            for (int i = 0; i < nodes.length; i++) {
+                distances[i] = neighbors.get(nodes[i]).duration;
+                maxDistance = Math.max(maxDistance, distances[i]);
+            }
+
+            for (int i = 0; i < nodes.length; i++) {
+                witnessSearch(nodes[i], v, distances[i] + maxDistance);
+                for (int j = i + 1; j < nodes.length; j++) {
+                    long viaV = distances[i] + distances[j];
+                    if (witnessDistances[nodes[j]] > viaV) {
+                        shortcuts.add(new Candidate(nodes[i], nodes[j], viaV));
+                    }
+                }
+                resetWitnessSearch();
+            }
+
+            return shortcuts;
+        }
+
+        /**
+         * Searches for paths starting at {@code source} that do not lead through {@code ignored}.
+         * @param source The node to start at.
+         * @param ignored The node that is about to be contracted.
+         * @param maxDistance The distance after which the search stops.
+         */
+        private void witnessSearch(int source, int ignored, long maxDistance) {
+            witnessDistances[source] = 0;
+            witnessTouched.add(source);
+            witnessHeap.insertOrDecrease(source, 0);
+            int settled = 0;
+            while (!witnessHeap.isEmpty() && settled++ < WITNESS_SETTLE_LIMIT) {
+                if (witnessHeap.peekPriority() > maxDistance) {
+                    break;
+                }
+                int u = witnessHeap.poll();
+                for (Map.Entry<Integer, Shortcut> entry : remaining.get(u).entrySet()) {
+                    int w = entry.getKey();
+                    long candidate = witnessDistances[u] + entry.getValue().duration;
+                    if (w != ignored && candidate < witnessDistances[w]) {
+                        if (witnessDistances[w] == INFINITY) {
+                            witnessTouched.add(w);
+                        }
+                        witnessDistances[w] = candidate;
+                        witnessHeap.insertOrDecrease(w, candidate);
+                    }
+                }
+            }
+        }
+
+        private void resetWitnessSearch() {
+            for (int node : witnessTouched) {
+                witnessDistances[node] = INFINITY;
+            }
+            witnessTouched.clear();
+            witnessHeap.clear();
+        }
+
+        /**
+         * An edge of the remaining graph.
+         * @param duration The duration of the edge.
+         * @param middle The contracted node the edge leads through or {@link CompactRegionGraph#NO_NODE}.
+         */
+        private record Shortcut(long duration, int middle) {}
+
+        /**
+         * A shortcut that is necessary if a node is contracted.
+         * @param nodeA The first neighbor of the contracted node.
+         * @param nodeB The second neighbor of the contracted node.
+         * @param duration The duration of the path from {@code nodeA} to {@code nodeB} through the contracted node.
+         */
+        private record Candidate(int nodeA, int nodeB, long duration) {}
+    }
+}
@@ -0,0 +1,104 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Deque;
+
+/**
+ * A {@link PathCalculator} that calculates the shortest path between two nodes using a contraction hierarchy.<p>
+ *
+ * The hierarchy of a {@link Region} is built once, either explicitly with {@link #preprocess(Region)} or on the first
+ * query, and can be saved with {@link #write(Region, OutputStream)} and loaded again with
+ * {@link #read(Region, InputStream)} to skip the preprocessing in later runs.
+ * {@link #getAllPathsTo(Region.Node)} still computes a full shortest path tree.
+ */
+public class ContractionHierarchyPathCalculator extends CompactDijkstraPathCalculator {
+
+    private volatile @Nullable ContractionHierarchy hierarchy;
+
+    /**
+     * Returns the {@link ContractionHierarchy} of the given {@link CompactRegionGraph} and builds it if necessary.
+     * @param graph The {@link CompactRegionGraph} to return the {@link ContractionHierarchy} of.
+     * @return The {@link ContractionHierarchy} of the given {@link CompactRegionGraph}.
+     */
+    private ContractionHierarchy getHierarchy(CompactRegionGraph graph) {
+        ContractionHierarchy hierarchy = this.hierarchy;
+        if (hierarchy == null || hierarchy.getGraph() != graph) {
+            synchronized (this) {
+                hierarchy = this.hierarchy;
+                if (hierarchy == null || hierarchy.getGraph() != graph) {
+                    hierarchy = ContractionHierarchy.build(graph);
+                    this.hierarchy = hierarchy;
+                }
+            }
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Builds the contraction hierarchy of the given {@link Region} if it has not been built or loaded yet.
+     * @param region The {@link Region} to build the contraction hierarchy of.
+     */
+    public void preprocess(Region region) {
+        getHierarchy(getGraph(region));
+    }
+
+    /**
+     * Returns the amount of shortcut edges in the contraction hierarchy of the given {@link Region}.
+     * @param region The {@link Region} to return the amount of shortcuts of.
+     * @return The amount of shortcut edges.
+     */
+    public int getShortcutCount(Region region) {
+        return getHierarchy(getGraph(region)).getShortcutCount();
+    }
+
+    /**
+     * Writes the contraction hierarchy of the given {@link Region} to the given {@link OutputStream} and builds it
+     * if necessary.
+     * @param region The {@link Region} to write the contraction hierarchy of.
+     * @param outputStream The {@link OutputStream} to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void write(Region region, OutputStream outputStream) throws IOException {
+        DataOutputStream output = new DataOutputStream(outputStream);
+        getHierarchy(getGraph(region)).write(output);
+        output.flush();
+    }
+
+    /**
+     * Reads a contraction hierarchy written by {@link #write(Region, OutputStream)} and uses it for the given
+     * {@link Region} if it was built for an identical {@link Region}. A truncated or corrupted contraction hierarchy is
+     * ignored, so that it is built again when it is needed.
+     * @param region The {@link Region} the contraction hierarchy is supposed to belong to.
+     * @param inputStream The {@link InputStream} to read from.
+     * @return True, if the read contraction hierarchy is complete, belongs to the given {@link Region} and is used
+     *     from now on.
+     * @throws IOException If an I/O error occurs or the input is not a contraction hierarchy.
+     */
+    public boolean read(Region region, InputStream inputStream) throws IOException {
+        CompactRegionGraph graph = getGraph(region);
+        ContractionHierarchy hierarchy = ContractionHierarchy.read(graph, new DataInputStream(inputStream));
+        if (hierarchy == null) {
+            return false;
+        }
+        this.hierarchy = hierarchy;
+        return true;
+    }
+
+    @Override
+    public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompactRegionGraph graph = getGraph(end.getRegion());
+        return getHierarchy(graph).getPath(graph.indexOf(start), graph.indexOf(end), this::countExpandedNodes);
+    }
+
+    @Override
+    public long getDuration(Region.Node start, Region.Node end) {
+        CompactRegionGraph graph = getGraph(end.getRegion());
+        return graph.pathDuration(graph.indexOf(start), getPath(start, end));
+    }
+}
@@ -61,8 +61,22 @@ public class DijkstraPathCalculator implements PathCalculator {
      * @return The result of the algorithm. Each {@link DijkstraNode} contains the information about which adjacent node
      * lies on the shortest path to given node.
      */
-
     private Map<Region.Node, DijkstraNode> execute(Region.Node end) {
+        return execute(end, null);
+    }
+
+    /**
+     * Executes Dijkstra's algorithm starting at the given node and stops as soon as {@code target} has been visited.<p>
+     *
+     * Only the visited {@link DijkstraNode}s, which include every node on the path from {@code target} to
+     * {@code end}, contain their final duration and previous node.
+     *
+     * @param end The starting node.
+     * @param target The node to stop at or {@code null} to visit every node.
+     * @return The result of the algorithm. Each {@link DijkstraNode} contains the information about which adjacent node
+     * lies on the shortest path to given node.
+     */
+    private Map<Region.Node, DijkstraNode> execute(Region.Node end, @Nullable Region.Node target) {
         // Initialize SSSP
         int size = end.getRegion().getNodes().size();
         Queue<DijkstraNode> queue = new PriorityQueue<>(size);
@@ -79,6 +93,11 @@ public class DijkstraPathCalculator implements PathCalculator {
             }
             u.visited = true;
 
+            // The path of the target is known as soon as it is visited
+            if (u.node.equals(target)) {
+                break;
+            }
+
             // If the lowest distance in the queue is infinity, we can stop as all relax attempts from here will fail
             if (u.duration == null) {
                 break;
@@ -135,7 +154,7 @@ public class DijkstraPathCalculator implements PathCalculator {
 
     @Override
     public Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
-        Map<Region.Node, DijkstraNode> references = execute(end);
+        Map<Region.Node, DijkstraNode> references = execute(end, start);
 
         return reconstructPath(references, start, end);
     }
@@ -0,0 +1,325 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static projekt.delivery.routing.CompactRegionGraph.INFINITY;
+import static projekt.delivery.routing.CompactRegionGraph.NO_NODE;
+
+/**
+ * A {@link PathCalculator} that caches the shortest path trees of the latest end nodes and repairs them when the
+ * edges of the {@link Region} change.<p>
+ *
+ * Whenever a query is made on a different {@link Region} with the same nodes, e.g. one that was rebuilt by a
+ * {@link Region.Builder} after an {@link Region.Edge} was added, removed or changed its duration, the changed edges
+ * are determined and only the affected parts of the cached trees are recomputed:
+ * <ul>
+ *     <li>A shorter or new edge only improves the nodes that can now be reached faster through it.</li>
+ *     <li>A longer or removed edge only invalidates the nodes whose shortest path used it. They are reconnected using
+ *     their unaffected neighbors.</li>
+ * </ul>
+ * If the nodes of the {@link Region} changed, all cached trees are discarded. The work of the repairs is included in
+ * {@link #getExpandedNodes()}.
+ */
+public class DynamicPathCalculator extends CompactDijkstraPathCalculator {
+
+    private final int size;
+    private final Map<Integer, CompactRegionGraph.ShortestPathTree> trees;
+    private @Nullable CompactRegionGraph treeGraph;
+    private long repairedTrees;
+
+    /**
+     * Creates a new {@link DynamicPathCalculator}.
+     * @param size The maximum amount of shortest path trees that are cached.
+     */
+    public DynamicPathCalculator(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("The size of the cache must be positive");
+        }
+        this.size = size;
+        trees = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Creates a new {@link DynamicPathCalculator}.<p>
+     * It will cache the shortest path trees of up to 1024 end nodes.
+     */
+    public DynamicPathCalculator() {
+        this(1024);
+    }
+
+    /**
+     * Makes the given {@link Region} the current one and repairs the cached shortest path trees if it differs from
+     * the previous {@link Region} only by its edges.<p>
+     *
+     * This happens automatically on the first query on the given {@link Region}.
+     * @param region The changed {@link Region}.
+     */
+    public void update(Region region) {
+        getGraph(region);
+    }
+
+    /**
+     * Returns the total amount of cached shortest path trees that were repaired instead of discarded.
+     * @return The amount of repaired trees.
+     */
+    public synchronized long getRepairedTrees() {
+        return repairedTrees;
+    }
+
+    @Override
+    synchronized CompactRegionGraph getGraph(Region region) {
+        CompactRegionGraph graph = super.getGraph(region);
+        if (graph != treeGraph) {
+            @Nullable List<EdgeChange> changes = treeGraph == null ? null : findChanges(treeGraph, graph);
+            if (changes == null) {
+                trees.clear();
+            } else if (!changes.isEmpty()) {
+                for (CompactRegionGraph.ShortestPathTree tree : trees.values()) {
+                    repair(graph, tree, changes);
+                }
+                repairedTrees += trees.size();
+            }
+            treeGraph = graph;
+        }
+        return graph;
+    }
+
+    /**
+     * Returns the cached shortest path tree of the given end node and computes it if necessary.
+     * @param graph The current {@link CompactRegionGraph}.
+     * @param end The index of the end node.
+     * @return The shortest path tree rooted at the given end node.
+     */
+    private CompactRegionGraph.ShortestPathTree getTree(CompactRegionGraph graph, int end) {
+        @Nullable CompactRegionGraph.ShortestPathTree tree = trees.get(end);
+        if (tree == null) {
+            tree = graph.shortestPathTree(end);
+            countExpandedNodes(tree.settledNodes());
+
+            // Limit cache size
+            if (trees.size() >= size) {
+                trees.remove(trees.keySet().iterator().next());
+            }
+            trees.put(end, tree);
+        }
+        return tree;
+    }
+
+    @Override
+    public synchronized Deque<Region.Node> getPath(Region.Node start, Region.Node end) {
+        CompactRegionGraph graph = getGraph(end.getRegion());
+        int endIndex = graph.indexOf(end);
+        return graph.reconstructPath(getTree(graph, endIndex).predecessors(), graph.indexOf(start), endIndex);
+    }
+
+    @Override
+    public synchronized long getDuration(Region.Node start, Region.Node end) {
+        CompactRegionGraph graph = getGraph(end.getRegion());
+        int startIndex = graph.indexOf(start);
+        CompactRegionGraph.ShortestPathTree tree = getTree(graph, graph.indexOf(end));
+        if (!tree.isReachable(startIndex)) {
+            throw new IllegalArgumentException("There is no path from %s to %s".formatted(start, end));
+        }
+        return tree.distances()[startIndex];
+    }
+
+    @Override
+    public synchronized Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end) {
+        CompactRegionGraph graph = getGraph(end.getRegion());
+        int endIndex = graph.indexOf(end);
+        CompactRegionGraph.ShortestPathTree tree = getTree(graph, endIndex);
+
+        Map<Region.Node, Deque<Region.Node>> paths = new HashMap<>(2 * graph.size());
+        for (int node = 0; node < graph.size(); node++) {
+            // nodes that are not connected to end have no path
+            if (tree.isReachable(node)) {
+                paths.put(graph.getNode(node), graph.reconstructPath(tree.predecessors(), node, endIndex));
+            }
+        }
+
+        return paths;
+    }
+
+    /**
+     * Determines the edges whose duration differs between the given graphs.<p>
+     *
+     * If there are multiple edges between two nodes, only the shortest one is considered.
+     * @param previous The previous {@link CompactRegionGraph}.
+     * @param current The current {@link CompactRegionGraph}.
+     * @return The changed edges or {@code null} if the graphs do not have the same nodes.
+     */
+    private static @Nullable List<EdgeChange> findChanges(CompactRegionGraph previous, CompactRegionGraph current) {
+        if (previous.size() != current.size()) {
+            return null;
+        }
+        for (int node = 0; node < current.size(); node++) {
+            // both graphs are sorted by location, so the same nodes have the same index
+            if (previous.getNode(node).getLocation().getX() != current.getNode(node).getLocation().getX()
+                || previous.getNode(node).getLocation().getY() != current.getNode(node).getLocation().getY()) {
+                return null;
+            }
+        }
+
+        List<EdgeChange> changes = new ArrayList<>();
+        long[] previousDurations = new long[current.size()];
+        long[] currentDurations = new long[current.size()];
+        Arrays.fill(previousDurations, INFINITY);
+        Arrays.fill(currentDurations, INFINITY);
+        for (int u = 0; u < current.size(); u++) {
+            for (int edge = previous.offsets[u]; edge < previous.offsets[u + 1]; edge++) {
+                int v = previous.targets[edge];
+                previousDurations[v] = Math.min(previousDurations[v], previous.durations[edge]);
+            }
+            for (int edge = current.offsets[u]; edge < current.offsets[u + 1]; edge++) {
+                int v = current.targets[edge];
+                currentDurations[v] = Math.min(currentDurations[v], current.durations[edge]);
+            }
+            collectChanges(u, previous, previousDurations, currentDurations, changes);
+            collectChanges(u, current, previousDurations, currentDurations, changes);
+        }
+        return changes;
+    }
+
+    /**
+     * Adds the changed edges from {@code u} to its neighbors in the given graph to {@code changes} and resets the
+     * durations of these neighbors to {@link CompactRegionGraph#INFINITY}.
+     */
+    private static void collectChanges(int u, CompactRegionGraph graph, long[] previousDurations,
+                                       long[] currentDurations, List<EdgeChange> changes) {
+        for (int edge = graph.offsets[u]; edge < graph.offsets[u + 1]; edge++) {
+            int v = graph.targets[edge];
+            // every edge is stored for both nodes, but only needs to be recorded once
+            if (u < v && previousDurations[v] != currentDurations[v]) {
+                changes.add(new EdgeChange(u, v, previousDurations[v], currentDurations[v]));
+            }
+            previousDurations[v] = INFINITY;
+            currentDurations[v] = INFINITY;
+        }
+    }
+
+    /**
+     * Repairs the given shortest path tree after the given edges changed.
+     * @param graph The {@link CompactRegionGraph} that contains the changed edges.
+     * @param tree The shortest path tree to repair.
+     * @param changes The changed edges.
+     */
+    private void repair(CompactRegionGraph graph, CompactRegionGraph.ShortestPathTree tree, List<EdgeChange> changes) {
+        long[] distances = tree.distances();
+        int[] predecessors = tree.predecessors();
+        IndexedMinHeap heap = new IndexedMinHeap(graph.size());
+
+        boolean[] affected = findAffectedNodes(tree, changes);
+        for (int node = 0; node < graph.size(); node++) {
+            if (affected[node]) {
+                distances[node] = INFINITY;
+                predecessors[node] = NO_NODE;
+            }
+        }
+        // reconnect the affected nodes through their unaffected neighbors
+        for (int node = 0; node < graph.size(); node++) {
+            if (!affected[node]) {
+                continue;
+            }
+            for (int edge = graph.offsets[node]; edge < graph.offsets[node + 1]; edge++) {
+                int neighbor = graph.targets[edge];
+                if (!affected[neighbor] && distances[neighbor] != INFINITY
+                    && distances[neighbor] + graph.durations[edge] < distances[node]) {
+                    distances[node] = distances[neighbor] + graph.durations[edge];
+                    predecessors[node] = neighbor;
+                }
+            }
+            if (distances[node] != INFINITY) {
+                heap.insertOrDecrease(node, distances[node]);
+            }
+        }
+        // shorter edges may improve the nodes on both of their sides
+        for (EdgeChange change : changes) {
+            if (change.currentDuration < change.previousDuration) {
+                relax(change.nodeA, change.nodeB, change.currentDuration, distances, predecessors, heap);
+                relax(change.nodeB, change.nodeA, change.currentDuration, distances, predecessors, heap);
+            }
+        }
+
+        long settledNodes = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settledNodes++;
+            for (int edge = graph.offsets[u]; edge < graph.offsets[u + 1]; edge++) {
+                relax(u, graph.targets[edge], graph.durations[edge], distances, predecessors, heap);
+            }
+        }
+        countExpandedNodes(settledNodes);
+    }
+
+    /**
+     * Marks every node whose shortest path uses an edge that became longer or was removed.
+     * @param tree The shortest path tree before the changes.
+     * @param changes The changed edges.
+     * @return An array containing {@code true} for every affected node.
+     */
+    private static boolean[] findAffectedNodes(CompactRegionGraph.ShortestPathTree tree, List<EdgeChange> changes) {
+        int[] predecessors = tree.predecessors();
+        // 0: unknown, 1: affected, 2: not affected
+        byte[] states = new byte[predecessors.length];
+        for (EdgeChange change : changes) {
+            if (change.currentDuration > change.previousDuration) {
+                if (predecessors[change.nodeA] == change.nodeB) {
+                    states[change.nodeA] = 1;
+                }
+                if (predecessors[change.nodeB] == change.nodeA) {
+                    states[change.nodeB] = 1;
+                }
+            }
+        }
+
+        boolean[] affected = new boolean[predecessors.length];
+        int[] stack = new int[predecessors.length];
+        for (int node = 0; node < predecessors.length; node++) {
+            // follow the path towards the root until a node with a known state is found
+            int stackSize = 0;
+            int current = node;
+            while (states[current] == 0 && predecessors[current] != NO_NODE) {
+                stack[stackSize++] = current;
+                current = predecessors[current];
+            }
+            byte state = states[current] == 1 ? 1 : (byte) 2;
+            states[current] = state;
+            while (stackSize > 0) {
+                states[stack[--stackSize]] = state;
+            }
+            affected[node] = states[node] == 1;
+        }
+        return affected;
+    }
+
+    private static void relax(int from, int to, long duration, long[] distances, int[] predecessors,
+                              IndexedMinHeap heap) {
+        if (distances[from] != INFINITY && distances[from] + duration < distances[to]) {
+            distances[to] = distances[from] + duration;
+            predecessors[to] = from;
+            heap.insertOrDecrease(to, distances[to]);
+        }
+    }
+
+    /**
+     * An edge between two nodes whose duration changed.<p>
+     *
+     * An added edge has a previous duration and a removed edge a current duration of
+     * {@link CompactRegionGraph#INFINITY}.
+     *
+     * @param nodeA The index of the first node.
+     * @param nodeB The index of the second node.
+     * @param previousDuration The previous duration of the edge.
+     * @param currentDuration The current duration of the edge.
+     */
+    private record EdgeChange(int nodeA, int nodeB, long previousDuration, long currentDuration) {
+    }
+}
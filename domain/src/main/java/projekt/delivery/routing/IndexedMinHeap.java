@@ -0,0 +1,160 @@
+package projekt.delivery.routing;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap over the integer keys {@code [0, capacity)} with {@code long} priorities and decrease-key.<p>
+ *
+ * Ties are broken by the smaller index, so the order in which elements are polled is deterministic.
+ */
+final class IndexedMinHeap {
+
+    private final int[] heap;
+    private final int[] positions;
+    private final long[] priorities;
+    private int size;
+
+    /**
+     * Creates a new, empty {@link IndexedMinHeap}.
+     * @param capacity The amount of distinct indices this heap can hold.
+     */
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        priorities = new long[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Returns true if this heap contains no elements.
+     * @return True if this heap contains no elements.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the amount of elements in this heap.
+     * @return The amount of elements in this heap.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the given index is currently contained in this heap.
+     * @param index The index to check.
+     * @return True if the given index is currently contained in this heap.
+     */
+    boolean contains(int index) {
+        return positions[index] >= 0;
+    }
+
+    /**
+     * Returns the smallest priority in this heap.
+     * @return The smallest priority in this heap.
+     * @throws NoSuchElementException If this heap is empty.
+     */
+    long peekPriority() {
+        if (size == 0) {
+            throw new NoSuchElementException("heap is empty");
+        }
+        return priorities[heap[0]];
+    }
+
+    /**
+     * Inserts the given index with the given priority or lowers its priority if it is already contained.<p>
+     *
+     * If the index is already contained with a priority that is smaller or equal to the given one, nothing happens.
+     *
+     * @param index    The index to insert.
+     * @param priority The (new) priority of the index.
+     */
+    void insertOrDecrease(int index, long priority) {
+        int position = positions[index];
+        if (position < 0) {
+            position = size++;
+            heap[position] = index;
+            positions[index] = position;
+        } else if (priority >= priorities[index]) {
+            return;
+        }
+        priorities[index] = priority;
+        siftUp(position);
+    }
+
+    /**
+     * Removes and returns the index with the smallest priority.
+     * @return The index with the smallest priority.
+     * @throws NoSuchElementException If this heap is empty.
+     */
+    int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException("heap is empty");
+        }
+        int first = heap[0];
+        positions[first] = -1;
+        if (--size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return first;
+    }
+
+    /**
+     * Removes all elements from this heap.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private boolean less(int a, int b) {
+        long priorityA = priorities[a];
+        long priorityB = priorities[b];
+        return priorityA < priorityB || (priorityA == priorityB && a < b);
+    }
+
+    private void siftUp(int position) {
+        int index = heap[position];
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+            if (!less(index, parent)) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = index;
+        positions[index] = position;
+    }
+
+    private void siftDown(int position) {
+        int index = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int childPosition = 2 * position + 1;
+            int child = heap[childPosition];
+            int rightPosition = childPosition + 1;
+            if (rightPosition < size && less(heap[rightPosition], child)) {
+                childPosition = rightPosition;
+                child = heap[childPosition];
+            }
+            if (!less(child, index)) {
+                break;
+            }
+            heap[position] = child;
+            positions[child] = position;
+            position = childPosition;
+        }
+        heap[position] = index;
+        positions[index] = position;
+    }
+}
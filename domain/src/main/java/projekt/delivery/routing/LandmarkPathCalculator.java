@@ -0,0 +1,185 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static projekt.delivery.routing.CompactRegionGraph.INFINITY;
+
+/**
+ * A {@link PathCalculator} that calculates the shortest path between two nodes using A* with landmarks and the
+ * triangle inequality (ALT) on a {@link CompactRegionGraph}.<p>
+ *
+ * For a fixed amount of landmark nodes, the durations to every other node are precomputed once per {@link Region}.
+ * Since the edges of a {@link Region} are undirected, a single table per landmark serves as forward and backward
+ * distances. By the triangle inequality, the duration from {@code v} to {@code t} is at least
+ * {@code |d(L, t) - d(L, v)|} for every landmark {@code L}, and the largest of these bounds is used as heuristic.
+ * In contrast to the {@link AStarPathCalculator}, this bound does not rely on edge durations that follow the
+ * geometric distance. {@link #getAllPathsTo(Region.Node)} still computes a full shortest path tree.
+ */
+public class LandmarkPathCalculator extends CompactDijkstraPathCalculator {
+
+    private final int landmarkCount;
+    private final LandmarkSelection landmarkSelection;
+    private volatile @Nullable Landmarks landmarks;
+
+    /**
+     * Creates a new {@link LandmarkPathCalculator}.
+     * @param landmarkCount The amount of landmarks to use.
+     * @param landmarkSelection The strategy used to select the landmarks.
+     */
+    public LandmarkPathCalculator(int landmarkCount, LandmarkSelection landmarkSelection) {
+        if (landmarkCount <= 0) {
+            throw new IllegalArgumentException("landmarkCount must be positive");
+        }
+        this.landmarkCount = landmarkCount;
+        this.landmarkSelection = landmarkSelection;
+    }
+
+    /**
+     * Creates a new {@link LandmarkPathCalculator}.<p>
+     * It will use 8 landmarks that are selected by {@link LandmarkSelection#FARTHEST}.
+     */
+    public LandmarkPathCalculator() {
+        this(8, LandmarkSelection.FARTHEST);
+    }
+
+    /**
+     * Returns the {@link Landmarks} of the given {@link CompactRegionGraph} and computes them if necessary.
+     * @param graph The {@link CompactRegionGraph} to return the {@link Landmarks} of.
+     * @return The {@link Landmarks} of the given {@link CompactRegionGraph}.
+     */
+    private Landmarks getLandmarks(CompactRegionGraph graph) {
+        Landmarks landmarks = this.landmarks;
+        if (landmarks == null || landmarks.graph != graph) {
+            landmarks = new Landmarks(graph, landmarkCount, landmarkSelection);
+            this.landmarks = landmarks;
+        }
+        return landmarks;
+    }
+
+    /**
+     * Returns the landmarks selected for the given {@link Region}.
+     * @param region The {@link Region} to return the landmarks of.
+     * @return The landmarks selected for the given {@link Region}.
+     */
+    public List<Region.Node> getLandmarks(Region region) {
+        CompactRegionGraph graph = getGraph(region);
+        return Arrays.stream(getLandmarks(graph).nodes).mapToObj(graph::getNode).toList();
+    }
+
+    /**
+     * Returns the amount of memory used by the distance table of a single landmark of the given {@link Region}.
+     * @param region The {@link Region} to return the memory use for.
+     * @return The size of the distance table of one landmark in bytes.
+     */
+    public long getBytesPerLandmark(Region region) {
+        return (long) getGraph(region).size() * Long.BYTES;
+    }
+
+    @Override
+    CompactRegionGraph.ShortestPathTree search(CompactRegionGraph graph, int start, int end) {
+        Landmarks landmarks = getLandmarks(graph);
+        return graph.shortestPathTree(end, start, node -> landmarks.estimate(node, start));
+    }
+
+    /**
+     * The strategies to select the landmarks of a {@link Region}.
+     */
+    public enum LandmarkSelection {
+
+        /**
+         * Every landmark is the node whose duration to the closest landmark selected so far is the largest.
+         */
+        FARTHEST,
+
+        /**
+         * The {@link Region.Restaurant}s are used as landmarks first, since most paths start or end at one of them.
+         * If there are fewer restaurants than landmarks, the remaining ones are selected like {@link #FARTHEST}.
+         */
+        RESTAURANTS
+    }
+
+    /**
+     * The selected landmarks of a {@link CompactRegionGraph} and their distance tables.
+     */
+    private static class Landmarks {
+
+        private final CompactRegionGraph graph;
+        private final int[] nodes;
+        private final long[][] distances;
+
+        private Landmarks(CompactRegionGraph graph, int landmarkCount, LandmarkSelection selection) {
+            this.graph = graph;
+            int count = Math.min(landmarkCount, graph.size());
+            List<Integer> selected = new ArrayList<>(count);
+            List<long[]> tables = new ArrayList<>(count);
+
+            if (selection == LandmarkSelection.RESTAURANTS) {
+                for (int node = 0; node < graph.size() && selected.size() < count; node++) {
+                    if (graph.getNode(node) instanceof Region.Restaurant) {
+                        selected.add(node);
+                        tables.add(graph.shortestPathTree(node).distances());
+                    }
+                }
+            }
+
+            // the smallest duration of every node to any landmark selected so far
+            long[] closest = new long[graph.size()];
+            Arrays.fill(closest, INFINITY);
+            for (long[] table : tables) {
+                update(closest, table);
+            }
+            if (selected.isEmpty() && count > 0) {
+                // start at the node that is the farthest away from an arbitrary node
+                long[] table = graph.shortestPathTree(0).distances();
+                int first = farthest(table);
+                selected.add(first);
+                tables.add(graph.shortestPathTree(first).distances());
+                update(closest, tables.get(0));
+            }
+            while (selected.size() < count) {
+                int next = farthest(closest);
+                selected.add(next);
+                long[] table = graph.shortestPathTree(next).distances();
+                tables.add(table);
+                update(closest, table);
+            }
+
+            nodes = selected.stream().mapToInt(Integer::intValue).toArray();
+            distances = tables.toArray(long[][]::new);
+        }
+
+        private static void update(long[] closest, long[] table) {
+            for (int node = 0; node < closest.length; node++) {
+                closest[node] = Math.min(closest[node], table[node]);
+            }
+        }
+
+        /**
+         * Returns the node with the largest value in the given table, preferring unreachable nodes.
+         */
+        private static int farthest(long[] table) {
+            int farthest = 0;
+            for (int node = 1; node < table.length; node++) {
+                if (table[node] > table[farthest]) {
+                    farthest = node;
+                }
+            }
+            return farthest;
+        }
+
+        private long estimate(int from, int to) {
+            long estimate = 0;
+            for (long[] table : distances) {
+                // a landmark that cannot reach one of the nodes provides no bound
+                if (table[from] != INFINITY && table[to] != INFINITY) {
+                    estimate = Math.max(estimate, Math.abs(table[to] - table[from]));
+                }
+            }
+            return estimate;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.Location;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A map from coordinates to values that uses open addressing with linear probing.<p>
+ *
+ * The coordinates of a {@link Location} are packed into a single {@code long} (see {@link #key(int, int)}), so lookups
+ * neither depend on {@link Location#hashCode()} nor allocate any objects. Keys and values are stored in two parallel
+ * arrays, removed values are filled by shifting back the following entries of their probe sequence.
+ *
+ * @param <V> The type of the values.
+ */
+final class LocationMap<V> {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 8;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Creates a new, empty {@link LocationMap}.
+     */
+    LocationMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Creates a new, empty {@link LocationMap} that can hold the given amount of values without growing.
+     * @param expectedSize The expected amount of values.
+     */
+    LocationMap(int expectedSize) {
+        // at most three quarters of the slots are used, see put(long, Object)
+        int capacity = Integer.highestOneBit(Math.max(1, expectedSize + expectedSize / 3)) << 1;
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Packs the given coordinates into a single {@code long}.
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The packed coordinates.
+     */
+    static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs the coordinates of the given {@link Location} into a single {@code long}.
+     * @param location The {@link Location}.
+     * @return The packed coordinates.
+     */
+    static long key(Location location) {
+        return key(location.getX(), location.getY());
+    }
+
+    /**
+     * Returns the value mapped to the given packed coordinates.
+     * @param key The packed coordinates, see {@link #key(int, int)}.
+     * @return The mapped value or {@code null}, if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable V get(long key) {
+        int mask = keys.length - 1;
+        for (int i = index(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value mapped to the given {@link Location}.
+     * @param location The {@link Location}.
+     * @return The mapped value or {@code null}, if there is none.
+     */
+    @Nullable V get(Location location) {
+        return get(key(location));
+    }
+
+    /**
+     * Maps the given packed coordinates to the given value.
+     * @param key The packed coordinates, see {@link #key(int, int)}.
+     * @param value The value, must not be {@code null}.
+     * @return The previously mapped value or {@code null}, if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > (keys.length >> 1) + (keys.length >> 2)) {
+            grow();
+        }
+        return null;
+    }
+
+    /**
+     * Maps the given {@link Location} to the given value.
+     * @param location The {@link Location}.
+     * @param value The value, must not be {@code null}.
+     * @return The previously mapped value or {@code null}, if there was none.
+     */
+    @Nullable V put(Location location, V value) {
+        return put(key(location), value);
+    }
+
+    /**
+     * Maps the given {@link Location} to the given value, if it is not mapped yet.
+     * @param location The {@link Location}.
+     * @param value The value, must not be {@code null}.
+     * @return The already mapped value or {@code null}, if the given value was added.
+     */
+    @Nullable V putIfAbsent(Location location, V value) {
+        long key = key(location);
+        V previous = get(key);
+        if (previous == null) {
+            put(key, value);
+        }
+        return previous;
+    }
+
+    /**
+     * Returns true if a value is mapped to the given {@link Location}.
+     * @param location The {@link Location}.
+     * @return True, if a value is mapped to the given {@link Location}.
+     */
+    boolean containsKey(Location location) {
+        return get(key(location)) != null;
+    }
+
+    /**
+     * Removes the value mapped to the given {@link Location}.
+     * @param location The {@link Location}.
+     * @return The removed value or {@code null}, if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable V remove(Location location) {
+        long key = key(location);
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (values[i] == null) {
+            return null;
+        }
+
+        V removed = (V) values[i];
+        int gap = i;
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            // an entry may only be moved to the gap if the gap lies between its home slot and its current slot
+            if (((j - index(keys[j], mask)) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Returns the amount of values in this map.
+     * @return The amount of values in this map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns an unmodifiable {@link List} containing the values of this map in no particular order.
+     * @return The values of this map.
+     */
+    @SuppressWarnings("unchecked")
+    List<V> values() {
+        Object[] result = new Object[size];
+        int j = 0;
+        for (Object value : values) {
+            if (value != null) {
+                result[j++] = value;
+            }
+        }
+        return (List<V>) Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length << 1];
+        values = new Object[oldValues.length << 1];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != null) {
+                int i = index(oldKeys[j], mask);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int index(long key, int mask) {
+        // mix the bits of both coordinates, neighbouring locations would otherwise form long probe sequences
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
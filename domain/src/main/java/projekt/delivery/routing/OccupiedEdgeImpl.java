@@ -16,6 +16,14 @@ class OccupiedEdgeImpl extends AbstractOccupied<Region.Edge> {
         super(edge, vehicleManager);
     }
 
+    /**
+     * Moves the vehicles that reached the end of this edge.<p>
+     *
+     * A {@link VehicleManagerImpl} does not call this method, but moves the vehicles of all edges using a single queue
+     * of departures, so that edges without departing vehicles are not visited at all.
+     *
+     * @param currentTick The current tick.
+     */
     @Override
     public void tick(long currentTick) {
         // it is important to create a copy here. The move method in vehicle will probably modify this map
@@ -26,6 +34,13 @@ class OccupiedEdgeImpl extends AbstractOccupied<Region.Edge> {
         }
     }
 
+    @Override
+    void vehicleAdded(VehicleImpl vehicle, VehicleStats stats) {
+        if (vehicleManager instanceof VehicleManagerImpl vehicleManagerImpl) {
+            vehicleManagerImpl.scheduleDeparture(this, vehicle, stats);
+        }
+    }
+
     @Override
     public void addVehicle(VehicleImpl vehicle, long currentTick) {
         if (vehicles.containsKey(vehicle)) {
@@ -36,10 +51,10 @@ class OccupiedEdgeImpl extends AbstractOccupied<Region.Edge> {
             throw new AssertionError("Vehicle " + vehicle.getId() + " cannot move directly from edge to edge");
         }
         final OccupiedNodeImpl<?> previousNode = (OccupiedNodeImpl<?>) previous;
-        if (previousNode.vehicles.remove(vehicle) == null) {
+        if (previousNode.removeVehicle(vehicle) == null) {
             throw new AssertionError("Vehicle " + vehicle.getId() + " was not found in previous node");
         }
-        vehicles.put(vehicle, new VehicleStats(currentTick, previous));
+        putVehicle(vehicle, new VehicleStats(currentTick, previous));
         vehicle.setOccupied(this);
         vehicleManager.getEventBus().queuePost(ArrivedAtEdgeEvent.of(
                 currentTick,
@@ -2,8 +2,7 @@ package projekt.delivery.routing;
 
 import projekt.delivery.event.ArrivedAtNodeEvent;
 
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 
 class OccupiedNodeImpl<C extends Region.Node> extends AbstractOccupied<C> {
 
@@ -20,8 +19,12 @@ class OccupiedNodeImpl<C extends Region.Node> extends AbstractOccupied<C> {
     public void tick(long currentTick) {
         // it is important to create a copy here. The move method in vehicle will probably modify this map
         // TODO: Only move things that can be moved
-        for (Map.Entry<VehicleImpl, VehicleStats> entry : List.copyOf(vehicles.entrySet())) {
-            entry.getKey().move(currentTick);
+        // the vehicles are moved in the order of their ids, so that the order of the events does not depend on the
+        // hash codes of the vehicles
+        VehicleImpl[] vehicles = this.vehicles.keySet().toArray(VehicleImpl[]::new);
+        Arrays.sort(vehicles);
+        for (VehicleImpl vehicle : vehicles) {
+            vehicle.move(currentTick);
         }
     }
 
@@ -35,10 +38,10 @@ class OccupiedNodeImpl<C extends Region.Node> extends AbstractOccupied<C> {
             throw new AssertionError("Vehicle " + vehicle.getId() + " cannot move directly from node to node");
         }
         final OccupiedEdgeImpl previousEdge = (OccupiedEdgeImpl) previous;
-        if (previousEdge.vehicles.remove(vehicle) == null) {
+        if (previousEdge.removeVehicle(vehicle) == null) {
             throw new AssertionError("Vehicle " + vehicle.getId() + " was not found in previous edge");
         }
-        vehicles.put(vehicle, new VehicleStats(currentTick, previous));
+        putVehicle(vehicle, new VehicleStats(currentTick, previous));
         vehicle.setOccupied(this);
         emitArrivedEvent(vehicle, previousEdge, currentTick);
     }
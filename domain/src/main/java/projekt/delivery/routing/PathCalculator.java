@@ -1,15 +1,23 @@
 package projekt.delivery.routing;
 
+import java.util.Collection;
 import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 
 /**
- * Calculates paths inside a graph.
+ * Calculates paths inside a graph.<p>
+ *
+ * Every returned path belongs to the caller and can be modified without affecting other paths. The {@link Map}
+ * returned by {@link #getAllPathsTo(Region.Node)} may be read-only, and it may return a new path on every lookup.
  */
 public interface PathCalculator {
 
     /**
-     * Calculates the shortest path from {@code start} to {@code end}.
+     * Calculates the shortest path from {@code start} to {@code end}.<p>
+     *
+     * The returned {@link Deque} is not necessarily a {@link List} and may not override {@link Object#equals(Object)},
+     * so a path is compared to an expected one by its nodes, e.g. {@code assertEquals(expected, new ArrayList<>(path))}.
      *
      * @param start The start {@link Region.Node}
      * @param end   The end {@link Region.Node}
@@ -25,4 +33,68 @@ public interface PathCalculator {
      * (excluding start and including end) that represent the path from start to end
      */
     Map<Region.Node, Deque<Region.Node>> getAllPathsTo(Region.Node end);
+
+    /**
+     * Calculates the duration of the shortest path from {@code start} to {@code end}.
+     *
+     * @param start The start {@link Region.Node}
+     * @param end   The end {@link Region.Node}
+     * @return The sum of the durations of all edges on the shortest path from start to end
+     * @throws IllegalArgumentException If there is no path from start to end
+     */
+    default long getDuration(Region.Node start, Region.Node end) {
+        Deque<Region.Node> path = getPath(start, end);
+        if (path == null) {
+            throw new IllegalArgumentException("There is no path from %s to %s".formatted(start, end));
+        }
+        return sumDurations(start, path);
+    }
+
+    /**
+     * Calculates the durations of the shortest paths from every node in {@code sources} to every node in
+     * {@code targets}.<p>
+     *
+     * The durations are calculated with one search per source and the sources are processed in parallel, so
+     * implementations have to be thread-safe.
+     *
+     * @param sources The start {@link Region.Node}s
+     * @param targets The end {@link Region.Node}s
+     * @return A matrix containing the duration from the i-th source to the j-th target in row i and column j, using
+     * the iteration order of both collections. If there is no path, the duration is {@link Long#MAX_VALUE}
+     */
+    default long[][] getDurationMatrix(Collection<? extends Region.Node> sources, Collection<? extends Region.Node> targets) {
+        List<? extends Region.Node> targetList = List.copyOf(targets);
+        // the edges are undirected, so the paths to a source are as long as the paths from it
+        return List.copyOf(sources).parallelStream().map(source -> {
+            Map<Region.Node, Deque<Region.Node>> paths = getAllPathsTo(source);
+            long[] row = new long[targetList.size()];
+            for (int i = 0; i < row.length; i++) {
+                Region.Node target = targetList.get(i);
+                Deque<Region.Node> path = paths.get(target);
+                row[i] = path == null ? Long.MAX_VALUE : sumDurations(target, path);
+            }
+            return row;
+        }).toArray(long[][]::new);
+    }
+
+    /**
+     * Sums up the durations of all edges of the given path.
+     *
+     * @param start The start {@link Region.Node} of the path
+     * @param path  The nodes of the path, excluding start and including the end
+     * @return The sum of the durations of all edges of the path
+     */
+    private static long sumDurations(Region.Node start, Deque<Region.Node> path) {
+        long duration = 0;
+        Region.Node previous = start;
+        for (Region.Node node : path) {
+            Region.Edge edge = previous.getEdge(node);
+            if (edge == null) {
+                throw new IllegalArgumentException("There is no edge between %s and %s".formatted(previous, node));
+            }
+            duration += edge.getDuration();
+            previous = node;
+        }
+        return duration;
+    }
 }
@@ -0,0 +1,317 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link Deque} view of a path that is stored in a shared shortest path tree.<p>
+ *
+ * The nodes are not copied, but found by following the next node of every node until the end of the path is reached.
+ * The shared tree can never be changed through this view. Removing the first node only advances the position of
+ * this view, so that consumers like the move queue of a {@link Vehicle} can use it as a cheap cursor. Any other
+ * modification copies the remaining nodes into an {@link ArrayDeque}, which backs this view from then on.<p>
+ *
+ * A {@link PathView} is equal to every {@link List} and {@link Deque} that contains the same nodes in the same order,
+ * and its hash code is calculated like the one of a {@link List}. Since it is no {@link List} itself,
+ * {@link List#equals(Object)} does not consider it equal, see {@link PathCalculator#getPath(Region.Node, Region.Node)}.
+ */
+final class PathView extends AbstractCollection<Region.Node> implements Deque<Region.Node> {
+
+    private final UnaryOperator<Region.Node> nextNodes;
+    private final Region.Node end;
+    private @Nullable Region.Node first;
+    private int size;
+    private @Nullable ArrayDeque<Region.Node> copy;
+
+    /**
+     * Creates a new {@link PathView}.
+     * @param nextNodes Returns the node following the given node on its path to {@code end}.
+     * @param start The start node of the path, which is not part of the path.
+     * @param end The end node of the path.
+     * @param size The amount of nodes between {@code start} (excluded) and {@code end} (included).
+     */
+    PathView(UnaryOperator<Region.Node> nextNodes, Region.Node start, Region.Node end, int size) {
+        this.nextNodes = nextNodes;
+        this.end = end;
+        this.first = size == 0 ? null : nextNodes.apply(start);
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return copy != null ? copy.size() : size;
+    }
+
+    @Override
+    public Iterator<Region.Node> iterator() {
+        if (copy != null) {
+            return copy.iterator();
+        }
+        return new Iterator<>() {
+
+            private @Nullable Region.Node next = first;
+            private int remaining = size;
+            private int returned;
+            private @Nullable Iterator<Region.Node> copyIterator;
+
+            @Override
+            public boolean hasNext() {
+                return copyIterator != null ? copyIterator.hasNext() : remaining > 0;
+            }
+
+            @Override
+            public Region.Node next() {
+                if (copyIterator != null) {
+                    return copyIterator.next();
+                }
+                if (next == null || remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                Region.Node node = next;
+                remaining--;
+                returned++;
+                next = remaining == 0 ? null : nextNodes.apply(node);
+                return node;
+            }
+
+            @Override
+            public void remove() {
+                if (copyIterator == null) {
+                    if (returned == 0) {
+                        throw new IllegalStateException();
+                    }
+                    // continue on the copy at the same position
+                    copyIterator = copy().iterator();
+                    for (int i = 0; i < returned; i++) {
+                        copyIterator.next();
+                    }
+                }
+                copyIterator.remove();
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Region.Node> descendingIterator() {
+        // the tree only links towards the end, so the nodes have to be collected anyway
+        return copy().descendingIterator();
+    }
+
+    @Override
+    public @Nullable Region.Node peekFirst() {
+        return copy != null ? copy.peekFirst() : first;
+    }
+
+    @Override
+    public @Nullable Region.Node peekLast() {
+        if (copy != null) {
+            return copy.peekLast();
+        }
+        return size == 0 ? null : end;
+    }
+
+    @Override
+    public Region.Node getFirst() {
+        Region.Node node = peekFirst();
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        return node;
+    }
+
+    @Override
+    public Region.Node getLast() {
+        Region.Node node = peekLast();
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        return node;
+    }
+
+    @Override
+    public @Nullable Region.Node pollFirst() {
+        if (copy != null) {
+            return copy.pollFirst();
+        }
+        Region.Node node = first;
+        if (node != null) {
+            size--;
+            first = size == 0 ? null : nextNodes.apply(node);
+        }
+        return node;
+    }
+
+    @Override
+    public Region.Node removeFirst() {
+        Region.Node node = pollFirst();
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        return node;
+    }
+
+    @Override
+    public @Nullable Region.Node peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public Region.Node element() {
+        return getFirst();
+    }
+
+    @Override
+    public @Nullable Region.Node poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public Region.Node remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public Region.Node pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public boolean add(Region.Node node) {
+        return copy().add(node);
+    }
+
+    @Override
+    public void addFirst(Region.Node node) {
+        copy().addFirst(node);
+    }
+
+    @Override
+    public void addLast(Region.Node node) {
+        copy().addLast(node);
+    }
+
+    @Override
+    public boolean offerFirst(Region.Node node) {
+        return copy().offerFirst(node);
+    }
+
+    @Override
+    public boolean offerLast(Region.Node node) {
+        return copy().offerLast(node);
+    }
+
+    @Override
+    public boolean offer(Region.Node node) {
+        return copy().offer(node);
+    }
+
+    @Override
+    public void push(Region.Node node) {
+        copy().push(node);
+    }
+
+    @Override
+    public Region.Node removeLast() {
+        return copy().removeLast();
+    }
+
+    @Override
+    public @Nullable Region.Node pollLast() {
+        return copy().pollLast();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return copy().remove(o);
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        return copy().removeFirstOccurrence(o);
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        return copy().removeLastOccurrence(o);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Region.Node> filter) {
+        return copy().removeIf(filter);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return copy().removeAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return copy().retainAll(c);
+    }
+
+    @Override
+    public void clear() {
+        if (copy != null) {
+            copy.clear();
+        } else {
+            // nothing has to be copied to drop all nodes
+            copy = new ArrayDeque<>();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof List<?>) && !(o instanceof Deque<?>)) {
+            return false;
+        }
+        Collection<?> other = (Collection<?>) o;
+        if (other.size() != size()) {
+            return false;
+        }
+        Iterator<?> otherIterator = other.iterator();
+        for (Region.Node node : this) {
+            if (!node.equals(otherIterator.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (Region.Node node : this) {
+            hashCode = 31 * hashCode + node.hashCode();
+        }
+        return hashCode;
+    }
+
+    /**
+     * Copies the remaining nodes of this view into an {@link ArrayDeque}, which backs this view from then on.
+     * @return The {@link ArrayDeque} backing this view.
+     */
+    private ArrayDeque<Region.Node> copy() {
+        if (copy == null) {
+            ArrayDeque<Region.Node> nodes = new ArrayDeque<>(size);
+            for (Region.Node node = first; nodes.size() < size; node = nextNodes.apply(node)) {
+                nodes.add(node);
+            }
+            copy = nodes;
+            first = null;
+        }
+        return copy;
+    }
+}
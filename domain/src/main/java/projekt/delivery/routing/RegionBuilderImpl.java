@@ -6,7 +6,7 @@ import projekt.base.Location;
 import java.util.*;
 
 class RegionBuilderImpl implements Region.Builder {
-    private final Map<Location, NodeBuilder> nodes = new HashMap<>();
+    private final LocationMap<NodeBuilder> nodes = new LocationMap<>();
     private final Set<EdgeBuilder> edges = new TreeSet<>(
         Comparator.comparing(EdgeBuilder::getLocationA).thenComparing(EdgeBuilder::getLocationB)
     );
@@ -99,8 +99,7 @@ class RegionBuilderImpl implements Region.Builder {
             return false;
         }
 
-        return edges.stream().noneMatch(edgeBuilder -> edgeBuilder.getLocationA().equals(locationA)
-            && edgeBuilder.getLocationB().equals(locationB));
+        return !edges.contains(new EdgeBuilder(name, locationA, locationB));
     }
 
     @Override
@@ -113,8 +112,7 @@ class RegionBuilderImpl implements Region.Builder {
 
         for (NodeBuilder nodeBuilder : nodes.values()) {
             if (nodeBuilder.name.equals(name)) {
-                nodes.remove(nodes.keySet().stream().filter(key -> nodes.get(key).equals(nodeBuilder)).findFirst()
-                    .orElseThrow());
+                nodes.remove(nodeBuilder.location);
                 return this;
             }
         }
@@ -133,10 +131,10 @@ class RegionBuilderImpl implements Region.Builder {
     public Region build() {
         Objects.requireNonNull(distanceCalc, "distanceCalculator");
         RegionImpl region = new RegionImpl(distanceCalc);
-        nodes.forEach((l, n) -> {
+        for (NodeBuilder n : nodes.values()) {
             n.connections = new HashSet<>(); //reset connection to not modify nodes created by previous calls to build()
             region.putNode(n.build(region));
-        });
+        }
         edges.forEach(e -> {
 
             if (!nodes.containsKey(e.getLocationA()) || !nodes.containsKey(e.locationB)) {
@@ -7,11 +7,18 @@ import java.util.Deque;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 import static org.tudalgo.algoutils.student.Student.crash;
 
 public interface Vehicle extends Comparable<Vehicle> {
 
+    /**
+     * The arrival action of moves that do nothing when the destination is reached.
+     */
+    BiConsumer<Vehicle, Long> NO_ARRIVAL_ACTION = (vehicle, tick) -> {
+    };
+
     /**
      * The current {@link Region.Component} that this entity is on.
      *
@@ -40,8 +47,7 @@ public interface Vehicle extends Comparable<Vehicle> {
      * Deletes the entire move queue and moves directly to the provided {@link Region.Node}.
      */
     default void moveDirect(Region.Node node) {
-        moveDirect(node, (v, t) -> {
-        });
+        moveDirect(node, NO_ARRIVAL_ACTION);
     }
 
     void moveDirect(Region.Node node, BiConsumer<? super Vehicle, Long> arrivalAction);
@@ -50,8 +56,7 @@ public interface Vehicle extends Comparable<Vehicle> {
      * Adds the provided {@link Region.Node} to the move queue.
      */
     default void moveQueued(Region.Node node) {
-        moveQueued(node, (v, t) -> {
-        });
+        moveQueued(node, NO_ARRIVAL_ACTION);
     }
 
     /**
@@ -122,4 +127,25 @@ public interface Vehicle extends Comparable<Vehicle> {
          */
         BiConsumer<? super Vehicle, Long> arrivalAction();
     }
+
+    /**
+     * An arrival action that can be transferred to another {@link VehicleManager}, e.g. to a
+     * {@link VehicleManager#fork() fork} or to a simulation a checkpoint is restored into.<p>
+     *
+     * Arrival actions usually capture the {@link VehicleManager} and the {@link ConfirmedOrder}s they act on, which
+     * cannot be replaced afterwards. Only arrival actions that implement this interface, {@link #NO_ARRIVAL_ACTION} and
+     * {@code null} can therefore be transferred, every other arrival action prevents the transfer.
+     */
+    interface RebindableAction extends BiConsumer<Vehicle, Long> {
+
+        /**
+         * Returns an arrival action that does the same as this one, but acts on the given {@link VehicleManager} and
+         * on the copies of the {@link ConfirmedOrder}s this action refers to.
+         * @param vehicleManager The {@link VehicleManager} the returned action is executed in.
+         * @param orders Maps every {@link ConfirmedOrder} of the original {@link VehicleManager} to the corresponding
+         *               {@link ConfirmedOrder} of the given one.
+         * @return The transferred arrival action.
+         */
+        BiConsumer<? super Vehicle, Long> rebind(VehicleManager vehicleManager, UnaryOperator<ConfirmedOrder> orders);
+    }
 }
@@ -4,11 +4,17 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
 
 import static org.tudalgo.algoutils.student.Student.crash;
 
 class VehicleImpl implements Vehicle {
 
+    // the kinds of arrival actions in a checkpoint
+    private static final int ACTION_NONE = 0;
+    private static final int ACTION_NO_OP = 1;
+    private static final int ACTION_REFERENCE = 2;
+
     private final int id;
     private final double capacity;
     private final List<ConfirmedOrder> orders = new ArrayList<>();
@@ -16,6 +22,7 @@ class VehicleImpl implements Vehicle {
     private final Deque<PathImpl> moveQueue = new LinkedList<>();
     private final VehicleManager.OccupiedRestaurant startingNode;
     private AbstractOccupied<?> occupied;
+    private @Nullable PlannedMove plannedMove;
 
     public VehicleImpl(
         int id,
@@ -45,6 +52,14 @@ class VehicleImpl implements Vehicle {
         return new LinkedList<>(moveQueue);
     }
 
+    /**
+     * Returns true if the move queue of this {@link Vehicle} is not empty.
+     * @return True if this {@link Vehicle} is going to move or run an arrival action.
+     */
+    boolean hasMoves() {
+        return !moveQueue.isEmpty();
+    }
+
     void setOccupied(AbstractOccupied<?> occupied) {
         this.occupied = occupied;
     }
@@ -89,6 +104,135 @@ class VehicleImpl implements Vehicle {
         occupied = (AbstractOccupied<?>) startingNode;
         moveQueue.clear();
         orders.clear();
+        plannedMove = null;
+    }
+
+    /**
+     * Copies the position, the orders and the move queue of the given {@link VehicleImpl}, which belongs to the
+     * {@link VehicleManager} this {@link VehicleImpl} was forked from.<p>
+     *
+     * The nodes of every queued path are copied and the arrival actions are rebound to the {@link VehicleManager} of
+     * this {@link VehicleImpl}, see {@link #rebindAction(BiConsumer, VehicleManager, UnaryOperator)}.
+     *
+     * @param vehicle The {@link VehicleImpl} to copy the state of.
+     * @param occupied The forked component the given {@link VehicleImpl} is currently on.
+     * @param orders Maps every order of the original {@link VehicleManager} to its copy.
+     * @throws UnsupportedOperationException If an arrival action cannot be rebound.
+     */
+    void copyState(VehicleImpl vehicle, AbstractOccupied<?> occupied, UnaryOperator<ConfirmedOrder> orders) {
+        List<PathImpl> paths = new ArrayList<>(vehicle.moveQueue.size());
+        for (PathImpl path : vehicle.moveQueue) {
+            paths.add(new PathImpl(new ArrayDeque<>(path.nodes()), rebindAction(path.arrivalAction(), vehicleManager, orders)));
+        }
+        this.occupied = occupied;
+        this.orders.clear();
+        for (ConfirmedOrder order : vehicle.orders) {
+            this.orders.add(orders.apply(order));
+        }
+        moveQueue.clear();
+        moveQueue.addAll(paths);
+    }
+
+    /**
+     * Appends a path to the end of the move queue of this {@link VehicleImpl}.
+     * @param nodes The nodes of the path, see {@link Path#nodes()}.
+     * @param arrivalAction The action to run when the end of the path is reached or {@code null}, if the vehicle
+     *                      should continue with the next path.
+     */
+    void queuePath(Deque<Region.Node> nodes, @Nullable BiConsumer<? super Vehicle, Long> arrivalAction) {
+        moveQueue.add(new PathImpl(nodes, arrivalAction));
+    }
+
+    /**
+     * Removes all paths from the move queue of this {@link VehicleImpl}.
+     */
+    void clearMoveQueue() {
+        moveQueue.clear();
+    }
+
+    /**
+     * Returns an arrival action that does the same as the given one in the given {@link VehicleManager}. Arrival
+     * actions that do not refer to a {@link VehicleManager}, i.e. {@code null} and {@link Vehicle#NO_ARRIVAL_ACTION},
+     * are returned as they are, {@link Vehicle.RebindableAction}s are rebound.
+     * @param action The arrival action to rebind.
+     * @param vehicleManager The {@link VehicleManager} the returned action is executed in.
+     * @param orders Maps every {@link ConfirmedOrder} of the original {@link VehicleManager} to its copy.
+     * @return The rebound arrival action.
+     * @throws UnsupportedOperationException If the arrival action is neither of them.
+     */
+    static @Nullable BiConsumer<? super Vehicle, Long> rebindAction(@Nullable BiConsumer<? super Vehicle, Long> action,
+                                                                   VehicleManager vehicleManager,
+                                                                   UnaryOperator<ConfirmedOrder> orders) {
+        if (action == null || action == NO_ARRIVAL_ACTION) {
+            return action;
+        }
+        if (action instanceof RebindableAction rebindableAction) {
+            return rebindableAction.rebind(vehicleManager, orders);
+        }
+        throw new UnsupportedOperationException(("The arrival action %s cannot be transferred to another vehicle "
+            + "manager, it has to implement Vehicle.RebindableAction").formatted(action));
+    }
+
+    /**
+     * Writes the position, the orders and the move queue of this {@link VehicleImpl} to the given
+     * {@link CheckpointOutput}. Arrival actions other than {@code null} and {@link Vehicle#NO_ARRIVAL_ACTION} are
+     * written as references.
+     * @param out The {@link CheckpointOutput} to write to.
+     */
+    void writeCheckpoint(CheckpointOutput out) {
+        out.writeComponent(occupied.getComponent());
+        out.writeOrders(orders);
+        out.writeInt(moveQueue.size());
+        for (PathImpl path : moveQueue) {
+            out.writeInt(path.nodes().size());
+            for (Region.Node node : path.nodes()) {
+                out.writeComponent(node);
+            }
+            if (path.arrivalAction() == null) {
+                out.writeInt(ACTION_NONE);
+            } else if (path.arrivalAction() == NO_ARRIVAL_ACTION) {
+                out.writeInt(ACTION_NO_OP);
+            } else {
+                out.writeInt(ACTION_REFERENCE);
+                out.writeReference(path.arrivalAction());
+            }
+        }
+    }
+
+    /**
+     * Replaces the position, the orders and the move queue of this {@link VehicleImpl} with the state read from the
+     * given {@link CheckpointInput}. Arrival actions that were written by another {@link VehicleManager} are rebound
+     * to the {@link VehicleManager} of this {@link VehicleImpl}, see
+     * {@link #rebindAction(BiConsumer, VehicleManager, UnaryOperator)}.
+     * @param in The {@link CheckpointInput} to read from.
+     * @param source The {@link VehicleManager} the state was written by or {@code null}, if it is not available.
+     * @throws UnsupportedOperationException If an arrival action is not available or cannot be rebound.
+     */
+    void readCheckpoint(CheckpointInput in, @Nullable VehicleManager source) {
+        occupied = vehicleManager.getAbstractOccupied(in.readComponent());
+        orders.clear();
+        orders.addAll(in.readOrders());
+        clearMoveQueue();
+        for (int i = in.readInt(); i > 0; i--) {
+            Deque<Region.Node> nodes = new ArrayDeque<>();
+            for (int j = in.readInt(); j > 0; j--) {
+                nodes.add((Region.Node) in.readComponent());
+            }
+            queuePath(nodes, readArrivalAction(in, source));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable BiConsumer<? super Vehicle, Long> readArrivalAction(CheckpointInput in, @Nullable VehicleManager source) {
+        return switch (in.readInt()) {
+            case ACTION_NONE -> null;
+            case ACTION_NO_OP -> NO_ARRIVAL_ACTION;
+            case ACTION_REFERENCE -> {
+                BiConsumer<? super Vehicle, Long> action = in.readReference(BiConsumer.class);
+                yield source == vehicleManager ? action : rebindAction(action, vehicleManager, in::restoreOrder);
+            }
+            default -> throw new IllegalArgumentException("The checkpoint is corrupted: invalid arrival action");
+        };
     }
 
     private void checkMoveToNode(Region.Node node) {
@@ -98,7 +242,6 @@ class VehicleImpl implements Vehicle {
     }
 
     void move(long currentTick) {
-        final Region region = vehicleManager.getRegion();
         if (moveQueue.isEmpty()) {
             return;
         }
@@ -113,17 +256,47 @@ class VehicleImpl implements Vehicle {
             }
         } else {
             Region.Node next = path.nodes().peek();
-            if (occupied instanceof OccupiedNodeImpl) {
-                vehicleManager.getOccupied(region.getEdge(((OccupiedNodeImpl<?>) occupied).getComponent(), next)).addVehicle(this, currentTick);
-            } else if (occupied instanceof OccupiedEdgeImpl) {
-                vehicleManager.getOccupied(next).addVehicle(this, currentTick);
+            // a planned move is only used if the vehicle is still where it was planned, an arrival action may have
+            // moved it or changed its path since then
+            AbstractOccupied<?> target = plannedMove != null && plannedMove.from() == occupied && plannedMove.next() == next
+                ? plannedMove.target()
+                : getNextOccupied(next);
+            plannedMove = null;
+            boolean fromEdge = occupied instanceof OccupiedEdgeImpl;
+            target.addVehicle(this, currentTick);
+            if (fromEdge) {
                 path.nodes().pop();
-            } else {
-                throw new AssertionError("Component must be either node or component");
             }
         }
     }
 
+    /**
+     * Looks up the component that the next call of {@link #move(long)} moves this {@link VehicleImpl} to, if it does
+     * not run an arrival action first, and remembers it for that call.<p>
+     *
+     * Only reads the state of this {@link VehicleImpl} and the immutable occupied components of its
+     * {@link VehicleManagerImpl}, so different vehicles can be planned in parallel as long as none of them is moved.
+     */
+    void planMove() {
+        final @Nullable PathImpl path = moveQueue.peek();
+        if (path == null || path.nodes().isEmpty()) {
+            plannedMove = null;
+            return;
+        }
+        Region.Node next = path.nodes().peek();
+        plannedMove = new PlannedMove(occupied, next, getNextOccupied(next));
+    }
+
+    private AbstractOccupied<?> getNextOccupied(Region.Node next) {
+        if (occupied instanceof OccupiedNodeImpl<?> node) {
+            return vehicleManager.getOccupied(vehicleManager.getRegion().getEdge(node.getComponent(), next));
+        } else if (occupied instanceof OccupiedEdgeImpl) {
+            return vehicleManager.getOccupied(next);
+        } else {
+            throw new AssertionError("Component must be either node or component");
+        }
+    }
+
     void loadOrder(ConfirmedOrder order) {
         crash(); // TODO: H5.2 - remove if implemented
     }
@@ -147,6 +320,16 @@ class VehicleImpl implements Vehicle {
             + ')';
     }
 
+    /**
+     * The component a vehicle moves to from the given component if the next node of its path is the given node.
+     * @param from The component the vehicle was on when the move was planned.
+     * @param next The next node of the path of the vehicle when the move was planned.
+     * @param target The component the vehicle moves to.
+     */
+    private record PlannedMove(AbstractOccupied<?> from, Region.Node next, AbstractOccupied<?> target) {
+
+    }
+
     private record PathImpl(Deque<Region.Node> nodes, BiConsumer<? super Vehicle, Long> arrivalAction) implements Path {
 
     }
@@ -102,11 +102,77 @@ public interface VehicleManager {
      */
     List<Event> tick(long currentTick);
 
+    /**
+     * Returns the earliest tick, starting at {@code currentTick}, in which {@link #tick(long)} may move a
+     * {@link Vehicle} or return any {@link Event}, if no {@link Vehicle} is given a new destination before.<p>
+     *
+     * All ticks before the returned one can be skipped without changing the state of this {@link VehicleManager}.
+     * By default, a change is possible in every tick.
+     * @param currentTick The current tick.
+     * @return The earliest tick with a possible change or {@link Long#MAX_VALUE} if there is none.
+     */
+    default long getNextEventTick(long currentTick) {
+        return currentTick;
+    }
+
+    /**
+     * Sets how many tasks of the common {@link java.util.concurrent.ForkJoinPool} may prepare the moves of a tick in
+     * parallel. The moves themselves are still applied one after another, so the state after {@link #tick(long)} and
+     * the returned {@link Event}s do not depend on the parallelism.<p>
+     *
+     * By default, and with a parallelism of 1, ticks are executed entirely by the calling thread. Copies and forks
+     * always start with a parallelism of 1.
+     * @param parallelism The maximum number of parallel tasks.
+     * @throws IllegalArgumentException If the parallelism is not positive.
+     */
+    default void setTickParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+    }
+
     /**
      * Resets this {@link VehicleManager} to its start state.
      */
     void reset();
 
+    /**
+     * Creates a new {@link VehicleManager} in its start state that shares the {@link Region} and the
+     * {@link PathCalculator} of this {@link VehicleManager} and has the same {@link Vehicle}s, i.e. with the same ids,
+     * capacities and starting nodes.<p>
+     *
+     * The copy can be simulated independently of this {@link VehicleManager}, e.g. on another thread, as long as the
+     * {@link PathCalculator} can be used by multiple threads.
+     *
+     * @return The created copy.
+     * @throws UnsupportedOperationException If this {@link VehicleManager} cannot be copied, which is the default.
+     */
+    default VehicleManager copy() {
+        throw new UnsupportedOperationException("%s cannot be copied".formatted(getClass().getName()));
+    }
+
+    /**
+     * Creates a new {@link VehicleManager} in the current state of this {@link VehicleManager}.<p>
+     *
+     * The fork shares the {@link Region} and the {@link PathCalculator}, including its caches, with this
+     * {@link VehicleManager}. Only the mutable state is copied: the occupation of every component, the spawned and
+     * not yet spawned {@link Vehicle}s with their position, move queue and loaded orders. The loaded orders are copied
+     * as well and refer to the {@link OccupiedRestaurant}s of the fork. The arrival actions of the queued moves are
+     * rebound to the fork, see {@link Vehicle.RebindableAction}. The {@link EventBus} of the fork is empty.<p>
+     *
+     * Afterwards, both {@link VehicleManager}s can be ticked independently of each other, e.g. on different threads,
+     * as long as the {@link PathCalculator} can be used by multiple threads.
+     *
+     * @return The created fork.
+     * @throws UnsupportedOperationException If a queued move has an arrival action that cannot be rebound, i.e. one
+     *                                       that is neither {@code null}, {@link Vehicle#NO_ARRIVAL_ACTION} nor a
+     *                                       {@link Vehicle.RebindableAction}, or if this {@link VehicleManager} cannot
+     *                                       be forked, which is the default.
+     */
+    default VehicleManager fork() {
+        throw new UnsupportedOperationException("%s cannot be forked".formatted(getClass().getName()));
+    }
+
     /**
      * Represents an occupied {@link Region.Component} that can be occupied by multiple {@link Vehicle}s.<p>
      * It has a reference to the original {@link Region.Component} which can be accessed via the {@link #getComponent()} method.
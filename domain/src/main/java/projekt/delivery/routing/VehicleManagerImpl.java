@@ -1,33 +1,83 @@
 package projekt.delivery.routing;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.base.Location;
 import projekt.delivery.event.Event;
 import projekt.delivery.event.EventBus;
 import projekt.delivery.event.SpawnEvent;
+import projekt.delivery.simulation.Checkpointable;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import static org.tudalgo.algoutils.student.Student.crash;
 
-class VehicleManagerImpl implements VehicleManager {
+class VehicleManagerImpl implements VehicleManager, Checkpointable {
+
+    // planning fewer moves in a task is slower than looking up the targets while moving
+    private static final int MIN_PLANNED_MOVES_PER_TASK = 64;
 
     final Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> occupiedNodes;
     final Map<Region.Edge, OccupiedEdgeImpl> occupiedEdges;
+    private final LocationMap<OccupiedNodeImpl<? extends Region.Node>> occupiedNodesByLocation;
+    private final List<OccupiedRestaurant> occupiedRestaurants;
+    private final List<OccupiedNeighborhood> occupiedNeighborhoods;
     private final Region region;
     private final PathCalculator pathCalculator;
     private final List<VehicleImpl> vehiclesToSpawn = new ArrayList<>();
     private final List<VehicleImpl> vehicles = new ArrayList<>();
     private final Collection<Vehicle> unmodifiableVehicles = Collections.unmodifiableCollection(vehicles);
     private final EventBus eventBus = new EventBus();
+    private final PriorityQueue<Departure> departures = new PriorityQueue<>(Comparator.comparingLong(Departure::tick));
+    private @Nullable ActiveSet activeNodes;
+    private @Nullable Map<OccupiedEdgeImpl, Integer> edgeIndices;
+    private @Nullable Map<Region.Edge, OccupiedEdgeImpl> indexedEdges;
+    private int tickParallelism = 1;
 
     VehicleManagerImpl(
         Region region,
         PathCalculator pathCalculator
+    ) {
+        this(region, pathCalculator,
+            vehicleManager -> vehicleManager.toOccupiedNodes(region.getNodes()),
+            vehicleManager -> vehicleManager.toOccupiedEdges(region.getEdges()));
+    }
+
+    /**
+     * Creates a new {@link VehicleManagerImpl} whose occupied components are created by the given functions instead of
+     * {@link #toOccupiedNodes(Collection)} and {@link #toOccupiedEdges(Collection)}.
+     * @param region The region of the {@link VehicleManagerImpl}.
+     * @param pathCalculator The {@link PathCalculator} of the {@link VehicleManagerImpl}.
+     * @param occupiedNodes Creates the occupied nodes of the given {@link VehicleManagerImpl}.
+     * @param occupiedEdges Creates the occupied edges of the given {@link VehicleManagerImpl}.
+     */
+    VehicleManagerImpl(
+        Region region,
+        PathCalculator pathCalculator,
+        Function<VehicleManagerImpl, Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>>> occupiedNodes,
+        Function<VehicleManagerImpl, Map<Region.Edge, OccupiedEdgeImpl>> occupiedEdges
     ) {
         this.region = region;
         this.pathCalculator = pathCalculator;
-        occupiedNodes = toOccupiedNodes(region.getNodes());
-        occupiedEdges = toOccupiedEdges(region.getEdges());
+        this.occupiedNodes = occupiedNodes.apply(this);
+        this.occupiedEdges = occupiedEdges.apply(this);
+
+        // the occupied nodes never change, so the lookups by location and type can be computed once
+        occupiedNodesByLocation = new LocationMap<>(this.occupiedNodes.size());
+        for (OccupiedNodeImpl<? extends Region.Node> node : this.occupiedNodes.values()) {
+            occupiedNodesByLocation.put(node.getComponent().getLocation(), node);
+        }
+        occupiedRestaurants = this.occupiedNodes.values().stream()
+            .filter(OccupiedRestaurant.class::isInstance)
+            .map(OccupiedRestaurant.class::cast)
+            .toList();
+        occupiedNeighborhoods = this.occupiedNodes.values().stream()
+            .filter(OccupiedNeighborhood.class::isInstance)
+            .map(OccupiedNeighborhood.class::cast)
+            .toList();
     }
 
     private Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> toOccupiedNodes(Collection<Region.Node> nodes) {
@@ -43,10 +93,11 @@ class VehicleManagerImpl implements VehicleManager {
     }
 
     private OccupiedNodeImpl<? extends Region.Node> getOccupiedNode(Location location) {
-        return occupiedNodes.values().stream()
-            .filter(node -> node.getComponent().getLocation().equals(location))
-            .findFirst()
-            .orElseThrow(() -> new IllegalArgumentException("Could not find node with given predicate"));
+        OccupiedNodeImpl<? extends Region.Node> node = occupiedNodesByLocation.get(location);
+        if (node == null) {
+            throw new IllegalArgumentException("Could not find node with given predicate");
+        }
+        return node;
     }
 
     @Override
@@ -78,10 +129,7 @@ class VehicleManagerImpl implements VehicleManager {
 
     @Override
     public List<OccupiedRestaurant> getOccupiedRestaurants() {
-        return occupiedNodes.values().stream()
-            .filter(OccupiedRestaurant.class::isInstance)
-            .map(OccupiedRestaurant.class::cast)
-            .toList();
+        return occupiedRestaurants;
     }
 
     @Override
@@ -91,10 +139,7 @@ class VehicleManagerImpl implements VehicleManager {
 
     @Override
     public Collection<OccupiedNeighborhood> getOccupiedNeighborhoods() {
-        return occupiedNodes.values().stream()
-            .filter(OccupiedNeighborhood.class::isInstance)
-            .map(OccupiedNeighborhood.class::cast)
-            .toList();
+        return occupiedNeighborhoods;
     }
 
     @Override
@@ -129,15 +174,138 @@ class VehicleManagerImpl implements VehicleManager {
         // For example, a node tick may move a vehicle onto an edge.
         // Ticking this edge afterwards does not move the vehicle further along the edge
         // compared to a vehicle already on the edge.
-        occupiedNodes.values().forEach(occupiedNode -> occupiedNode.tick(currentTick));
-        occupiedEdges.values().forEach(occupiedEdge -> occupiedEdge.tick(currentTick));
+        // Only nodes with vehicles and edges with departing vehicles are ticked, in the same order as all of them
+        // would be
+        List<Departure> due = new ArrayList<>();
+        if (tickParallelism > 1) {
+            pollDepartures(currentTick, due);
+            planMoves(due);
+        }
+        getActiveNodes().tick(currentTick);
+        pollDepartures(currentTick, due);
+        moveDepartingVehicles(currentTick, due);
         return eventBus.popEvents(currentTick);
     }
 
+    @Override
+    public void setTickParallelism(int parallelism) {
+        VehicleManager.super.setTickParallelism(parallelism);
+        tickParallelism = parallelism;
+    }
+
+    /**
+     * Plans the moves of the vehicles on the occupied nodes and of the given departing vehicles in parallel, see
+     * {@link VehicleImpl#planMove()}. The planned moves are applied by the following node and edge ticks in their usual
+     * order, which only skips looking up the targets again.
+     * @param due The departures of the current tick.
+     */
+    private void planMoves(List<Departure> due) {
+        List<VehicleImpl> planned = new ArrayList<>();
+        getActiveNodes().addVehicles(planned);
+        for (Departure departure : due) {
+            planned.add(departure.vehicle());
+        }
+        int tasks = Math.min(tickParallelism, planned.size() / MIN_PLANNED_MOVES_PER_TASK);
+        if (tasks < 2) {
+            return;
+        }
+        List<ForkJoinTask<?>> planners = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            List<VehicleImpl> part = planned.subList(i * planned.size() / tasks, (i + 1) * planned.size() / tasks);
+            planners.add(ForkJoinTask.adapt(() -> part.forEach(VehicleImpl::planMove)));
+        }
+        ForkJoinTask.invokeAll(planners);
+    }
+
+    /**
+     * Removes the departures up to the given tick from {@link #departures} and adds them to the given list.
+     * @param currentTick The current tick.
+     * @param due The list to add the departures to.
+     */
+    private void pollDepartures(long currentTick, List<Departure> due) {
+        while (!departures.isEmpty() && departures.peek().tick() <= currentTick) {
+            due.add(departures.poll());
+        }
+    }
+
+    /**
+     * Moves the vehicles that reached the end of their edge, edge by edge in the iteration order of
+     * {@link #occupiedEdges}, like ticking every {@link OccupiedEdgeImpl} would.
+     * @param currentTick The current tick.
+     * @param due The departures up to the current tick, which were removed from {@link #departures}.
+     */
+    private void moveDepartingVehicles(long currentTick, List<Departure> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+        due.sort(Comparator.comparingInt(Departure::edgeIndex)
+            .thenComparingLong(Departure::tick)
+            .thenComparingInt(departure -> departure.vehicle().getId()));
+        for (Departure departure : due) {
+            if (departure.isStale()) {
+                continue;
+            }
+            departure.vehicle().move(currentTick);
+            if (!departure.isStale()) {
+                // vehicles that could not move yet are tried again in the next tick
+                departures.add(departure);
+            }
+        }
+    }
+
+    /**
+     * Schedules the departure of a vehicle that was put on the given edge at the tick it reaches the end of the edge.
+     * @param edge The edge the vehicle was put on.
+     * @param vehicle The vehicle.
+     * @param stats The {@link AbstractOccupied.VehicleStats} of the vehicle on the edge.
+     */
+    void scheduleDeparture(OccupiedEdgeImpl edge, VehicleImpl vehicle, AbstractOccupied.VehicleStats stats) {
+        departures.add(new Departure(stats.arrived + edge.getComponent().getDuration(), getEdgeIndex(edge), edge, vehicle, stats));
+    }
+
+    @Override
+    public long getNextEventTick(long currentTick) {
+        // a vehicle on a node without any moves stays there
+        if (!vehiclesToSpawn.isEmpty() || eventBus.hasQueuedEvents() || getActiveNodes().hasVehicle(VehicleImpl::hasMoves)) {
+            return currentTick;
+        }
+        // a vehicle leaves an edge as soon as it reached its end
+        while (!departures.isEmpty() && departures.peek().isStale()) {
+            departures.poll();
+        }
+        return departures.isEmpty() ? Long.MAX_VALUE : Math.max(currentTick, departures.peek().tick());
+    }
+
+    private ActiveSet getActiveNodes() {
+        if (activeNodes == null || activeNodes.source != occupiedNodes) {
+            activeNodes = new ActiveSet(occupiedNodes);
+        }
+        return activeNodes;
+    }
+
+    private int getEdgeIndex(OccupiedEdgeImpl edge) {
+        if (edgeIndices == null || indexedEdges != occupiedEdges) {
+            edgeIndices = new IdentityHashMap<>(occupiedEdges.size());
+            for (OccupiedEdgeImpl occupiedEdge : occupiedEdges.values()) {
+                edgeIndices.put(occupiedEdge, edgeIndices.size());
+            }
+            indexedEdges = occupiedEdges;
+        }
+        return edgeIndices.getOrDefault(edge, Integer.MAX_VALUE);
+    }
+
     public void reset() {
         for (AbstractOccupied<?> occupied : getAllOccupied()) {
             occupied.reset();
         }
+        resetVehicles();
+    }
+
+    /**
+     * Resets all vehicles and schedules them to be spawned again. The occupied components have to be reset before.
+     */
+    void resetVehicles() {
+        departures.clear();
 
         for (Vehicle vehicle : getAllVehicles()) {
             vehicle.reset();
@@ -150,6 +318,218 @@ class VehicleManagerImpl implements VehicleManager {
         vehicles.clear();
     }
 
+    @Override
+    public VehicleManager copy() {
+        VehicleManagerImpl copy = createEmpty();
+        // adding the vehicles in the order of their ids assigns the same ids to the copies
+        getAllVehicles().stream()
+            .sorted(Comparator.comparingInt(Vehicle::getId))
+            .forEach(vehicle -> copy.addVehicle(
+                vehicle.getStartingNode().getComponent().getLocation(),
+                vehicle.getCapacity()));
+        return copy;
+    }
+
+    @Override
+    public VehicleManager fork() {
+        VehicleManagerImpl fork = createEmpty();
+
+        Map<VehicleImpl, VehicleImpl> forkedVehicles = new HashMap<>();
+        for (VehicleImpl vehicle : vehicles) {
+            fork.vehicles.add(forkVehicle(vehicle, fork, forkedVehicles));
+        }
+        for (VehicleImpl vehicle : vehiclesToSpawn) {
+            fork.vehiclesToSpawn.add(forkVehicle(vehicle, fork, forkedVehicles));
+        }
+
+        Map<ConfirmedOrder, ConfirmedOrder> forkedOrders = new HashMap<>();
+        UnaryOperator<ConfirmedOrder> orderMapper = order -> forkedOrders.computeIfAbsent(order, o -> new ConfirmedOrder(
+            o, fork.getForkedRestaurant(o.getRestaurant())));
+        for (Map.Entry<VehicleImpl, VehicleImpl> entry : forkedVehicles.entrySet()) {
+            entry.getValue().copyState(entry.getKey(), fork.getForkedOccupied(entry.getKey().getOccupied()), orderMapper);
+        }
+
+        List<AbstractOccupied<?>> occupied = new ArrayList<>(occupiedNodes.values());
+        occupied.addAll(occupiedEdges.values());
+        for (AbstractOccupied<?> original : occupied) {
+            if (original.vehicles.isEmpty()) {
+                continue;
+            }
+            AbstractOccupied<?> forked = fork.getForkedOccupied(original);
+            for (Map.Entry<VehicleImpl, AbstractOccupied.VehicleStats> entry : original.vehicles.entrySet()) {
+                AbstractOccupied.VehicleStats stats = entry.getValue();
+                forked.putVehicle(forkedVehicles.get(entry.getKey()), stats == null ? null : new AbstractOccupied.VehicleStats(
+                    stats.arrived, stats.previous == null ? null : fork.getForkedOccupied(stats.previous)));
+            }
+        }
+
+        return fork;
+    }
+
+    /**
+     * Creates a {@link VehicleManagerImpl} with the region and the {@link PathCalculator} of this one, but without any
+     * vehicles. Used by {@link #copy()} and {@link #fork()}.
+     * @return The created {@link VehicleManagerImpl}.
+     */
+    VehicleManagerImpl createEmpty() {
+        return new VehicleManagerImpl(region, pathCalculator);
+    }
+
+    /**
+     * Creates a vehicle of this {@link VehicleManagerImpl}. Used by {@link #addVehicle(Location, double)} and
+     * {@link #fork()}.
+     * @param id The id of the vehicle.
+     * @param capacity The capacity of the vehicle.
+     * @param startingNode The restaurant the vehicle starts at.
+     * @return The created vehicle.
+     */
+    VehicleImpl createVehicle(int id, double capacity, OccupiedRestaurant startingNode) {
+        return new VehicleImpl(id, capacity, this, startingNode);
+    }
+
+    private static VehicleImpl forkVehicle(VehicleImpl vehicle, VehicleManagerImpl fork, Map<VehicleImpl, VehicleImpl> forkedVehicles) {
+        VehicleImpl forked = fork.createVehicle(
+            vehicle.getId(),
+            vehicle.getCapacity(),
+            fork.getForkedRestaurant(vehicle.getStartingNode()));
+        forkedVehicles.put(vehicle, forked);
+        return forked;
+    }
+
+    /**
+     * Returns the {@link AbstractOccupied} of this {@link VehicleManagerImpl} whose component is the component of the
+     * given {@link Occupied} of the {@link VehicleManagerImpl} this one was forked from.
+     * @param occupied The {@link Occupied} of the original {@link VehicleManagerImpl}.
+     * @return The corresponding {@link AbstractOccupied} of this {@link VehicleManagerImpl}.
+     */
+    private AbstractOccupied<?> getForkedOccupied(Occupied<?> occupied) {
+        return getAbstractOccupied(occupied.getComponent());
+    }
+
+    /**
+     * Returns the {@link AbstractOccupied} of the given component.
+     * @param component The {@link Region.Node} or {@link Region.Edge} to return the {@link AbstractOccupied} of.
+     * @return The {@link AbstractOccupied} of the given component.
+     * @throws IllegalArgumentException If the component is not part of the region.
+     */
+    AbstractOccupied<?> getAbstractOccupied(Region.Component<?> component) {
+        AbstractOccupied<?> occupied = component instanceof Region.Node
+            ? occupiedNodes.get(component)
+            : occupiedEdges.get(component);
+        if (occupied == null) {
+            throw new IllegalArgumentException("Component %s is not part of the region".formatted(component));
+        }
+        return occupied;
+    }
+
+    /**
+     * Returns the {@link OccupiedRestaurant} of this {@link VehicleManagerImpl} whose component is the component of the
+     * given restaurant of the {@link VehicleManagerImpl} this one was forked from.
+     * @param restaurant The restaurant of the original {@link VehicleManagerImpl}.
+     * @return The corresponding {@link OccupiedRestaurant} of this {@link VehicleManagerImpl}.
+     */
+    private OccupiedRestaurant getForkedRestaurant(Occupied<?> restaurant) {
+        return (OccupiedRestaurant) occupiedNodes.get(restaurant.getComponent());
+    }
+
+    @Override
+    public void writeCheckpoint(CheckpointOutput out) {
+        // tells a restore whether the arrival actions have to be rebound
+        out.writeReference(this);
+        out.writeInt(vehicles.size());
+        for (VehicleImpl vehicle : vehicles) {
+            out.writeInt(vehicle.getId());
+            vehicle.writeCheckpoint(out);
+        }
+        out.writeInt(vehiclesToSpawn.size());
+        for (VehicleImpl vehicle : vehiclesToSpawn) {
+            out.writeInt(vehicle.getId());
+            vehicle.writeCheckpoint(out);
+        }
+
+        List<AbstractOccupied<?>> occupied = new ArrayList<>();
+        for (AbstractOccupied<?> node : occupiedNodes.values()) {
+            if (!node.vehicles.isEmpty()) {
+                occupied.add(node);
+            }
+        }
+        for (AbstractOccupied<?> edge : occupiedEdges.values()) {
+            if (!edge.vehicles.isEmpty()) {
+                occupied.add(edge);
+            }
+        }
+        out.writeInt(occupied.size());
+        for (AbstractOccupied<?> component : occupied) {
+            out.writeComponent(component.getComponent());
+            out.writeInt(component.vehicles.size());
+            for (Map.Entry<VehicleImpl, AbstractOccupied.VehicleStats> entry : component.vehicles.entrySet()) {
+                AbstractOccupied.VehicleStats stats = entry.getValue();
+                out.writeInt(entry.getKey().getId());
+                out.writeBoolean(stats != null);
+                if (stats != null) {
+                    out.writeLong(stats.arrived);
+                    out.writeBoolean(stats.previous != null);
+                    if (stats.previous != null) {
+                        out.writeComponent(stats.previous.getComponent());
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void readCheckpoint(CheckpointInput in) {
+        @Nullable VehicleManager source = in.readReference(VehicleManager.class, null);
+        Map<Integer, VehicleImpl> vehiclesById = new HashMap<>();
+        for (VehicleImpl vehicle : vehicles) {
+            vehiclesById.put(vehicle.getId(), vehicle);
+        }
+        for (VehicleImpl vehicle : vehiclesToSpawn) {
+            vehiclesById.put(vehicle.getId(), vehicle);
+        }
+        for (AbstractOccupied<?> node : occupiedNodes.values()) {
+            node.reset();
+        }
+        for (AbstractOccupied<?> edge : occupiedEdges.values()) {
+            edge.reset();
+        }
+        departures.clear();
+
+        vehicles.clear();
+        vehiclesToSpawn.clear();
+        for (List<VehicleImpl> list : List.of(vehicles, vehiclesToSpawn)) {
+            for (int i = in.readInt(); i > 0; i--) {
+                VehicleImpl vehicle = getVehicle(vehiclesById, in.readInt());
+                vehicle.readCheckpoint(in, source);
+                list.add(vehicle);
+            }
+        }
+        if (vehicles.size() + vehiclesToSpawn.size() != vehiclesById.size()) {
+            throw new IllegalArgumentException("The checkpoint does not contain every vehicle");
+        }
+
+        for (int i = in.readInt(); i > 0; i--) {
+            AbstractOccupied<?> component = getAbstractOccupied(in.readComponent());
+            for (int j = in.readInt(); j > 0; j--) {
+                VehicleImpl vehicle = getVehicle(vehiclesById, in.readInt());
+                AbstractOccupied.VehicleStats stats = null;
+                if (in.readBoolean()) {
+                    long arrived = in.readLong();
+                    stats = new AbstractOccupied.VehicleStats(arrived, in.readBoolean() ? getAbstractOccupied(in.readComponent()) : null);
+                }
+                component.putVehicle(vehicle, stats);
+            }
+        }
+    }
+
+    private static VehicleImpl getVehicle(Map<Integer, VehicleImpl> vehiclesById, int id) {
+        VehicleImpl vehicle = vehiclesById.get(id);
+        if (vehicle == null) {
+            throw new IllegalArgumentException("The checkpoint contains the unknown vehicle %d".formatted(id));
+        }
+        return vehicle;
+    }
+
     @SuppressWarnings("UnusedReturnValue")
     Vehicle addVehicle(
         Location startingLocation,
@@ -161,10 +541,9 @@ class VehicleManagerImpl implements VehicleManager {
             throw new IllegalArgumentException("Vehicles can only spawn at restaurants!");
         }
 
-        final VehicleImpl vehicle = new VehicleImpl(
+        final VehicleImpl vehicle = createVehicle(
             vehicles.size() + vehiclesToSpawn.size(),
             capacity,
-            this,
             (OccupiedRestaurant) occupied);
         vehiclesToSpawn.add(vehicle);
         vehicle.setOccupied(occupied);
@@ -174,7 +553,94 @@ class VehicleManagerImpl implements VehicleManager {
     private void spawnVehicle(VehicleImpl vehicle, long currentTick) {
         vehicles.add(vehicle);
         OccupiedRestaurantImpl warehouse = (OccupiedRestaurantImpl) vehicle.getOccupied();
-        warehouse.vehicles.put(vehicle, new AbstractOccupied.VehicleStats(currentTick, null));
+        warehouse.putVehicle(vehicle, new AbstractOccupied.VehicleStats(currentTick, null));
         getEventBus().queuePost(SpawnEvent.of(currentTick, vehicle, warehouse.getComponent()));
     }
+
+    /**
+     * The occupied components of a map that currently contain at least one vehicle.<p>
+     *
+     * Every component is identified by its position in the iteration order of the map, so that ticking the active
+     * components visits them in the same order as iterating over the whole map.
+     */
+    static class ActiveSet {
+
+        private final Map<?, ? extends AbstractOccupied<?>> source;
+        private final AbstractOccupied<?>[] components;
+        private final BitSet occupied;
+
+        private ActiveSet(Map<?, ? extends AbstractOccupied<?>> source) {
+            this.source = source;
+            components = source.values().toArray(AbstractOccupied<?>[]::new);
+            occupied = new BitSet(components.length);
+            for (int i = 0; i < components.length; i++) {
+                components[i].setActiveSet(this, i);
+            }
+        }
+
+        /**
+         * Updates whether the component with the given index contains any vehicles.
+         * @param index The index of the component.
+         * @param isOccupied Whether the component contains any vehicles.
+         */
+        void update(int index, boolean isOccupied) {
+            occupied.set(index, isOccupied);
+        }
+
+        /**
+         * Ticks all components that contain vehicles, including the ones that become occupied while ticking.
+         * @param currentTick The current tick.
+         */
+        private void tick(long currentTick) {
+            for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+                components[i].tick(currentTick);
+            }
+        }
+
+        /**
+         * Adds the vehicles of all components that contain vehicles to the given collection.
+         * @param target The collection to add the vehicles to.
+         */
+        private void addVehicles(Collection<? super VehicleImpl> target) {
+            for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+                target.addAll(components[i].vehicles.keySet());
+            }
+        }
+
+        /**
+         * Returns whether any of the components contains a vehicle that matches the given predicate.
+         * @param predicate The predicate to test the vehicles with.
+         * @return Whether a matching vehicle exists.
+         */
+        private boolean hasVehicle(Predicate<? super VehicleImpl> predicate) {
+            for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+                for (VehicleImpl vehicle : components[i].vehicles.keySet()) {
+                    if (predicate.test(vehicle)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The tick at which a vehicle reaches the end of an edge.
+     * @param tick The tick at which the vehicle can leave the edge.
+     * @param edgeIndex The position of the edge in the iteration order of {@link #occupiedEdges}.
+     * @param edge The edge.
+     * @param vehicle The vehicle.
+     * @param stats The {@link AbstractOccupied.VehicleStats} of the vehicle when it entered the edge.
+     */
+    private record Departure(long tick, int edgeIndex, OccupiedEdgeImpl edge, VehicleImpl vehicle,
+                             AbstractOccupied.VehicleStats stats) {
+
+        /**
+         * Returns whether the vehicle left the edge or entered it again since this departure was scheduled.
+         * @return Whether this departure is outdated.
+         */
+        private boolean isStale() {
+            return edge.vehicles.get(vehicle) != stats;
+        }
+    }
 }
@@ -2,14 +2,17 @@ package projekt.delivery.service;
 
 import projekt.delivery.event.Event;
 import projekt.delivery.event.OrderReceivedEvent;
+import projekt.delivery.routing.CheckpointInput;
+import projekt.delivery.routing.CheckpointOutput;
 import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.simulation.Checkpointable;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-public abstract class AbstractDeliveryService implements DeliveryService {
+public abstract class AbstractDeliveryService implements DeliveryService, Checkpointable {
 
     protected final VehicleManager vehicleManager;
     private final Object lock = new Object();
@@ -47,6 +50,17 @@ public abstract class AbstractDeliveryService implements DeliveryService {
         return tick(currentTick, newOrders);
     }
 
+    /**
+     * Returns true if there are {@link ConfirmedOrder}s that have been delivered but not yet passed to
+     * {@link #tick(long, List)}.
+     * @return True if there are unprocessed {@link ConfirmedOrder}s.
+     */
+    protected boolean hasUnprocessedOrders() {
+        synchronized (lock) {
+            return !unprocessedOrders.isEmpty();
+        }
+    }
+
     @Override
     public VehicleManager getVehicleManager() {
         return vehicleManager;
@@ -58,6 +72,29 @@ public abstract class AbstractDeliveryService implements DeliveryService {
         vehicleManager.reset();
     }
 
+    /**
+     * Writes the unprocessed and the pending {@link ConfirmedOrder}s. The state of the {@link VehicleManager} is not
+     * included.
+     * @param out The {@link CheckpointOutput} to write to.
+     */
+    @Override
+    public void writeCheckpoint(CheckpointOutput out) {
+        synchronized (lock) {
+            out.writeOrders(unprocessedOrders);
+        }
+        out.writeOrders(getPendingOrders());
+    }
+
+    @Override
+    public void readCheckpoint(CheckpointInput in) {
+        synchronized (lock) {
+            unprocessedOrders.clear();
+            unprocessedOrders.addAll(in.readOrders());
+        }
+        getPendingOrders().clear();
+        getPendingOrders().addAll(in.readOrders());
+    }
+
     /**
      * Executes the current tick.
      * @param currentTick The tick to execute.
@@ -1,6 +1,8 @@
 package projekt.delivery.service;
 
 import projekt.delivery.event.*;
+import projekt.delivery.routing.CheckpointInput;
+import projekt.delivery.routing.CheckpointOutput;
 import projekt.delivery.routing.ConfirmedOrder;
 import projekt.delivery.routing.Region;
 import projekt.delivery.routing.Vehicle;
@@ -12,10 +14,14 @@ import java.util.Random;
 
 public class BogoDeliveryService extends AbstractDeliveryService {
 
+    private static final long SEED = 42;
+
     // List of orders that have not yet been loaded onto delivery vehicles
     protected final List<ConfirmedOrder> pendingOrders = new ArrayList<>();
     // List of orders that have not yet been loaded onto delivery vehicles
-    private final Random random = new Random(42);
+    private final Random random = new Random(SEED);
+    // the amount of random nodes drawn from random, which restores its state in a checkpoint
+    private long draws;
     private final List<? extends Region.Node> nodes;
     private final List<Class<? extends Event>> skipInFirstStep = List.of(
         ArrivedAtRestaurantEvent.class,
@@ -32,16 +38,15 @@ public class BogoDeliveryService extends AbstractDeliveryService {
     @Override
     protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
         List<Event> events = vehicleManager.tick(currentTick);
+        EventBatch batch = EventBatch.of(events);
         pendingOrders.addAll(newOrders);
 
         // this is probably not a good solution, but it could theoretically be the best solution
 
-        scheduleRandomMove(events, SpawnEvent.class);
-        scheduleRandomMove(events, ArrivedAtNodeEvent.class);
+        scheduleRandomMove(batch, SpawnEvent.class);
+        scheduleRandomMove(batch, ArrivedAtNodeEvent.class);
 
-        events.stream()
-            .filter(ArrivedAtRestaurantEvent.class::isInstance)
-            .map(ArrivedAtRestaurantEvent.class::cast)
+        batch.of(ArrivedAtRestaurantEvent.class)
             .forEach(e -> {
                 final Vehicle vehicle = e.getVehicle();
                 if (!pendingOrders.isEmpty()) {
@@ -51,9 +56,7 @@ public class BogoDeliveryService extends AbstractDeliveryService {
                 moveToRandomNode(vehicle);
             });
 
-        events.stream()
-            .filter(ArrivedAtNeighborhoodEvent.class::isInstance)
-            .map(ArrivedAtNeighborhoodEvent.class::cast)
+        batch.of(ArrivedAtNeighborhoodEvent.class)
             .forEach(e -> {
                 final Vehicle vehicle = e.getVehicle();
                 final VehicleManager.OccupiedNeighborhood neighborhood = vehicleManager.getOccupiedNeighborhood(e.getNode());
@@ -66,14 +69,18 @@ public class BogoDeliveryService extends AbstractDeliveryService {
         return events;
     }
 
+    @Override
+    public long getNextEventTick(long currentTick) {
+        // this service only reacts to new orders and events of the vehicle manager
+        return hasUnprocessedOrders() ? currentTick : vehicleManager.getNextEventTick(currentTick);
+    }
+
     private void scheduleRandomMove(
-        List<Event> events,
+        EventBatch events,
         Class<? extends VehicleEvent> eventType
     ) {
-        events.stream()
-            .filter(eventType::isInstance)
+        events.of(eventType).stream()
             .filter(e -> !skipInFirstStep.contains(e.getClass()))
-            .map(eventType::cast)
             .forEach(e -> moveToRandomNode(e.getVehicle()));
     }
 
@@ -81,10 +88,34 @@ public class BogoDeliveryService extends AbstractDeliveryService {
         Region.Node node;
         do {
             node = nodes.get(random.nextInt(nodes.size()));
+            draws++;
         } while (vehicle.getOccupied().getComponent().equals(node));
         vehicle.moveDirect(node);
     }
 
+    @Override
+    public void writeCheckpoint(CheckpointOutput out) {
+        super.writeCheckpoint(out);
+        out.writeLong(SEED);
+        out.writeLong(draws);
+    }
+
+    @Override
+    public void readCheckpoint(CheckpointInput in) {
+        super.readCheckpoint(in);
+        long seed = in.readLong();
+        long draws = in.readLong();
+        if (draws < 0) {
+            throw new IllegalArgumentException("The checkpoint is corrupted: negative amount of random nodes");
+        }
+        // every node is drawn with the same bound, so repeating the draws restores the state of random
+        random.setSeed(seed);
+        for (long i = 0; i < draws; i++) {
+            random.nextInt(nodes.size());
+        }
+        this.draws = draws;
+    }
+
     @Override
     public List<ConfirmedOrder> getPendingOrders() {
         return pendingOrders;
@@ -30,6 +30,20 @@ public interface DeliveryService {
      */
     List<Event> tick(long currentTick);
 
+    /**
+     * Returns the earliest tick, starting at {@code currentTick}, in which {@link #tick(long)} may change the state of
+     * this {@link DeliveryService} or return any {@link Event}, if no {@link ConfirmedOrder}s are delivered before.<p>
+     *
+     * All ticks before the returned one can be skipped without changing the outcome of a {@link projekt.delivery.simulation.Simulation}.
+     * By default, every tick is assumed to cause changes.
+     *
+     * @param currentTick The current tick.
+     * @return The earliest tick with a possible change or {@link Long#MAX_VALUE} if there is none.
+     */
+    default long getNextEventTick(long currentTick) {
+        return currentTick;
+    }
+
     /**
      * Returns the underlying {@link VehicleManager}.
      * @return The underlying {@link VehicleManager}.
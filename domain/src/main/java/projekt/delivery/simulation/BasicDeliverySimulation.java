@@ -1,12 +1,17 @@
 package projekt.delivery.simulation;
 
 import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBatch;
 import projekt.delivery.generator.OrderGenerator;
 import projekt.delivery.rating.Rater;
 import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.CheckpointInput;
+import projekt.delivery.routing.CheckpointOutput;
+import projekt.delivery.routing.VehicleManager;
 import projekt.delivery.service.DeliveryService;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 public class BasicDeliverySimulation implements Simulation {
 
@@ -23,6 +28,17 @@ public class BasicDeliverySimulation implements Simulation {
     protected List<Event> lastEvents;
     protected boolean isRunning = false;
     private SimulationListener endSimulationListener;
+    private volatile long startTime;
+    private volatile long endTime = -1;
+    private volatile long pausedTime;
+    private final TickStatistics tickStatistics = new TickStatistics();
+    private final TickScheduler tickScheduler;
+    private final List<Event> skippedRenderEvents = new ArrayList<>();
+    private long startTick;
+    private long checkpointInterval;
+    private long nextCheckpointTick;
+    private Consumer<SimulationCheckpoint> checkpointHandler;
+    private RaterHistory raterHistory;
 
     /**
      * Creates a new {@link BasicDeliverySimulation} instance.
@@ -40,44 +56,88 @@ public class BasicDeliverySimulation implements Simulation {
         this.raterFactoryMap = raterFactoryMap;
         this.orderGeneratorFactory = orderGeneratorFactory;
         this.deliveryService = deliveryService;
+        tickScheduler = new TickScheduler(simulationConfig, tickStatistics);
     }
 
+    /**
+     * {@inheritDoc}<p>
+     *
+     * The simulation is also terminated when the current thread is interrupted. The interrupt status of the thread is
+     * kept, so that the caller can notice the interruption.
+     */
     @Override
     public void runSimulation() {
         setupNewSimulation();
+        runLoop();
+    }
+
+    /**
+     * Restores the state of the given {@link SimulationCheckpoint} and runs the simulation from there on.
+     * @param checkpoint The {@link SimulationCheckpoint} to resume from.
+     * @see #restoreCheckpoint(SimulationCheckpoint)
+     */
+    public void resumeSimulation(SimulationCheckpoint checkpoint) {
+        restoreCheckpoint(checkpoint);
+        runLoop();
+    }
+
+    /**
+     * Restores the state of the given {@link SimulationCheckpoint} and runs the simulation until the given tick
+     * has been reached.
+     * @param checkpoint The {@link SimulationCheckpoint} to resume from.
+     * @param simulationLength The amount of ticks after which the simulation ends, counted from the first tick.
+     * @see #restoreCheckpoint(SimulationCheckpoint)
+     */
+    public void resumeSimulation(SimulationCheckpoint checkpoint, long simulationLength) {
+        this.simulationLength = simulationLength;
+        resumeSimulation(checkpoint);
+    }
+
+    private void runLoop() {
         isRunning = true;
 
-        while (!terminationRequested && (simulationLength == -1 || currentTick < simulationLength)) {
+        while (!terminationRequested && !Thread.currentThread().isInterrupted()
+            && (simulationLength == -1 || currentTick < simulationLength)) {
             if (simulationConfig.isPaused()) {
+                long pauseStartTime = System.nanoTime();
                 try {
-                    //noinspection BusyWait
-                    Thread.sleep(50);
+                    simulationConfig.awaitUnpaused(() -> terminationRequested);
                 } catch (InterruptedException e) {
-                    e.printStackTrace();
+                    // an interrupted simulation terminates
+                    Thread.currentThread().interrupt();
+                    break;
                 }
+                pausedTime += System.nanoTime() - pauseStartTime;
+                // the time in which the simulation was paused is not caught up
+                tickScheduler.reset();
                 continue;
             }
-            long tickStartTime = System.currentTimeMillis();
-
-            runCurrentTick();
+            if (simulationConfig.isEventDriven() && skipIdleTicks()) {
+                continue;
+            }
+            if (simulationConfig.isHeadless()) {
+                runCurrentTick();
+                // the timeline continues from the current time once the simulation is no longer headless
+                tickScheduler.reset();
+                continue;
+            }
+            int ticks;
+            try {
+                ticks = tickScheduler.awaitTicks();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
 
-            // Wait till next tick is due.
-            long executionTime = System.currentTimeMillis() - tickStartTime;
-            long millisTillNextTick = simulationConfig.getMillisecondsPerTick() - executionTime;
-            if (millisTillNextTick < 0) {
-                System.out.println("\033[0;33m"); //make text yellow
-                System.out.println("WARNING: Can't keep up! Did the system time change, or is the server overloaded?");
-                System.out.println("\033[0m"); // reset text color
-            } else {
-                try {
-                    //noinspection BusyWait
-                    Thread.sleep(millisTillNextTick);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+            boolean skipRendering = simulationConfig.getCatchUpPolicy() == CatchUpPolicy.SKIP_RENDERING;
+            for (int i = 0; i < ticks && !terminationRequested && !simulationConfig.isPaused()
+                && (simulationLength == -1 || currentTick < simulationLength); i++) {
+                runTick(!skipRendering || i == ticks - 1);
             }
+            renderSkippedTicks();
         }
 
+        endTime = System.nanoTime();
         simulationLength = -1;
         isRunning = false;
     }
@@ -91,6 +151,8 @@ public class BasicDeliverySimulation implements Simulation {
     @Override
     public void endSimulation() {
         terminationRequested = true;
+        // a paused simulation has to notice the termination
+        simulationConfig.wakeUp();
     }
 
     @Override
@@ -123,16 +185,227 @@ public class BasicDeliverySimulation implements Simulation {
         return currentTick;
     }
 
+    /**
+     * Returns the amount of ticks per second achieved by the current or the last run of this
+     * {@link BasicDeliverySimulation}. The time in which the simulation was paused is not taken into account.
+     * @return The achieved ticks per second or {@code 0} if this {@link BasicDeliverySimulation} has never been run.
+     */
+    public double getTicksPerSecond() {
+        long endTime = this.endTime == -1 ? System.nanoTime() : this.endTime;
+        long runTime = endTime - startTime - pausedTime;
+        return runTime <= 0 ? 0 : (currentTick - startTick) * 1e9 / runTime;
+    }
+
+    /**
+     * Returns the statistics about how accurately the ticks of this {@link BasicDeliverySimulation} keep to the
+     * configured tick length. The statistics are reset whenever a new simulation is started.
+     * @return The {@link TickStatistics} of this {@link BasicDeliverySimulation}.
+     */
+    public TickStatistics getTickStatistics() {
+        return tickStatistics;
+    }
+
     @Override
     public void runCurrentTick() {
+        runTick(true);
+    }
+
+    /**
+     * Executes the current tick.
+     * @param render Whether the {@link SimulationListener}s that are renderers should be notified. If not, the
+     *               {@link Event}s of the tick are collected and passed to them with the next rendered tick.
+     */
+    private void runTick(boolean render) {
         getDeliveryService().deliver(currentOrderGenerator.generateOrders(getCurrentTick()));
-        lastEvents = Collections.unmodifiableList(deliveryService.tick(getCurrentTick()));
+        lastEvents = EventBatch.of(deliveryService.tick(getCurrentTick()));
 
+        List<Event> renderedEvents = lastEvents;
+        if (!render) {
+            skippedRenderEvents.addAll(lastEvents);
+        } else if (!skippedRenderEvents.isEmpty()) {
+            skippedRenderEvents.addAll(lastEvents);
+            renderedEvents = EventBatch.of(skippedRenderEvents);
+            skippedRenderEvents.clear();
+        }
         for (SimulationListener listener : listeners) {
-            listener.onTick(lastEvents, getCurrentTick());
+            if (!listener.isRenderer()) {
+                listener.onTick(lastEvents, getCurrentTick());
+            } else if (render) {
+                listener.onTick(renderedEvents, getCurrentTick());
+            }
         }
 
         currentTick++;
+        checkpointIfDue();
+    }
+
+    /**
+     * Notifies the renderers about the {@link Event}s of ticks that were executed without rendering, in case the
+     * simulation stopped catching up before the last of them was rendered.
+     */
+    private void renderSkippedTicks() {
+        if (skippedRenderEvents.isEmpty()) {
+            return;
+        }
+        List<Event> events = EventBatch.of(skippedRenderEvents);
+        skippedRenderEvents.clear();
+        for (SimulationListener listener : listeners) {
+            if (listener.isRenderer()) {
+                listener.onTick(events, getCurrentTick() - 1);
+            }
+        }
+    }
+
+    /**
+     * Skips all ticks, starting at the current tick, in which no order is generated and the {@link DeliveryService}
+     * does not change.
+     * @return True, if at least one tick has been skipped.
+     */
+    private boolean skipIdleTicks() {
+        long lastTick = simulationLength == -1 ? Long.MAX_VALUE : simulationLength;
+        long limit = Math.min(lastTick, deliveryService.getNextEventTick(currentTick));
+        long tick = currentTick;
+        while (tick < limit) {
+            long nextOrderTick = currentOrderGenerator.getNextOrderTick(tick);
+            if (nextOrderTick > tick) {
+                tick = Math.min(nextOrderTick, limit);
+            } else if (currentOrderGenerator.generateOrders(tick).isEmpty()) {
+                tick++;
+            } else {
+                break;
+            }
+        }
+        // without any further changes, an endless simulation keeps running tick by tick
+        if (tick == currentTick || tick == Long.MAX_VALUE) {
+            return false;
+        }
+
+        lastEvents = EventBatch.empty();
+        for (SimulationListener listener : listeners) {
+            listener.onIdleTicks(currentTick, tick);
+        }
+        currentTick = tick;
+        checkpointIfDue();
+        return true;
+    }
+
+    /**
+     * Sets the handler that receives a {@link SimulationCheckpoint} of this {@link BasicDeliverySimulation}
+     * periodically while it is running. The checkpoints are created between two ticks on the thread of the simulation.
+     * @param interval The amount of ticks between two checkpoints. If ticks are skipped, the checkpoint is created
+     *                 after the first tick that is at least this many ticks after the last checkpoint.
+     * @param checkpointHandler The handler that receives the checkpoints or {@code null} to stop creating checkpoints.
+     */
+    public void setCheckpointHandler(long interval, Consumer<SimulationCheckpoint> checkpointHandler) {
+        if (checkpointHandler != null && interval < 1) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        this.checkpointInterval = interval;
+        this.checkpointHandler = checkpointHandler;
+        nextCheckpointTick = currentTick + interval;
+    }
+
+    private void checkpointIfDue() {
+        if (checkpointHandler != null && currentTick >= nextCheckpointTick) {
+            nextCheckpointTick = currentTick + checkpointInterval;
+            checkpointHandler.accept(createCheckpoint());
+        }
+    }
+
+    /**
+     * Creates a {@link SimulationCheckpoint} of the current state of this {@link BasicDeliverySimulation}.<p>
+     *
+     * This method must not be called while a tick is executed, e.g. from a {@link SimulationListener}, since the
+     * {@link Rater}s might not have processed the tick yet. Use {@link #setCheckpointHandler(long, Consumer)} to create
+     * checkpoints of a running simulation.<p>
+     *
+     * {@link Rater}s that implement {@link Checkpointable} store their own state. For all other {@link Rater}s, the
+     * {@link Event}s they have observed are stored, which are replayed to the new {@link Rater}s when the checkpoint
+     * is restored. These {@link Event}s are recorded in a compact format from the start of the simulation on.
+     * @return The created {@link SimulationCheckpoint}.
+     * @throws UnsupportedOperationException If the {@link DeliveryService} or its {@link VehicleManager} does not
+     *                                       implement {@link Checkpointable}.
+     */
+    public SimulationCheckpoint createCheckpoint() {
+        CheckpointOutput out = new CheckpointOutput();
+        getCheckpointable(deliveryService).writeCheckpoint(out);
+        getCheckpointable(deliveryService.getVehicleManager()).writeCheckpoint(out);
+
+        List<RatingCriteria> criteria = new ArrayList<>(currentRaterMap.keySet());
+        Collections.sort(criteria);
+        out.writeInt(criteria.size());
+        for (RatingCriteria criterion : criteria) {
+            out.writeInt(criterion.ordinal());
+            if (currentRaterMap.get(criterion) instanceof Checkpointable rater) {
+                out.writeBoolean(true);
+                rater.writeCheckpoint(out);
+            } else {
+                out.writeBoolean(false);
+            }
+        }
+        out.writeBoolean(raterHistory != null);
+        if (raterHistory != null) {
+            raterHistory.writeCheckpoint(out);
+        }
+
+        return new SimulationCheckpoint(currentTick, out.toByteArray(), out.getReferences(), out.getOrders());
+    }
+
+    /**
+     * Restores the state of the given {@link SimulationCheckpoint}. The {@link DeliveryService} of this
+     * {@link BasicDeliverySimulation} has to be based on the same {@link projekt.delivery.routing.Region} and
+     * {@link VehicleManager} as the one of the {@link BasicDeliverySimulation} the checkpoint was created from.<p>
+     *
+     * This method must not be called while the simulation is running.
+     * @param checkpoint The {@link SimulationCheckpoint} to restore.
+     * @throws IllegalArgumentException If the checkpoint does not match this {@link BasicDeliverySimulation}.
+     * @throws UnsupportedOperationException If the {@link DeliveryService} or its {@link VehicleManager} does not
+     *                                       implement {@link Checkpointable} or if a queued move has an arrival
+     *                                       action that is not available, because the checkpoint has been read from a
+     *                                       stream, or cannot be rebound to the {@link VehicleManager} of this
+     *                                       {@link BasicDeliverySimulation}.
+     */
+    public void restoreCheckpoint(SimulationCheckpoint checkpoint) {
+        setupNewSimulation();
+
+        VehicleManager vehicleManager = deliveryService.getVehicleManager();
+        CheckpointInput in = new CheckpointInput(checkpoint.getData(), checkpoint.getReferences(), checkpoint.getOrders(),
+            vehicleManager);
+        getCheckpointable(deliveryService).readCheckpoint(in);
+        getCheckpointable(vehicleManager).readCheckpoint(in);
+
+        int raterCount = in.readInt();
+        if (raterCount != currentRaterMap.size()) {
+            throw new IllegalArgumentException("The checkpoint does not contain the raters of this simulation");
+        }
+        for (int i = 0; i < raterCount; i++) {
+            int ordinal = in.readInt();
+            Rater rater = ordinal >= 0 && ordinal < RatingCriteria.values().length
+                ? currentRaterMap.get(RatingCriteria.values()[ordinal]) : null;
+            if (rater == null || in.readBoolean() != rater instanceof Checkpointable) {
+                throw new IllegalArgumentException("The checkpoint does not contain the raters of this simulation");
+            }
+            if (rater instanceof Checkpointable checkpointable) {
+                checkpointable.readCheckpoint(in);
+            }
+        }
+        if (in.readBoolean() != (raterHistory != null)) {
+            throw new IllegalArgumentException("The checkpoint does not contain the raters of this simulation");
+        }
+        if (raterHistory != null) {
+            raterHistory.readCheckpoint(in);
+        }
+
+        currentTick = checkpoint.getTick();
+        startTick = currentTick;
+        nextCheckpointTick = currentTick + checkpointInterval;
+    }
+
+    private static Checkpointable getCheckpointable(Object object) {
+        if (!(object instanceof Checkpointable checkpointable)) {
+            throw new UnsupportedOperationException("%s does not support checkpoints".formatted(object.getClass().getName()));
+        }
+        return checkpointable;
     }
 
     @Override
@@ -152,10 +425,18 @@ public class BasicDeliverySimulation implements Simulation {
 
     private void setupNewSimulation() {
         currentTick = 0;
+        startTick = 0;
+        nextCheckpointTick = checkpointInterval;
         terminationRequested = false;
-        lastEvents = new ArrayList<>();
+        lastEvents = EventBatch.empty();
         removeListener(endSimulationListener);
         getDeliveryService().reset();
+        startTime = System.nanoTime();
+        endTime = -1;
+        pausedTime = 0;
+        skippedRenderEvents.clear();
+        tickStatistics.reset();
+        tickScheduler.reset();
         setupRaters();
         setupOrderGenerator();
     }
@@ -164,13 +445,24 @@ public class BasicDeliverySimulation implements Simulation {
         for (Rater rater : currentRaterMap.values()) {
             removeListener(rater);
         }
+        removeListener(raterHistory);
 
         currentRaterMap.clear();
 
+        List<Rater> recordedRaters = new ArrayList<>();
         for (RatingCriteria criterion : raterFactoryMap.keySet()) {
             Rater rater = raterFactoryMap.get(criterion).create();
             addListener(rater);
             currentRaterMap.put(criterion, rater);
+            if (!(rater instanceof Checkpointable)) {
+                recordedRaters.add(rater);
+            }
+        }
+
+        // the events are only recorded for raters that cannot store their state in a checkpoint themselves
+        raterHistory = recordedRaters.isEmpty() ? null : new RaterHistory(recordedRaters);
+        if (raterHistory != null) {
+            addListener(raterHistory);
         }
     }
 
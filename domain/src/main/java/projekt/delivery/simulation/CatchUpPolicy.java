@@ -0,0 +1,28 @@
+package projekt.delivery.simulation;
+
+/**
+ * Determines how a {@link BasicDeliverySimulation} handles ticks that could not be started in time, because the
+ * previous ticks took longer than the configured length of a tick.
+ *
+ * @see SimulationConfig#setCatchUpPolicy(CatchUpPolicy)
+ */
+public enum CatchUpPolicy {
+
+    /**
+     * The missed ticks are executed back to back, but {@link SimulationListener}s that only display the simulation
+     * (see {@link SimulationListener#isRenderer()}) are notified once with the {@link projekt.delivery.event.Event}s of
+     * all caught up ticks.
+     */
+    SKIP_RENDERING,
+
+    /**
+     * The missed ticks are executed back to back and every {@link SimulationListener} is notified after each tick.
+     */
+    BATCH,
+
+    /**
+     * The missed ticks are not caught up. The timeline is moved forward, so the simulation continues with the
+     * configured tick length from the current time on and runs slower than configured.
+     */
+    DROP_FRAMES
+}
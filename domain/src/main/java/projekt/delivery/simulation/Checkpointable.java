@@ -0,0 +1,26 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.routing.CheckpointInput;
+import projekt.delivery.routing.CheckpointOutput;
+
+/**
+ * A part of a {@link Simulation} whose state can be stored in a {@link SimulationCheckpoint} and restored from it.<p>
+ *
+ * {@link #readCheckpoint(CheckpointInput)} has to read exactly the values that were written by
+ * {@link #writeCheckpoint(CheckpointOutput)}, in the same order.
+ */
+public interface Checkpointable {
+
+    /**
+     * Writes the current state of this object to the given {@link CheckpointOutput}.
+     * @param out The {@link CheckpointOutput} to write to.
+     */
+    void writeCheckpoint(CheckpointOutput out);
+
+    /**
+     * Replaces the current state of this object with the state read from the given {@link CheckpointInput}.
+     * @param in The {@link CheckpointInput} to read from.
+     * @throws IllegalArgumentException If the checkpoint is corrupted or does not match this object.
+     */
+    void readCheckpoint(CheckpointInput in);
+}
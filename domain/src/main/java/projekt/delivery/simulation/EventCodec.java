@@ -0,0 +1,213 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.event.*;
+import projekt.delivery.routing.CheckpointInput;
+import projekt.delivery.routing.CheckpointOutput;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.Vehicle;
+import projekt.delivery.routing.VehicleManager;
+
+import java.util.*;
+
+/**
+ * Encodes the {@link Event}s of the ticks of a {@link Simulation} as blocks in a compact binary format and replays
+ * them to {@link SimulationListener}s.<p>
+ *
+ * There is one block for every executed tick and for every range of skipped ticks. Every {@link Event} of a tick is
+ * stored as a type tag, its tick relative to the tick of the block, the id of its {@link Vehicle}, the locations of
+ * its components and its {@link ConfirmedOrder}. An order is stored completely only the first time it occurs in the
+ * blocks of an {@link EventCodec}, so the blocks have to be replayed in the order they were encoded in, using the same
+ * {@link CheckpointInput}. {@link Event}s of unknown types are stored as plain {@link VehicleEvent}s or
+ * {@link Event}s.
+ *
+ * @see EventJournal
+ */
+final class EventCodec {
+
+    private static final byte TICK = 0;
+    private static final byte IDLE_TICKS = 1;
+
+    private static final byte EVENT = 0;
+    private static final byte VEHICLE_EVENT = 1;
+    private static final byte SPAWN = 2;
+    private static final byte ARRIVED_AT_NODE = 3;
+    private static final byte ARRIVED_AT_RESTAURANT = 4;
+    private static final byte ARRIVED_AT_NEIGHBORHOOD = 5;
+    private static final byte ARRIVED_AT_EDGE = 6;
+    private static final byte ORDER_RECEIVED = 7;
+    private static final byte LOAD_ORDER = 8;
+    private static final byte DELIVER_ORDER = 9;
+
+    private final CheckpointOutput out = new CheckpointOutput();
+
+    /**
+     * Encodes the {@link Event}s of an executed tick.
+     * @param events The {@link Event}s of the tick.
+     * @param tick The executed tick.
+     * @return The encoded block.
+     */
+    byte[] encodeTick(List<Event> events, long tick) {
+        out.writeInt(TICK);
+        out.writeLong(tick);
+        out.writeInt(events.size());
+        for (Event event : events) {
+            writeEvent(event, tick);
+        }
+        return out.drain();
+    }
+
+    /**
+     * Encodes a range of skipped ticks.
+     * @param from The first skipped tick.
+     * @param to The tick after the last skipped tick.
+     * @return The encoded block.
+     */
+    byte[] encodeIdleTicks(long from, long to) {
+        out.writeInt(IDLE_TICKS);
+        out.writeLong(from);
+        out.writeLong(to);
+        return out.drain();
+    }
+
+    private void writeEvent(Event event, long tick) {
+        if (event instanceof DeliverOrderEvent deliverOrderEvent) {
+            writeVehicleEvent(DELIVER_ORDER, deliverOrderEvent, tick);
+            out.writeLocation(deliverOrderEvent.getNode().getLocation());
+            out.writeOrder(deliverOrderEvent.getOrder());
+        } else if (event instanceof LoadOrderEvent loadOrderEvent) {
+            writeVehicleEvent(LOAD_ORDER, loadOrderEvent, tick);
+            out.writeOrder(loadOrderEvent.getOrder());
+            out.writeLocation(loadOrderEvent.getRestaurant().getLocation());
+        } else if (event instanceof ArrivedAtNodeEvent arrivedAtNodeEvent) {
+            byte type = event instanceof ArrivedAtRestaurantEvent ? ARRIVED_AT_RESTAURANT
+                : event instanceof ArrivedAtNeighborhoodEvent ? ARRIVED_AT_NEIGHBORHOOD
+                : ARRIVED_AT_NODE;
+            writeVehicleEvent(type, arrivedAtNodeEvent, tick);
+            out.writeLocation(arrivedAtNodeEvent.getNode().getLocation());
+            out.writeComponent(arrivedAtNodeEvent.getLastEdge());
+        } else if (event instanceof ArrivedAtEdgeEvent arrivedAtEdgeEvent) {
+            writeVehicleEvent(ARRIVED_AT_EDGE, arrivedAtEdgeEvent, tick);
+            out.writeComponent(arrivedAtEdgeEvent.getEdge());
+            out.writeLocation(arrivedAtEdgeEvent.getLastNode().getLocation());
+        } else if (event instanceof SpawnEvent spawnEvent) {
+            writeVehicleEvent(SPAWN, spawnEvent, tick);
+            out.writeLocation(spawnEvent.getNode().getLocation());
+        } else if (event instanceof VehicleEvent vehicleEvent) {
+            writeVehicleEvent(VEHICLE_EVENT, vehicleEvent, tick);
+        } else if (event instanceof OrderReceivedEvent orderReceivedEvent) {
+            writeEventHeader(ORDER_RECEIVED, event, tick);
+            out.writeOrder(orderReceivedEvent.getOrder());
+        } else {
+            writeEventHeader(EVENT, event, tick);
+        }
+    }
+
+    private void writeVehicleEvent(byte type, VehicleEvent event, long tick) {
+        writeEventHeader(type, event, tick);
+        out.writeInt(event.getVehicle().getId());
+    }
+
+    private void writeEventHeader(byte type, Event event, long tick) {
+        out.writeInt(type);
+        out.writeLong(event.getTick() - tick);
+    }
+
+    /**
+     * Returns the {@link Vehicle}s of the given {@link VehicleManager} by their id, as needed by
+     * {@link #replayBlock(CheckpointInput, Map, Collection)}.
+     * @param vehicleManager The {@link VehicleManager}.
+     * @return The {@link Vehicle}s by their id.
+     */
+    static Map<Integer, Vehicle> getVehiclesById(VehicleManager vehicleManager) {
+        Map<Integer, Vehicle> vehicles = new HashMap<>();
+        for (Vehicle vehicle : vehicleManager.getAllVehicles()) {
+            vehicles.put(vehicle.getId(), vehicle);
+        }
+        return vehicles;
+    }
+
+    /**
+     * Decodes the block the given {@link CheckpointInput} has been set to and notifies the given
+     * {@link SimulationListener}s like the {@link Simulation} it was recorded from did.
+     * @param in The {@link CheckpointInput} containing the block.
+     * @param vehicles The {@link Vehicle}s by their id.
+     * @param listeners The {@link SimulationListener}s to notify.
+     * @return The amount of replayed ticks, including the skipped ones.
+     * @throws IllegalArgumentException If the block is corrupted or does not match the {@link VehicleManager}.
+     */
+    static long replayBlock(CheckpointInput in, Map<Integer, Vehicle> vehicles,
+                                    Collection<? extends SimulationListener> listeners) {
+        int type = in.readInt();
+        if (type == IDLE_TICKS) {
+            long from = in.readLong();
+            long to = in.readLong();
+            for (SimulationListener listener : listeners) {
+                listener.onIdleTicks(from, to);
+            }
+            return to - from;
+        }
+        if (type != TICK) {
+            throw new IllegalArgumentException("The event journal is corrupted: unknown block type %d".formatted(type));
+        }
+
+        long tick = in.readLong();
+        int size = in.readInt();
+        List<Event> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            events.add(readEvent(in, vehicles, tick));
+        }
+        events = Collections.unmodifiableList(events);
+        for (SimulationListener listener : listeners) {
+            listener.onTick(events, tick);
+        }
+        return 1;
+    }
+
+    private static Event readEvent(CheckpointInput in, Map<Integer, Vehicle> vehicles, long blockTick) {
+        int type = in.readInt();
+        long tick = blockTick + in.readLong();
+        if (type == EVENT) {
+            return Event.of(tick);
+        }
+        if (type == ORDER_RECEIVED) {
+            return OrderReceivedEvent.of(tick, in.readOrder());
+        }
+
+        int vehicleId = in.readInt();
+        Vehicle vehicle = vehicles.get(vehicleId);
+        if (vehicle == null) {
+            throw new IllegalArgumentException("The vehicle manager does not contain a vehicle with id %d".formatted(vehicleId));
+        }
+        return switch (type) {
+            case VEHICLE_EVENT -> VehicleEvent.of(tick, vehicle);
+            case SPAWN -> SpawnEvent.of(tick, vehicle, readNode(in, Region.Node.class));
+            case ARRIVED_AT_NODE -> ArrivedAtNodeEvent.of(tick, vehicle, readNode(in, Region.Node.class),
+                (Region.Edge) in.readComponent());
+            case ARRIVED_AT_RESTAURANT -> ArrivedAtRestaurantEvent.of(tick, vehicle,
+                in.getVehicleManager().getOccupiedRestaurant(readNode(in, Region.Restaurant.class)),
+                (Region.Edge) in.readComponent());
+            case ARRIVED_AT_NEIGHBORHOOD -> ArrivedAtNeighborhoodEvent.of(tick, vehicle,
+                readNode(in, Region.Neighborhood.class), (Region.Edge) in.readComponent());
+            case ARRIVED_AT_EDGE -> ArrivedAtEdgeEvent.of(tick, vehicle, (Region.Edge) in.readComponent(),
+                readNode(in, Region.Node.class));
+            case LOAD_ORDER -> LoadOrderEvent.of(tick, vehicle, in.readOrder(), readNode(in, Region.Restaurant.class));
+            case DELIVER_ORDER -> {
+                Region.Neighborhood node = readNode(in, Region.Neighborhood.class);
+                ConfirmedOrder order = in.readOrder();
+                // the order was stored before it has been delivered the first time it occurred
+                order.setActualDeliveryTick(tick);
+                yield DeliverOrderEvent.of(tick, vehicle, node, order);
+            }
+            default -> throw new IllegalArgumentException("The recorded events are corrupted: unknown event type %d".formatted(type));
+        };
+    }
+
+    private static <N extends Region.Node> N readNode(CheckpointInput in, Class<N> type) {
+        Region.Node node = in.getVehicleManager().getRegion().getNode(in.readLocation());
+        if (!type.isInstance(node)) {
+            throw new IllegalArgumentException("The recorded events do not match the region of the vehicle manager");
+        }
+        return type.cast(node);
+    }
+}
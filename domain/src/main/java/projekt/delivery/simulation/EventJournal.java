@@ -0,0 +1,199 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.event.*;
+import projekt.delivery.rating.Rater;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.CheckpointInput;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.Vehicle;
+import projekt.delivery.routing.VehicleManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A {@link SimulationListener} that appends the {@link Event}s of every tick of the observed {@link Simulation} to a
+ * binary file, from which they can be {@link #replay(Path, VehicleManager, Collection) replayed} later without
+ * simulating again, e.g. to rate a finished simulation with different {@link Rater}s.<p>
+ *
+ * The journal consists of a header followed by one length prefixed block for every executed tick and for every range
+ * of skipped ticks, encoded by an {@link EventCodec}. Every {@link Event} of a tick is stored as a type tag, its tick
+ * relative to the tick of the block, the id of its {@link Vehicle}, the locations of its components and its
+ * {@link ConfirmedOrder}. An order is stored completely only the first time it occurs, afterwards only a reference to
+ * it is stored. The blocks are collected in a buffer and written to a {@link FileChannel} whenever the buffer is full,
+ * when the journal is {@link #flush() flushed} and when it is closed.<p>
+ *
+ * {@link Event}s of unknown types are stored as plain {@link VehicleEvent}s or {@link Event}s.
+ */
+public final class EventJournal implements SimulationListener, Closeable {
+
+    private static final int MAGIC = 0x53494D4A;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int REPLAY_WINDOW_SIZE = 1 << 26;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final EventCodec codec = new EventCodec();
+
+    /**
+     * Creates a new {@link EventJournal} that writes to the given file. An existing file is overwritten.
+     * @param file The file to write the journal to.
+     * @throws IOException If the file cannot be opened.
+     */
+    public EventJournal(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC).putInt(VERSION);
+    }
+
+    @Override
+    public void onTick(List<Event> events, long tick) {
+        appendBlock(codec.encodeTick(events, tick));
+    }
+
+    @Override
+    public void onIdleTicks(long from, long to) {
+        appendBlock(codec.encodeIdleTicks(from, to));
+    }
+
+    /**
+     * Writes all buffered blocks to the file.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes all buffered blocks to the file and closes it.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void appendBlock(byte[] block) {
+        try {
+            if (buffer.remaining() < Integer.BYTES + block.length) {
+                flush();
+            }
+            if (buffer.remaining() < Integer.BYTES + block.length) {
+                // the block is larger than the buffer
+                ByteBuffer large = ByteBuffer.allocate(Integer.BYTES + block.length).putInt(block.length).put(block).flip();
+                while (large.hasRemaining()) {
+                    channel.write(large);
+                }
+            } else {
+                buffer.putInt(block.length).put(block);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replays the given journal to the given {@link SimulationListener}s, i.e. calls their
+     * {@link SimulationListener#onTick(List, long)} and {@link SimulationListener#onIdleTicks(long, long)} methods
+     * exactly like the {@link Simulation} the journal was recorded from did.<p>
+     *
+     * The {@link Event}s refer to the {@link Vehicle}s, components and {@link VehicleManager.OccupiedRestaurant}s of
+     * the given {@link VehicleManager}, which has to be based on the same {@link Region} and contain the same
+     * {@link Vehicle}s as the one of the recorded {@link Simulation}. Since nothing is simulated, the state of the
+     * {@link VehicleManager} does not change during the replay. A block that has been written incompletely, e.g.
+     * because the recording process crashed, ends the replay.
+     *
+     * @param file The journal to replay.
+     * @param vehicleManager The {@link VehicleManager} used to resolve the recorded {@link Vehicle}s and components.
+     * @param listeners The {@link SimulationListener}s to notify.
+     * @return The amount of replayed ticks, including the skipped ones.
+     * @throws IOException If an I/O error occurs or the file is not a journal.
+     */
+    public static long replay(Path file, VehicleManager vehicleManager,
+                              Collection<? extends SimulationListener> listeners) throws IOException {
+        Map<Integer, Vehicle> vehicles = EventCodec.getVehiclesById(vehicleManager);
+        CheckpointInput in = new CheckpointInput(new byte[0], List.of(), vehicleManager);
+        long replayedTicks = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, HEADER_SIZE));
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("%s is not an event journal".formatted(file));
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported event journal version %d".formatted(version));
+            }
+
+            // the file is mapped in windows, so journals larger than 2 GiB can be replayed
+            long windowStart = HEADER_SIZE;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                Math.min(size - windowStart, REPLAY_WINDOW_SIZE));
+            while (true) {
+                if (window.remaining() < Integer.BYTES || window.remaining() < Integer.BYTES + window.getInt(window.position())) {
+                    long blockStart = windowStart + window.position();
+                    if (size - blockStart < Integer.BYTES) {
+                        break;
+                    }
+                    int length = channel.map(FileChannel.MapMode.READ_ONLY, blockStart, Integer.BYTES).getInt();
+                    if (length < 0 || size - blockStart - Integer.BYTES < length) {
+                        break;
+                    }
+                    windowStart = blockStart;
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                        Math.min(size - windowStart, Math.max(REPLAY_WINDOW_SIZE, Integer.BYTES + (long) length)));
+                }
+
+                byte[] block = new byte[window.getInt()];
+                window.get(block);
+                in.setData(block);
+                replayedTicks += EventCodec.replayBlock(in, vehicles, listeners);
+            }
+        }
+        return replayedTicks;
+    }
+
+    /**
+     * Rates the {@link Simulation} recorded in the given journal with new {@link Rater}s created by the given
+     * {@link Rater.Factory}s, see {@link #replay(Path, VehicleManager, Collection)}.
+     * @param file The journal to replay.
+     * @param vehicleManager The {@link VehicleManager} used to resolve the recorded {@link Vehicle}s and components.
+     * @param raterFactoryMap The {@link Rater.Factory}s used to create the {@link Rater}s for each {@link RatingCriteria}.
+     * @return The scores of the created {@link Rater}s after the replay.
+     * @throws IOException If an I/O error occurs or the file is not a journal.
+     */
+    public static Map<RatingCriteria, Double> rate(Path file, VehicleManager vehicleManager,
+                                                   Map<RatingCriteria, Rater.Factory> raterFactoryMap) throws IOException {
+        Map<RatingCriteria, Rater> raters = new LinkedHashMap<>();
+        for (Map.Entry<RatingCriteria, Rater.Factory> entry : raterFactoryMap.entrySet()) {
+            raters.put(entry.getKey(), entry.getValue().create());
+        }
+
+        replay(file, vehicleManager, raters.values());
+
+        Map<RatingCriteria, Double> scores = new LinkedHashMap<>();
+        for (Map.Entry<RatingCriteria, Rater> entry : raters.entrySet()) {
+            scores.put(entry.getKey(), entry.getValue().getScore());
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,86 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.event.Event;
+import projekt.delivery.rating.Rater;
+import projekt.delivery.routing.CheckpointInput;
+import projekt.delivery.routing.CheckpointOutput;
+import projekt.delivery.routing.Vehicle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the {@link Event}s observed by {@link Rater}s that do not implement {@link Checkpointable}, so that their
+ * state can be restored from a {@link SimulationCheckpoint} by replaying the {@link Event}s to new {@link Rater}s.<p>
+ *
+ * The {@link Event}s are encoded by an {@link EventCodec}. Since the blocks of an {@link EventCodec} can only be
+ * replayed together, the history consists of segments: the restored blocks are kept as they are and the following
+ * ticks are recorded in a new segment.
+ */
+final class RaterHistory implements SimulationListener, Checkpointable {
+
+    private final List<Rater> raters;
+    private final List<List<byte[]>> segments = new ArrayList<>();
+    private EventCodec codec;
+    private List<byte[]> blocks;
+
+    /**
+     * Creates a new, empty {@link RaterHistory}.
+     * @param raters The {@link Rater}s the restored {@link Event}s are replayed to.
+     */
+    RaterHistory(List<Rater> raters) {
+        this.raters = raters;
+        startSegment();
+    }
+
+    @Override
+    public void onTick(List<Event> events, long tick) {
+        blocks.add(codec.encodeTick(events, tick));
+    }
+
+    @Override
+    public void onIdleTicks(long from, long to) {
+        blocks.add(codec.encodeIdleTicks(from, to));
+    }
+
+    @Override
+    public void writeCheckpoint(CheckpointOutput out) {
+        out.writeInt(segments.size());
+        for (List<byte[]> segment : segments) {
+            out.writeInt(segment.size());
+            for (byte[] block : segment) {
+                out.writeBytes(block);
+            }
+        }
+    }
+
+    /**
+     * Replaces the recorded {@link Event}s with the ones read from the given {@link CheckpointInput} and replays them
+     * to the {@link Rater}s of this {@link RaterHistory}.
+     * @param in The {@link CheckpointInput} to read from.
+     */
+    @Override
+    public void readCheckpoint(CheckpointInput in) {
+        Map<Integer, Vehicle> vehicles = EventCodec.getVehiclesById(in.getVehicleManager());
+        segments.clear();
+        for (int i = in.readInt(); i > 0; i--) {
+            List<byte[]> segment = new ArrayList<>();
+            CheckpointInput segmentIn = new CheckpointInput(new byte[0], List.of(), in.getVehicleManager());
+            for (int j = in.readInt(); j > 0; j--) {
+                byte[] block = in.readBytes();
+                segmentIn.setData(block);
+                EventCodec.replayBlock(segmentIn, vehicles, raters);
+                segment.add(block);
+            }
+            segments.add(segment);
+        }
+        startSegment();
+    }
+
+    private void startSegment() {
+        codec = new EventCodec();
+        blocks = new ArrayList<>();
+        segments.add(blocks);
+    }
+}
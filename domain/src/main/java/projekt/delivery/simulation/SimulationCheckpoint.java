@@ -0,0 +1,121 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.routing.ConfirmedOrder;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * The state of a {@link BasicDeliverySimulation} between two ticks, from which the simulation can be resumed.<p>
+ *
+ * A checkpoint contains the next tick to execute, the state of the {@link projekt.delivery.service.DeliveryService}
+ * and its {@link projekt.delivery.routing.VehicleManager} and the state of every
+ * {@link projekt.delivery.rating.Rater}, either stored by the rater itself or as the events it has observed. The {@link projekt.delivery.generator.OrderGenerator} is not included,
+ * since it always generates the same orders for the same tick and is simply created again.<p>
+ *
+ * The state is stored in a compact binary format that can be written to a stream. The only exception are the arrival
+ * actions of queued moves, which cannot be encoded. They are kept in memory together with the original
+ * {@link ConfirmedOrder}s, so a checkpoint restored in the same process is exact: restored into the
+ * {@link projekt.delivery.routing.VehicleManager} it was created from, the original orders and arrival actions are
+ * reused, restored into another one, the orders are copied and the arrival actions are rebound, see
+ * {@link projekt.delivery.routing.Vehicle.RebindableAction}. A checkpoint read by {@link #readFrom(InputStream)} can
+ * only be restored if no move with an arrival action was queued, other than
+ * {@link projekt.delivery.routing.Vehicle#NO_ARRIVAL_ACTION}.
+ *
+ * @see BasicDeliverySimulation#createCheckpoint()
+ * @see BasicDeliverySimulation#restoreCheckpoint(SimulationCheckpoint)
+ */
+public final class SimulationCheckpoint {
+
+    private static final int MAGIC = 0x53494D43;
+    private static final int VERSION = 2;
+
+    private final long tick;
+    private final byte[] data;
+    private final List<Object> references;
+    private final List<ConfirmedOrder> orders;
+
+    SimulationCheckpoint(long tick, byte[] data, List<Object> references, List<ConfirmedOrder> orders) {
+        this.tick = tick;
+        this.data = data;
+        this.references = references;
+        this.orders = orders;
+    }
+
+    /**
+     * Returns the tick that is executed next when the simulation is resumed from this checkpoint.
+     * @return The next tick.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the size of the encoded state.
+     * @return The size of the encoded state in bytes.
+     */
+    public int getSize() {
+        return data.length;
+    }
+
+    /**
+     * Returns true if the arrival actions of the queued moves and the original orders are available, i.e. if this
+     * checkpoint has been created in this process and not been read from a stream.
+     * @return True, if the arrival actions are available.
+     */
+    public boolean hasArrivalActions() {
+        return !references.isEmpty();
+    }
+
+    byte[] getData() {
+        return data;
+    }
+
+    List<Object> getReferences() {
+        return references;
+    }
+
+    List<ConfirmedOrder> getOrders() {
+        return orders;
+    }
+
+    /**
+     * Writes this checkpoint to the given {@link OutputStream}.
+     * @param out The {@link OutputStream} to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(MAGIC);
+        dataOut.writeInt(VERSION);
+        dataOut.writeLong(tick);
+        dataOut.writeInt(data.length);
+        dataOut.write(data);
+        dataOut.flush();
+    }
+
+    /**
+     * Reads a checkpoint written by {@link #writeTo(OutputStream)}.
+     * @param in The {@link InputStream} to read from.
+     * @return The read checkpoint.
+     * @throws IOException If an I/O error occurs or the stream does not contain a checkpoint.
+     */
+    public static SimulationCheckpoint readFrom(InputStream in) throws IOException {
+        DataInputStream dataIn = new DataInputStream(in);
+        if (dataIn.readInt() != MAGIC) {
+            throw new IOException("The stream does not contain a simulation checkpoint");
+        }
+        int version = dataIn.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint version %d".formatted(version));
+        }
+        long tick = dataIn.readLong();
+        byte[] data = new byte[dataIn.readInt()];
+        dataIn.readFully(data);
+        return new SimulationCheckpoint(tick, data, List.of(), List.of());
+    }
+}
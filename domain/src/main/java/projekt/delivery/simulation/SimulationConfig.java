@@ -1,15 +1,27 @@
 package projekt.delivery.simulation;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
 
 /**
  * A config for a {@link Simulation}.<p>
  *
- * It contains the length of a tick and whether the {@link Simulation} is paused.
+ * It contains the length of a tick and whether the {@link Simulation} is paused.<p>
+ *
+ * A paused {@link Simulation} waits in {@link #awaitUnpaused()} until it is resumed.
  */
 public class SimulationConfig {
     private final AtomicInteger millisecondsPerTick;
     private volatile boolean paused = false;
+    private volatile boolean eventDriven = false;
+    private volatile boolean headless = false;
+    private volatile CatchUpPolicy catchUpPolicy = CatchUpPolicy.DROP_FRAMES;
+    private volatile int maxCatchUpTicks = 10;
+    private final Lock pauseLock = new ReentrantLock();
+    private final Condition pauseChanged = pauseLock.newCondition();
 
     /**
      * Creates a new {@link Simulation} instance.<p>
@@ -51,6 +63,146 @@ public class SimulationConfig {
      * @param paused The new paused status.
      */
     public void setPaused(boolean paused) {
-        this.paused = paused;
+        pauseLock.lock();
+        try {
+            this.paused = paused;
+            pauseChanged.signalAll();
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    /**
+     * Blocks the current thread as long as this {@link SimulationConfig} is paused.<p>
+     *
+     * The waiting thread does not consume any CPU time. It is woken up when the simulation is resumed by
+     * {@link #setPaused(boolean)}.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    public void awaitUnpaused() throws InterruptedException {
+        awaitUnpaused(() -> false);
+    }
+
+    /**
+     * Blocks the current thread as long as this {@link SimulationConfig} is paused and the given condition is false.<p>
+     *
+     * The waiting thread does not consume any CPU time. The condition is checked while holding the lock that
+     * {@link #wakeUp()} acquires, so a condition that becomes true before {@link #wakeUp()} is called is never missed,
+     * even if it changed right before this method was called.
+     *
+     * @param stopWaiting Returns true if the current thread should stop waiting although the simulation is paused,
+     *                    e.g. because the simulation has been terminated.
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    public void awaitUnpaused(BooleanSupplier stopWaiting) throws InterruptedException {
+        pauseLock.lock();
+        try {
+            while (paused && !stopWaiting.getAsBoolean()) {
+                pauseChanged.await();
+            }
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    /**
+     * Wakes up all threads waiting in {@link #awaitUnpaused(BooleanSupplier)} without resuming the simulation, so that
+     * they check their condition again. The condition has to be changed before calling this method.
+     */
+    public void wakeUp() {
+        pauseLock.lock();
+        try {
+            pauseChanged.signalAll();
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    /**
+     * Returns True if the simulation skips ticks in which nothing happens.
+     * @return True if the simulation skips ticks in which nothing happens.
+     */
+    public boolean isEventDriven() {
+        return eventDriven;
+    }
+
+    /**
+     * Changes whether the simulation skips ticks in which nothing happens.<p>
+     *
+     * If enabled, the simulation jumps directly to the next tick in which an order is generated, a vehicle moves or
+     * any other {@link projekt.delivery.event.Event} may occur. The skipped ticks are reported to the
+     * {@link SimulationListener}s by {@link SimulationListener#onIdleTicks(long, long)}, so the observed events and
+     * ratings do not change.
+     *
+     * @param eventDriven The new event driven status.
+     */
+    public void setEventDriven(boolean eventDriven) {
+        this.eventDriven = eventDriven;
+    }
+
+    /**
+     * Returns True if the simulation runs as fast as possible without any console output.
+     * @return True if the simulation runs as fast as possible without any console output.
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Changes whether the simulation runs as fast as possible without any console output.<p>
+     *
+     * If enabled, the length of a tick is ignored and the next tick starts as soon as the previous one has finished.
+     * This is intended for evaluating a {@link projekt.delivery.service.DeliveryService} without a GUI. The achieved
+     * speed can be read from {@link BasicDeliverySimulation#getTicksPerSecond()}.
+     *
+     * @param headless The new headless status.
+     */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * Returns how the simulation handles ticks that could not be started in time.
+     * @return The used {@link CatchUpPolicy}.
+     */
+    public CatchUpPolicy getCatchUpPolicy() {
+        return catchUpPolicy;
+    }
+
+    /**
+     * Changes how the simulation handles ticks that could not be started in time.<p>
+     *
+     * By default, missed ticks are dropped, see {@link CatchUpPolicy#DROP_FRAMES}.
+     *
+     * @param catchUpPolicy The new {@link CatchUpPolicy}.
+     */
+    public void setCatchUpPolicy(CatchUpPolicy catchUpPolicy) {
+        this.catchUpPolicy = catchUpPolicy;
+    }
+
+    /**
+     * Returns the maximum amount of ticks that are executed back to back to catch up missed ticks.
+     * @return The maximum amount of ticks that are executed back to back.
+     */
+    public int getMaxCatchUpTicks() {
+        return maxCatchUpTicks;
+    }
+
+    /**
+     * Changes the maximum amount of ticks that are executed back to back to catch up missed ticks. Missed ticks
+     * exceeding this amount are dropped, so that a simulation that is permanently too slow does not fall further and
+     * further behind.<p>
+     *
+     * By default, up to 10 ticks are executed back to back.
+     *
+     * @param maxCatchUpTicks The new maximum amount of ticks that are executed back to back.
+     * @throws IllegalArgumentException If the given amount is not positive.
+     */
+    public void setMaxCatchUpTicks(int maxCatchUpTicks) {
+        if (maxCatchUpTicks < 1) {
+            throw new IllegalArgumentException("maxCatchUpTicks must be positive");
+        }
+        this.maxCatchUpTicks = maxCatchUpTicks;
     }
 }
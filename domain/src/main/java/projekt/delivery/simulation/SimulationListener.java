@@ -13,9 +13,42 @@ import java.util.List;
 public interface SimulationListener {
 
     /**
-     * Signals this {@link SimulationListener} that a tick has been executed by the observed {@link Simulation}.
+     * Signals this {@link SimulationListener} that a tick has been executed by the observed {@link Simulation}.<p>
+     *
+     * A {@link BasicDeliverySimulation} passes an {@link projekt.delivery.event.EventBatch} that is shared by all its
+     * listeners, so the {@link Event}s of a type can be looked up by
+     * {@code EventBatch.of(events).of(type)} without filtering all {@link Event}s.
+     *
      * @param events All {@link Event}s that occurred during the tick.
      * @param tick The executed tick.
      */
     void onTick(List<Event> events, long tick);
+
+    /**
+     * Signals this {@link SimulationListener} that the ticks from {@code from} (inclusive) to {@code to} (exclusive)
+     * have been skipped because no {@link Event}s occurred during them.<p>
+     *
+     * By default, {@link #onTick(List, long)} is called with an empty {@link List} for every skipped tick.
+     *
+     * @param from The first skipped tick.
+     * @param to The tick after the last skipped tick.
+     */
+    default void onIdleTicks(long from, long to) {
+        for (long tick = from; tick < to; tick++) {
+            onTick(List.of(), tick);
+        }
+    }
+
+    /**
+     * Returns true if this {@link SimulationListener} only displays the observed {@link Simulation}.<p>
+     *
+     * While a {@link Simulation} catches up missed ticks with {@link CatchUpPolicy#SKIP_RENDERING}, renderers are not
+     * notified after every tick. Instead, {@link #onTick(List, long)} is called once with the {@link Event}s of all
+     * caught up ticks and the last of these ticks.
+     *
+     * @return True, if this {@link SimulationListener} only displays the {@link Simulation}. False by default.
+     */
+    default boolean isRenderer() {
+        return false;
+    }
 }
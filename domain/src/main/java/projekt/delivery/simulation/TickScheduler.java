@@ -0,0 +1,81 @@
+package projekt.delivery.simulation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans the start of every tick of a {@link BasicDeliverySimulation} on an absolute timeline.<p>
+ *
+ * The planned start of a tick is the planned start of the previous tick plus the configured tick length, measured with
+ * {@link System#nanoTime()}. Since the time a tick takes does not shift the following ticks, inaccurate sleeps do not
+ * add up over time. Ticks that could not be started in time are handled according to the {@link CatchUpPolicy} of the
+ * {@link SimulationConfig}.
+ */
+class TickScheduler {
+
+    private final SimulationConfig simulationConfig;
+    private final TickStatistics statistics;
+    private long nextTickTime;
+    private long tickLength;
+
+    /**
+     * Creates a new {@link TickScheduler}.
+     * @param simulationConfig The {@link SimulationConfig} containing the tick length and the {@link CatchUpPolicy}.
+     * @param statistics The {@link TickStatistics} to record the accuracy of the scheduled ticks in.
+     */
+    TickScheduler(SimulationConfig simulationConfig, TickStatistics statistics) {
+        this.simulationConfig = simulationConfig;
+        this.statistics = statistics;
+        reset();
+    }
+
+    /**
+     * Starts a new timeline, so that the next tick is due immediately. This has to be called after the simulation
+     * was paused, since the time in which it was paused should not be caught up.
+     */
+    void reset() {
+        nextTickTime = System.nanoTime();
+        tickLength = TimeUnit.MILLISECONDS.toNanos(simulationConfig.getMillisecondsPerTick());
+    }
+
+    /**
+     * Blocks until the next tick is due and returns the amount of ticks that should be executed now.<p>
+     *
+     * The result is greater than one if ticks have been missed and the {@link CatchUpPolicy} catches them up. It never
+     * exceeds {@link SimulationConfig#getMaxCatchUpTicks()}.
+     *
+     * @return The amount of ticks to execute back to back.
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    int awaitTicks() throws InterruptedException {
+        long configuredLength = TimeUnit.MILLISECONDS.toNanos(simulationConfig.getMillisecondsPerTick());
+        if (configuredLength != tickLength) {
+            // the next tick is planned relative to the start of the previous one
+            nextTickTime += configuredLength - tickLength;
+            tickLength = configuredLength;
+        }
+
+        if (tickLength == 0) {
+            // every point in time is on schedule
+            nextTickTime = System.nanoTime();
+        }
+        long now = System.nanoTime();
+        while (now - nextTickTime < 0) {
+            TimeUnit.NANOSECONDS.sleep(nextTickTime - now);
+            now = System.nanoTime();
+        }
+
+        long jitter = now - nextTickTime;
+        long dueTicks = tickLength == 0 ? 1 : 1 + jitter / tickLength;
+        statistics.recordTick(jitter, dueTicks > 1);
+
+        int ticks = switch (simulationConfig.getCatchUpPolicy()) {
+            case SKIP_RENDERING, BATCH -> (int) Math.min(dueTicks, simulationConfig.getMaxCatchUpTicks());
+            case DROP_FRAMES -> 1;
+        };
+        if (ticks < dueTicks) {
+            statistics.recordDropped(dueTicks - ticks);
+        }
+        nextTickTime += dueTicks * tickLength;
+        return ticks;
+    }
+}
@@ -0,0 +1,95 @@
+package projekt.delivery.simulation;
+
+/**
+ * Statistics about how accurately a {@link BasicDeliverySimulation} keeps to its planned timeline.<p>
+ *
+ * The jitter of a tick is the time between its planned start and its actual start. A tick is late if it started at
+ * least one tick length after its planned start, i.e. when the previous tick did not finish in time.
+ */
+public class TickStatistics {
+
+    private long scheduledTicks;
+    private long lateTicks;
+    private long droppedTicks;
+    private long totalJitter;
+    private long maxJitter;
+
+    /**
+     * Records a tick that was started by the scheduler.
+     * @param jitter The time between the planned and the actual start of the tick in nanoseconds.
+     * @param late Whether the tick started at least one tick length after its planned start.
+     */
+    synchronized void recordTick(long jitter, boolean late) {
+        scheduledTicks++;
+        totalJitter += jitter;
+        maxJitter = Math.max(maxJitter, jitter);
+        if (late) {
+            lateTicks++;
+        }
+    }
+
+    /**
+     * Records ticks that were not caught up.
+     * @param ticks The amount of dropped ticks.
+     */
+    synchronized void recordDropped(long ticks) {
+        droppedTicks += ticks;
+    }
+
+    /**
+     * Returns the amount of ticks that were started by the scheduler.
+     * @return The amount of scheduled ticks.
+     */
+    public synchronized long getScheduledTicks() {
+        return scheduledTicks;
+    }
+
+    /**
+     * Returns the amount of ticks that started at least one tick length after their planned start.
+     * @return The amount of late ticks.
+     */
+    public synchronized long getLateTicks() {
+        return lateTicks;
+    }
+
+    /**
+     * Returns the amount of planned ticks that were skipped on the timeline instead of being caught up.
+     * @return The amount of dropped ticks.
+     */
+    public synchronized long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    /**
+     * Returns the largest time between the planned and the actual start of a tick.
+     * @return The maximum jitter in nanoseconds.
+     */
+    public synchronized long getMaxJitter() {
+        return maxJitter;
+    }
+
+    /**
+     * Returns the average time between the planned and the actual start of a tick.
+     * @return The average jitter in nanoseconds or {@code 0} if no tick has been scheduled.
+     */
+    public synchronized double getAverageJitter() {
+        return scheduledTicks == 0 ? 0 : (double) totalJitter / scheduledTicks;
+    }
+
+    /**
+     * Resets all statistics to zero.
+     */
+    public synchronized void reset() {
+        scheduledTicks = 0;
+        lateTicks = 0;
+        droppedTicks = 0;
+        totalJitter = 0;
+        maxJitter = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "TickStatistics(scheduled=%d, late=%d, dropped=%d, averageJitter=%.3fms, maxJitter=%.3fms)".formatted(
+            scheduledTicks, lateTicks, droppedTicks, getAverageJitter() / 1e6, maxJitter / 1e6);
+    }
+}
@@ -0,0 +1,135 @@
+package projekt.delivery.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.TestRegion;
+import projekt.delivery.routing.Vehicle;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventBusConcurrencyTest {
+
+    private static final int VEHICLES = 40;
+    private static final int ROUNDS = 200;
+    private static final int SHUFFLED_THREADS = 6;
+    private static final int POSTING_THREADS = 8;
+    private static final int POSTS_PER_THREAD = 100_000;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(POSTING_THREADS);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDeterministicOrderDoesNotDependOnPostingThreads() throws ExecutionException, InterruptedException {
+        TestRegion region = TestRegion.grid(6, 6, 3, 3);
+        List<Region.Node> nodes = List.copyOf(region.getNodes());
+        List<Region.Edge> edges = List.copyOf(region.getEdges());
+        List<List<Event>> eventsByVehicle = new ArrayList<>();
+        for (int id = 0; id < VEHICLES; id++) {
+            Vehicle vehicle = vehicle(id);
+            Region.Node spawn = nodes.get(id * 3 % nodes.size());
+            eventsByVehicle.add(List.of(
+                SpawnEvent.of(0, vehicle, spawn),
+                ArrivedAtNodeEvent.of(0, vehicle, nodes.get(id * 7 % nodes.size()), edges.get(id % edges.size())),
+                ArrivedAtNodeEvent.of(0, vehicle, spawn, edges.get(id * 5 % edges.size()))));
+        }
+        EventBus serialBus = new EventBus();
+        serialBus.setDeterministicOrder(true);
+        eventsByVehicle.forEach(events -> post(serialBus, events));
+        List<Event> expected = serialBus.popEvents(0);
+
+        ExecutorService shuffledExecutor = Executors.newFixedThreadPool(SHUFFLED_THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                EventBus bus = new EventBus();
+                bus.setDeterministicOrder(true);
+                List<List<Event>> shuffled = new ArrayList<>(eventsByVehicle);
+                Collections.shuffle(shuffled, new Random(round));
+                List<Future<?>> futures = new ArrayList<>();
+                for (List<Event> events : shuffled) {
+                    futures.add(shuffledExecutor.submit(() -> post(bus, events)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                assertEquals(expected, bus.popEvents(0), "round " + round);
+            }
+        } finally {
+            shuffledExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentPostsAreNeitherLostNorReordered() throws ExecutionException, InterruptedException {
+        EventBus bus = new EventBus();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < POSTING_THREADS; thread++) {
+            long firstTick = thread * (long) POSTS_PER_THREAD;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < POSTS_PER_THREAD; i++) {
+                    bus.queuePost(Event.of(firstTick + i));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        List<Event> events = bus.popEvents(1);
+
+        assertEquals(POSTING_THREADS * POSTS_PER_THREAD, events.size());
+        assertFalse(bus.hasQueuedEvents());
+        // the ticks encode the posting thread and the position, so every thread has to see increasing ticks
+        long[] lastTicks = new long[POSTING_THREADS];
+        Arrays.fill(lastTicks, -1);
+        for (Event event : events) {
+            int thread = (int) (event.getTick() / POSTS_PER_THREAD);
+            assertTrue(event.getTick() > lastTicks[thread], "events of thread " + thread + " are out of order");
+            lastTicks[thread] = event.getTick();
+        }
+        for (int thread = 0; thread < POSTING_THREADS; thread++) {
+            assertEquals((thread + 1L) * POSTS_PER_THREAD - 1, lastTicks[thread]);
+        }
+    }
+
+    /**
+     * Posts the spawn event of a vehicle on its own and its arrivals in one batch, like a vehicle manager does.
+     */
+    private static void post(EventBus bus, List<Event> events) {
+        bus.queuePost(events.get(0));
+        bus.queuePost(events.subList(1, events.size()));
+    }
+
+    /**
+     * Creates a {@link Vehicle} that only knows its id, which is all the deterministic order depends on.
+     */
+    private static Vehicle vehicle(int id) {
+        return (Vehicle) Proxy.newProxyInstance(Vehicle.class.getClassLoader(), new Class<?>[] {Vehicle.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getId" -> id;
+                case "hashCode" -> id;
+                case "equals" -> proxy == args[0];
+                case "toString" -> "Vehicle " + id;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
@@ -0,0 +1,82 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AbstractOccupiedTest {
+
+    private TestRegion region;
+    private Region.Node restaurant;
+    private Region.Node a;
+    private Region.Node b;
+    private TestVehicleManager vehicleManager;
+    private VehicleImpl vehicle;
+
+    @BeforeEach
+    public void setUp() {
+        region = new TestRegion();
+        restaurant = region.addRestaurant(new Location(0, 0));
+        a = region.addNode(new Location(1, 0));
+        b = region.addNode(new Location(2, 0));
+        region.addEdge(restaurant, a, 1);
+        region.addEdge(a, b, 1);
+        vehicleManager = TestVehicleManager.create(region, new CompactDijkstraPathCalculator())
+            .withVehicle(restaurant, 1);
+        vehicleManager.tick(0);
+        vehicle = (VehicleImpl) vehicleManager.getVehicles().iterator().next();
+    }
+
+    @Test
+    public void testPutVehicleIsTicked() {
+        AbstractOccupied<?> occupiedA = vehicleManager.getAbstractOccupied(a);
+
+        assertNotNull(vehicleManager.getAbstractOccupied(restaurant).removeVehicle(vehicle));
+        occupiedA.putVehicle(vehicle, new AbstractOccupied.VehicleStats(0, null));
+        vehicle.setOccupied(occupiedA);
+        vehicle.moveQueued(b);
+        vehicleManager.tick(1);
+
+        assertSame(vehicleManager.getAbstractOccupied(region.getEdge(a, b)), vehicle.getOccupied());
+    }
+
+    @Test
+    public void testRemovedVehicleIsNotTicked() {
+        AbstractOccupied<?> occupiedRestaurant = vehicleManager.getAbstractOccupied(restaurant);
+
+        assertNotNull(occupiedRestaurant.removeVehicle(vehicle));
+        assertNull(occupiedRestaurant.removeVehicle(vehicle));
+        assertTrue(occupiedRestaurant.getVehicles().isEmpty());
+        vehicle.moveQueued(a);
+        vehicleManager.tick(1);
+
+        assertSame(occupiedRestaurant, vehicle.getOccupied());
+        assertTrue(vehicleManager.getAbstractOccupied(region.getEdge(restaurant, a)).getVehicles().isEmpty());
+    }
+
+    @Test
+    public void testResetComponentIsNotTicked() {
+        AbstractOccupied<?> occupiedRestaurant = vehicleManager.getAbstractOccupied(restaurant);
+
+        occupiedRestaurant.reset();
+        assertTrue(occupiedRestaurant.getVehicles().isEmpty());
+        vehicle.moveQueued(a);
+        vehicleManager.tick(1);
+
+        assertSame(occupiedRestaurant, vehicle.getOccupied());
+    }
+
+    @Test
+    public void testVehicleAddedToEdgeDeparts() {
+        AbstractOccupied<?> edge = vehicleManager.getAbstractOccupied(region.getEdge(restaurant, a));
+
+        vehicle.moveQueued(b);
+        vehicleManager.tick(1);
+        assertSame(edge, vehicle.getOccupied());
+        // the departure is scheduled when the vehicle is put on the edge
+        vehicleManager.tick(2);
+        assertSame(vehicleManager.getAbstractOccupied(a), vehicle.getOccupied());
+    }
+}
@@ -0,0 +1,128 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachedPathCalculatorTest {
+
+    private static final int STRIPES = 16;
+
+    private final TestRegion region = TestRegion.grid(5, 5, 4, 7);
+    private final PathCalculator reference = new CompactDijkstraPathCalculator();
+    private final long treeBytes = region.getNodes().size() * CachedPathCalculator.BYTES_PER_NODE;
+
+    @Test
+    public void testTreesLargerThanAStripeAreNotCached() {
+        CachedPathCalculator calculator = CachedPathCalculator.withMaximumBytes(reference, STRIPES * (treeBytes - 1));
+        requestAllPaths(calculator);
+
+        assertEquals(0, calculator.getCachedCount());
+        assertEquals(0, calculator.getHitCount());
+    }
+
+    @Test
+    public void testCacheStaysWithinMaximumBytes() {
+        long maximumBytes = STRIPES * treeBytes;
+        CachedPathCalculator calculator = CachedPathCalculator.withMaximumBytes(reference, maximumBytes);
+        requestAllPaths(calculator);
+
+        assertTrue(calculator.getCachedCount() > 0);
+        assertTrue(calculator.getCachedCount() * treeBytes <= maximumBytes);
+    }
+
+    @Test
+    public void testSmallCachesEvictTheLeastRecentlyUsedEndNode() {
+        int size = 8;
+        CachedPathCalculator calculator = new CachedPathCalculator(reference, size);
+        List<Region.Node> ends = new ArrayList<>(region.getNodes()).subList(0, size + 1);
+        Region.Node start = region.getNode(0, 0);
+
+        for (Region.Node end : ends.subList(0, size)) {
+            calculator.getPath(start, end);
+        }
+        for (Region.Node end : ends.subList(0, size)) {
+            calculator.getPath(start, end);
+        }
+        assertEquals(size, calculator.getHitCount());
+        assertEquals(0, calculator.getEvictionCount());
+
+        // the first end node is the least recently used one
+        calculator.getPath(start, ends.get(1));
+        calculator.getPath(start, ends.get(size));
+        assertEquals(1, calculator.getEvictionCount());
+        calculator.resetStatistics();
+        calculator.getPath(start, ends.get(1));
+        assertEquals(1, calculator.getHitCount());
+        calculator.getPath(start, ends.get(0));
+        assertEquals(1, calculator.getMissCount());
+    }
+
+    @Test
+    public void testReturnedPathsCanBeModified() {
+        CachedPathCalculator calculator = new CachedPathCalculator(reference);
+        Region.Node start = region.getNode(0, 0);
+        Region.Node end = region.getNode(4, 4);
+        List<Region.Node> expected = new ArrayList<>(reference.getPath(start, end));
+
+        Deque<Region.Node> path = calculator.getPath(start, end);
+        path.removeFirst();
+        path.addLast(start);
+        assertEquals(start, path.removeLast());
+        path.removeLast();
+        assertEquals(expected.subList(1, expected.size() - 1), new ArrayList<>(path));
+
+        Deque<Region.Node> other = calculator.getAllPathsTo(end).get(start);
+        Iterator<Region.Node> iterator = other.iterator();
+        iterator.next();
+        iterator.next();
+        iterator.remove();
+        List<Region.Node> withoutSecond = new ArrayList<>(expected);
+        withoutSecond.remove(1);
+        assertEquals(withoutSecond, new ArrayList<>(other));
+        other.clear();
+        assertTrue(other.isEmpty());
+
+        // the cached paths are not changed
+        assertEquals(expected, new ArrayList<>(calculator.getPath(start, end)));
+        assertEquals(1, calculator.getCachedCount());
+    }
+
+    @Test
+    public void testPathsAreComparedByTheirNodes() {
+        CachedPathCalculator calculator = new CachedPathCalculator(reference);
+        Region.Node start = region.getNode(0, 0);
+        Region.Node end = region.getNode(4, 4);
+        List<Region.Node> expected = new ArrayList<>(reference.getPath(start, end));
+
+        Deque<Region.Node> path = calculator.getPath(start, end);
+        assertEquals(path, expected);
+        assertEquals(path, new ArrayDeque<>(expected));
+        assertEquals(path, calculator.getPath(start, end));
+        assertEquals(expected.hashCode(), path.hashCode());
+
+        path.removeFirst();
+        assertNotEquals(path, expected);
+        assertEquals(path, expected.subList(1, expected.size()));
+        assertEquals(expected.subList(1, expected.size()).hashCode(), path.hashCode());
+
+        // a copied path is compared the same way
+        path.addFirst(expected.get(0));
+        assertEquals(path, expected);
+        assertEquals(expected.hashCode(), path.hashCode());
+    }
+
+    private void requestAllPaths(CachedPathCalculator calculator) {
+        for (Region.Node end : region.getNodes()) {
+            for (Region.Node start : region.getNodes()) {
+                assertEquals(new ArrayList<>(reference.getPath(start, end)), new ArrayList<>(calculator.getPath(start, end)));
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContractionHierarchyPathCalculatorTest {
+
+    // magic, fingerprint and amount of nodes
+    private static final int HEADER_BYTES = 16;
+
+    private final TestRegion region = TestRegion.grid(6, 6, 5, 11);
+    private final PathCalculator reference = new CompactDijkstraPathCalculator();
+
+    @Test
+    public void testStoredHierarchyIsUsed() throws IOException {
+        ContractionHierarchyPathCalculator calculator = new ContractionHierarchyPathCalculator();
+
+        assertTrue(calculator.read(region, new ByteArrayInputStream(write())));
+        assertPathsAreShortest(calculator);
+    }
+
+    @Test
+    public void testTruncatedHierarchyIsRejected() throws IOException {
+        byte[] bytes = write();
+        for (int length = HEADER_BYTES; length < bytes.length; length += 7) {
+            ContractionHierarchyPathCalculator calculator = new ContractionHierarchyPathCalculator();
+            assertFalse(calculator.read(region, new ByteArrayInputStream(Arrays.copyOf(bytes, length))),
+                "a hierarchy truncated to %d bytes was accepted".formatted(length));
+        }
+    }
+
+    @Test
+    public void testCorruptedHierarchyIsRejected() throws IOException {
+        int nodes = region.getNodes().size();
+        int firstEdge = HEADER_BYTES + 4 * nodes + 4 * (nodes + 1);
+
+        // two nodes with the same rank
+        ContractionHierarchyPathCalculator calculator = new ContractionHierarchyPathCalculator();
+        byte[] bytes = write();
+        ByteBuffer.wrap(bytes).putInt(HEADER_BYTES + 4, ByteBuffer.wrap(bytes).getInt(HEADER_BYTES));
+        assertFalse(calculator.read(region, new ByteArrayInputStream(bytes)));
+        assertPathsAreShortest(calculator);
+
+        // an edge leading to a node that does not exist
+        calculator = new ContractionHierarchyPathCalculator();
+        bytes = write();
+        ByteBuffer.wrap(bytes).putInt(firstEdge, nodes);
+        assertFalse(calculator.read(region, new ByteArrayInputStream(bytes)));
+        assertPathsAreShortest(calculator);
+
+        // more edges than the file contains
+        calculator = new ContractionHierarchyPathCalculator();
+        bytes = write();
+        ByteBuffer.wrap(bytes).putInt(firstEdge - 4, Integer.MAX_VALUE);
+        assertFalse(calculator.read(region, new ByteArrayInputStream(bytes)));
+        assertPathsAreShortest(calculator);
+    }
+
+    private byte[] write() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ContractionHierarchyPathCalculator().write(region, bytes);
+        return bytes.toByteArray();
+    }
+
+    private void assertPathsAreShortest(PathCalculator calculator) {
+        for (Region.Node start : region.getNodes()) {
+            for (Region.Node end : region.getNodes()) {
+                assertEquals(reference.getDuration(start, end), calculator.getDuration(start, end),
+                    "duration from %s to %s".formatted(start, end));
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+import projekt.delivery.event.ArrivedAtNodeEvent;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EdgeDepartureTest {
+
+    private TestRegion region;
+    private Region.Node restaurant;
+    private Region.Node a;
+    private Region.Node b;
+    private TestVehicleManager vehicleManager;
+    private VehicleImpl first;
+    private VehicleImpl second;
+
+    @BeforeEach
+    public void setUp() {
+        region = new TestRegion();
+        restaurant = region.addRestaurant(new Location(0, 0));
+        a = region.addNode(new Location(1, 0));
+        b = region.addNode(new Location(0, 1));
+        region.addEdge(restaurant, a, 3);
+        region.addEdge(restaurant, b, 3);
+        vehicleManager = TestVehicleManager.create(region, new CompactDijkstraPathCalculator())
+            .withVehicle(restaurant, 1)
+            .withVehicle(restaurant, 1);
+        vehicleManager.tick(0);
+        Iterator<Vehicle> vehicles = vehicleManager.getVehicles().iterator();
+        first = (VehicleImpl) vehicles.next();
+        second = (VehicleImpl) vehicles.next();
+    }
+
+    @Test
+    public void testVehicleLeavesEdgeWhenItReachedItsEnd() {
+        AbstractOccupied<?> edge = vehicleManager.getAbstractOccupied(region.getEdge(restaurant, a));
+
+        first.moveQueued(a);
+        vehicleManager.tick(1);
+        assertEquals(4, vehicleManager.getNextEventTick(2));
+        for (long tick = 2; tick < 4; tick++) {
+            vehicleManager.tick(tick);
+            assertSame(edge, first.getOccupied(), "vehicle left the edge at tick " + tick);
+        }
+        vehicleManager.tick(4);
+
+        assertSame(vehicleManager.getAbstractOccupied(a), first.getOccupied());
+        // the arrival action of the finished path runs in the next tick
+        assertEquals(5, vehicleManager.getNextEventTick(5));
+        vehicleManager.tick(5);
+        assertEquals(Long.MAX_VALUE, vehicleManager.getNextEventTick(6));
+    }
+
+    @Test
+    public void testSimultaneousDeparturesFollowTheOrderOfTheEdges() {
+        // the edge to a comes first, but is taken by the second vehicle
+        first.moveQueued(b);
+        second.moveQueued(a);
+        vehicleManager.tick(1);
+        List<Region.Node> arrivals = vehicleManager.tick(4).stream()
+            .filter(ArrivedAtNodeEvent.class::isInstance)
+            .map(event -> ((ArrivedAtNodeEvent) event).getNode())
+            .toList();
+
+        assertEquals(List.of(a, b), arrivals);
+    }
+
+    @Test
+    public void testDepartureOfRemovedVehicleIsDropped() {
+        AbstractOccupied<?> edge = vehicleManager.getAbstractOccupied(region.getEdge(restaurant, a));
+
+        first.moveQueued(a);
+        vehicleManager.tick(1);
+        assertNotNull(edge.removeVehicle(first));
+
+        assertEquals(Long.MAX_VALUE, vehicleManager.getNextEventTick(2));
+        vehicleManager.tick(4);
+        assertSame(edge, first.getOccupied());
+        assertTrue(vehicleManager.getAbstractOccupied(a).getVehicles().isEmpty());
+    }
+}
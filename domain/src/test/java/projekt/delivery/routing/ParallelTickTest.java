@@ -0,0 +1,83 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.VehicleEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelTickTest {
+
+    private static final int VEHICLES = 300;
+    private static final int TICKS = 200;
+
+    private final TestRegion region = TestRegion.grid(8, 8, 5, 7);
+    private final List<Region.Node> nodes = List.copyOf(region.getNodes());
+
+    @Test
+    public void testParallelTicksHaveTheSameEvents() {
+        List<String> serial = run(1);
+        List<String> parallel = run(4);
+
+        assertTrue(serial.size() > TICKS, "the vehicles did not move");
+        assertEquals(serial, parallel);
+    }
+
+    @Test
+    public void testParallelismMustBePositive() {
+        VehicleManager vehicleManager = TestVehicleManager.create(region, new CompactDijkstraPathCalculator());
+
+        assertThrows(IllegalArgumentException.class, () -> vehicleManager.setTickParallelism(0));
+    }
+
+    /**
+     * Drives the vehicles to random nodes and returns a description of every event. Every arrival also redirects
+     * another vehicle, so the moves depend on the order of the arrivals and planned moves become outdated.
+     */
+    private List<String> run(int parallelism) {
+        TestVehicleManager vehicleManager = TestVehicleManager.create(region, new CompactDijkstraPathCalculator());
+        List<Region.Node> restaurants = nodes.stream().filter(Region.Restaurant.class::isInstance).toList();
+        for (int i = 0; i < VEHICLES; i++) {
+            vehicleManager.withVehicle(restaurants.get(i % restaurants.size()), 1);
+        }
+        vehicleManager.setTickParallelism(parallelism);
+        Random random = new Random(13);
+        List<String> events = new ArrayList<>();
+
+        vehicleManager.tick(0);
+        List<Vehicle> vehicles = List.copyOf(vehicleManager.getVehicles());
+        for (Vehicle vehicle : vehicles) {
+            drive(vehicle, vehicles, random);
+        }
+        for (long tick = 1; tick <= TICKS; tick++) {
+            for (Event event : vehicleManager.tick(tick)) {
+                events.add(describe(event));
+            }
+        }
+        return events;
+    }
+
+    private void drive(Vehicle vehicle, List<Vehicle> vehicles, Random random) {
+        vehicle.moveQueued(nodes.get(random.nextInt(nodes.size())), (arrived, tick) -> {
+            Vehicle other = vehicles.get(random.nextInt(vehicles.size()));
+            if (other != arrived && other.getOccupied().getComponent() instanceof Region.Node) {
+                other.moveDirect(nodes.get(random.nextInt(nodes.size())), (redirected, t) -> drive(redirected, vehicles, random));
+            }
+            drive(arrived, vehicles, random);
+        });
+    }
+
+    private static String describe(Event event) {
+        StringBuilder description = new StringBuilder(event.getClass().getSimpleName())
+            .append('@').append(event.getTick());
+        if (event instanceof VehicleEvent vehicleEvent) {
+            Vehicle vehicle = vehicleEvent.getVehicle();
+            description.append(" vehicle ").append(vehicle.getId()).append(" on ").append(vehicle.getOccupied().getComponent());
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,164 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static projekt.StubAssumptions.assumeImplemented;
+
+/**
+ * Compares every {@link PathCalculator} with the durations of the Floyd-Warshall algorithm on small generated regions.
+ */
+public class PathCalculatorEquivalenceTest {
+
+    private static final List<TestRegion> REGIONS = List.of(
+        TestRegion.grid(4, 5, 5, 1),
+        TestRegion.grid(6, 6, 9, 2),
+        TestRegion.grid(7, 3, 2, 3));
+
+    @Test
+    public void testDijkstra() {
+        assertEquivalent(DijkstraPathCalculator::new);
+    }
+
+    @Test
+    public void testCompactDijkstra() {
+        assertEquivalent(CompactDijkstraPathCalculator::new);
+    }
+
+    @Test
+    public void testBidirectionalDijkstra() {
+        assertEquivalent(BidirectionalDijkstraPathCalculator::new);
+    }
+
+    @Test
+    public void testAStar() {
+        assertEquivalent(AStarPathCalculator::new);
+    }
+
+    @Test
+    public void testContractionHierarchy() {
+        assertEquivalent(ContractionHierarchyPathCalculator::new);
+    }
+
+    @Test
+    public void testLandmarks() {
+        assertEquivalent(LandmarkPathCalculator::new);
+    }
+
+    @Test
+    public void testAllPairs() {
+        assertEquivalent(AllPairsPathCalculator::new);
+    }
+
+    @Test
+    public void testAllPairsFallback() {
+        assertEquivalent(() -> new AllPairsPathCalculator(0, new CompactDijkstraPathCalculator()));
+    }
+
+    @Test
+    public void testDynamic() {
+        assertEquivalent(DynamicPathCalculator::new);
+    }
+
+    @Test
+    public void testCached() {
+        assertEquivalent(() -> new CachedPathCalculator(new CompactDijkstraPathCalculator()));
+    }
+
+    @Test
+    public void testDynamicAfterEdgeChanges() {
+        DynamicPathCalculator calculator = new DynamicPathCalculator();
+        // the same seed creates the same nodes, but the durations of the edges differ
+        TestRegion before = TestRegion.grid(6, 6, 3, 4);
+        TestRegion after = TestRegion.grid(6, 6, 9, 4);
+        for (Region.Node end : before.getNodes()) {
+            calculator.getAllPathsTo(end);
+        }
+        assertEquivalent(calculator, after);
+        assertTrue(calculator.getRepairedTrees() > 0);
+    }
+
+    private static void assertEquivalent(Supplier<PathCalculator> calculatorFactory) {
+        PathCalculator calculator = assumeImplemented(calculatorFactory::get);
+        for (TestRegion region : REGIONS) {
+            assertEquivalent(calculator, region);
+        }
+    }
+
+    private static void assertEquivalent(PathCalculator calculator, TestRegion region) {
+        List<Region.Node> nodes = List.copyOf(region.getNodes());
+        long[][] expected = floydWarshall(nodes);
+
+        long[][] matrix = assumeImplemented(() -> calculator.getDurationMatrix(nodes, nodes));
+        for (int i = 0; i < nodes.size(); i++) {
+            Region.Node start = nodes.get(i);
+            assertArrayEquals(expected[i], matrix[i], "durations from " + start.getName());
+            for (int j = 0; j < nodes.size(); j++) {
+                Region.Node end = nodes.get(j);
+                assertEquals(expected[i][j], calculator.getDuration(start, end),
+                    "duration from " + start.getName() + " to " + end.getName());
+                assertEquals(expected[i][j], duration(start, end, calculator.getPath(start, end)),
+                    "path from " + start.getName() + " to " + end.getName());
+            }
+        }
+        for (int j = 0; j < nodes.size(); j++) {
+            Region.Node end = nodes.get(j);
+            Map<Region.Node, Deque<Region.Node>> paths = calculator.getAllPathsTo(end);
+            for (int i = 0; i < nodes.size(); i++) {
+                Region.Node start = nodes.get(i);
+                assertEquals(expected[i][j], duration(start, end, paths.get(start)),
+                    "path from " + start.getName() + " to " + end.getName() + " of all paths");
+            }
+        }
+    }
+
+    /**
+     * Checks that the given path connects the given nodes and returns the sum of the durations of its edges.
+     */
+    private static long duration(Region.Node start, Region.Node end, Deque<Region.Node> path) {
+        assertNotNull(path, "no path from " + start.getName() + " to " + end.getName());
+        long duration = 0;
+        Region.Node previous = start;
+        for (Region.Node node : new ArrayList<>(path)) {
+            Region.Edge edge = previous.getEdge(node);
+            assertNotNull(edge, "no edge from " + previous.getName() + " to " + node.getName());
+            duration += edge.getDuration();
+            previous = node;
+        }
+        assertSame(end, previous);
+        return duration;
+    }
+
+    private static long[][] floydWarshall(List<Region.Node> nodes) {
+        Map<Region.Node, Integer> indices = new HashMap<>();
+        for (Region.Node node : nodes) {
+            indices.put(node, indices.size());
+        }
+        long[][] durations = new long[nodes.size()][nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            for (int j = 0; j < nodes.size(); j++) {
+                durations[i][j] = i == j ? 0 : Long.MAX_VALUE;
+            }
+            for (Region.Node neighbor : nodes.get(i).getAdjacentNodes()) {
+                durations[i][indices.get(neighbor)] = nodes.get(i).getEdge(neighbor).getDuration();
+            }
+        }
+        for (int k = 0; k < nodes.size(); k++) {
+            for (int i = 0; i < nodes.size(); i++) {
+                for (int j = 0; j < nodes.size(); j++) {
+                    if (durations[i][k] != Long.MAX_VALUE && durations[k][j] != Long.MAX_VALUE) {
+                        durations[i][j] = Math.min(durations[i][j], durations[i][k] + durations[k][j]);
+                    }
+                }
+            }
+        }
+        return durations;
+    }
+}
@@ -0,0 +1,290 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+import projekt.base.DistanceCalculator;
+import projekt.base.EuclideanDistanceCalculator;
+import projekt.base.Location;
+
+import java.util.*;
+
+/**
+ * A {@link Region} for tests that does not depend on {@link RegionImpl}, {@link NodeImpl}, {@link EdgeImpl} or the
+ * methods of {@link Location} that are implemented in the exercises.<p>
+ *
+ * Nodes and edges are only equal to themselves and are looked up by their coordinates.
+ */
+public class TestRegion implements Region {
+
+    /**
+     * The food every restaurant of a {@link TestRegion} offers.
+     */
+    public static final List<String> FOOD = List.of("Pizza", "Pasta");
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final List<Edge> edges = new ArrayList<>();
+    private final Map<Long, TestNode> nodesByLocation = new HashMap<>();
+    private final DistanceCalculator distanceCalculator = new EuclideanDistanceCalculator();
+
+    /**
+     * Creates a grid of the given size with random durations. Every node is connected to its right and its upper
+     * neighbor, every tenth node on average is a restaurant and every third a neighborhood. The node at {@code (0, 0)}
+     * always is a restaurant.
+     * @param width The amount of nodes in x-direction.
+     * @param height The amount of nodes in y-direction.
+     * @param maxDuration The maximum duration of an edge.
+     * @param seed The seed of the random numbers.
+     * @return The created {@link TestRegion}.
+     */
+    public static TestRegion grid(int width, int height, int maxDuration, long seed) {
+        Random random = new Random(seed);
+        TestRegion region = new TestRegion();
+        TestNode[][] grid = new TestNode[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int kind = x == 0 && y == 0 ? 0 : random.nextInt(10);
+                Location location = new Location(x, y);
+                grid[x][y] = kind == 0 ? region.addRestaurant(location)
+                    : kind <= 3 ? region.addNeighborhood(location)
+                    : region.addNode(location);
+            }
+        }
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (x + 1 < width) {
+                    region.addEdge(grid[x][y], grid[x + 1][y], 1 + random.nextInt(maxDuration));
+                }
+                if (y + 1 < height) {
+                    region.addEdge(grid[x][y], grid[x][y + 1], 1 + random.nextInt(maxDuration));
+                }
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Adds a plain node at the given location.
+     * @param location The location of the node.
+     * @return The added node.
+     */
+    public TestNode addNode(Location location) {
+        return add(new TestNode("N" + location.getX() + "_" + location.getY(), location));
+    }
+
+    /**
+     * Adds a restaurant offering {@link #FOOD} at the given location.
+     * @param location The location of the restaurant.
+     * @return The added restaurant.
+     */
+    public TestNode addRestaurant(Location location) {
+        return add(new TestRestaurant("R" + location.getX() + "_" + location.getY(), location));
+    }
+
+    /**
+     * Adds a neighborhood at the given location.
+     * @param location The location of the neighborhood.
+     * @return The added neighborhood.
+     */
+    public TestNode addNeighborhood(Location location) {
+        return add(new TestNeighborhood("H" + location.getX() + "_" + location.getY(), location));
+    }
+
+    /**
+     * Connects the given nodes with an edge of the given duration.
+     * @param nodeA The first node.
+     * @param nodeB The second node.
+     * @param duration The duration of the edge.
+     * @return The added edge.
+     */
+    public Edge addEdge(Node nodeA, Node nodeB, long duration) {
+        TestNode a = (TestNode) nodeA;
+        TestNode b = (TestNode) nodeB;
+        if (compare(a.getLocation(), b.getLocation()) > 0) {
+            TestNode swap = a;
+            a = b;
+            b = swap;
+        }
+        TestEdge edge = new TestEdge("E" + a.getName() + "-" + b.getName(), a, b, duration);
+        edges.add(edge);
+        a.adjacent.put(b, edge);
+        b.adjacent.put(a, edge);
+        return edge;
+    }
+
+    /**
+     * Returns the node at the given coordinates.
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The node at the given coordinates or {@code null} if there is none.
+     */
+    public @Nullable Node getNode(int x, int y) {
+        return nodesByLocation.get(key(x, y));
+    }
+
+    @Override
+    public @Nullable Node getNode(Location location) {
+        return getNode(location.getX(), location.getY());
+    }
+
+    @Override
+    public @Nullable Edge getEdge(Location locationA, Location locationB) {
+        TestNode nodeA = nodesByLocation.get(key(locationA.getX(), locationA.getY()));
+        TestNode nodeB = nodesByLocation.get(key(locationB.getX(), locationB.getY()));
+        return nodeA == null || nodeB == null ? null : nodeA.adjacent.get(nodeB);
+    }
+
+    @Override
+    public Collection<Node> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    @Override
+    public Collection<Edge> getEdges() {
+        return Collections.unmodifiableList(edges);
+    }
+
+    @Override
+    public DistanceCalculator getDistanceCalculator() {
+        return distanceCalculator;
+    }
+
+    private TestNode add(TestNode node) {
+        if (nodesByLocation.putIfAbsent(key(node.getLocation().getX(), node.getLocation().getY()), node) != null) {
+            throw new IllegalArgumentException("Duplicate node at " + node.getName());
+        }
+        nodes.add(node);
+        return node;
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static int compare(Location a, Location b) {
+        return a.getX() != b.getX() ? Integer.compare(a.getX(), b.getX()) : Integer.compare(a.getY(), b.getY());
+    }
+
+    /**
+     * A node of a {@link TestRegion}.
+     */
+    public class TestNode implements Node {
+
+        private final String name;
+        private final Location location;
+        private final Map<Node, Edge> adjacent = new LinkedHashMap<>();
+
+        private TestNode(String name, Location location) {
+            this.name = name;
+            this.location = location;
+        }
+
+        @Override
+        public Region getRegion() {
+            return TestRegion.this;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Location getLocation() {
+            return location;
+        }
+
+        @Override
+        public @Nullable Edge getEdge(Node other) {
+            return adjacent.get(other);
+        }
+
+        @Override
+        public Set<Node> getAdjacentNodes() {
+            return Collections.unmodifiableSet(adjacent.keySet());
+        }
+
+        @Override
+        public Set<Edge> getAdjacentEdges() {
+            return new LinkedHashSet<>(adjacent.values());
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            return compare(location, other.getLocation());
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private class TestRestaurant extends TestNode implements Restaurant {
+
+        private TestRestaurant(String name, Location location) {
+            super(name, location);
+        }
+
+        @Override
+        public List<String> getAvailableFood() {
+            return FOOD;
+        }
+    }
+
+    private class TestNeighborhood extends TestNode implements Neighborhood {
+
+        private TestNeighborhood(String name, Location location) {
+            super(name, location);
+        }
+    }
+
+    private class TestEdge implements Edge {
+
+        private final String name;
+        private final Node nodeA;
+        private final Node nodeB;
+        private final long duration;
+
+        private TestEdge(String name, Node nodeA, Node nodeB, long duration) {
+            this.name = name;
+            this.nodeA = nodeA;
+            this.nodeB = nodeB;
+            this.duration = duration;
+        }
+
+        @Override
+        public Region getRegion() {
+            return TestRegion.this;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getDuration() {
+            return duration;
+        }
+
+        @Override
+        public Node getNodeA() {
+            return nodeA;
+        }
+
+        @Override
+        public Node getNodeB() {
+            return nodeB;
+        }
+
+        @Override
+        public int compareTo(Edge other) {
+            int result = nodeA.compareTo(other.getNodeA());
+            return result != 0 ? result : nodeB.compareTo(other.getNodeB());
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
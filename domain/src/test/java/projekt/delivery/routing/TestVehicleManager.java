@@ -0,0 +1,149 @@
+package projekt.delivery.routing;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link VehicleManagerImpl} for tests that does not depend on the methods of {@link VehicleManagerImpl},
+ * {@link VehicleImpl} and {@link Vehicle} that are implemented in the exercises.<p>
+ *
+ * The occupied components are created in the iteration order of the nodes and edges of the region. The vehicles follow
+ * the paths of the {@link PathCalculator} of the vehicle manager, but can only move directly from a node.
+ */
+public class TestVehicleManager extends VehicleManagerImpl {
+
+    private TestVehicleManager(Region region, PathCalculator pathCalculator) {
+        super(region, pathCalculator, TestVehicleManager::toOccupiedNodes, TestVehicleManager::toOccupiedEdges);
+    }
+
+    /**
+     * Creates a {@link TestVehicleManager} without any vehicles.
+     * @param region The region of the vehicle manager.
+     * @param pathCalculator The {@link PathCalculator} of the vehicle manager.
+     * @return The created {@link TestVehicleManager}.
+     */
+    public static TestVehicleManager create(Region region, PathCalculator pathCalculator) {
+        return new TestVehicleManager(region, pathCalculator);
+    }
+
+    /**
+     * Adds a vehicle that is spawned at the given restaurant in the next tick.
+     * @param restaurant The restaurant the vehicle starts at.
+     * @param capacity The capacity of the vehicle.
+     * @return This {@link TestVehicleManager}.
+     */
+    public TestVehicleManager withVehicle(Region.Node restaurant, double capacity) {
+        addVehicle(restaurant.getLocation(), capacity);
+        return this;
+    }
+
+    private static Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> toOccupiedNodes(VehicleManagerImpl vehicleManager) {
+        Map<Region.Node, OccupiedNodeImpl<? extends Region.Node>> occupiedNodes = new LinkedHashMap<>();
+        for (Region.Node node : vehicleManager.getRegion().getNodes()) {
+            occupiedNodes.put(node, node instanceof Region.Restaurant restaurant
+                ? new OccupiedRestaurantImpl(restaurant, vehicleManager)
+                : node instanceof Region.Neighborhood neighborhood
+                ? new OccupiedNeighborhoodImpl(neighborhood, vehicleManager)
+                : new OccupiedNodeImpl<>(node, vehicleManager));
+        }
+        return occupiedNodes;
+    }
+
+    private static Map<Region.Edge, OccupiedEdgeImpl> toOccupiedEdges(VehicleManagerImpl vehicleManager) {
+        Map<Region.Edge, OccupiedEdgeImpl> occupiedEdges = new LinkedHashMap<>();
+        for (Region.Edge edge : vehicleManager.getRegion().getEdges()) {
+            occupiedEdges.put(edge, new OccupiedEdgeImpl(edge, vehicleManager));
+        }
+        return occupiedEdges;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <C extends Region.Component<C>> AbstractOccupied<C> getOccupied(C component) {
+        return (AbstractOccupied<C>) getAbstractOccupied(component);
+    }
+
+    @Override
+    public OccupiedRestaurant getOccupiedRestaurant(Region.Node node) {
+        Occupied<?> occupied = getAbstractOccupied(node);
+        if (!(occupied instanceof OccupiedRestaurant occupiedRestaurant)) {
+            throw new IllegalArgumentException("Node %s is not a restaurant".formatted(node));
+        }
+        return occupiedRestaurant;
+    }
+
+    @Override
+    public OccupiedNeighborhood getOccupiedNeighborhood(Region.Node node) {
+        Occupied<?> occupied = getAbstractOccupied(node);
+        if (!(occupied instanceof OccupiedNeighborhood occupiedNeighborhood)) {
+            throw new IllegalArgumentException("Node %s is not a neighborhood".formatted(node));
+        }
+        return occupiedNeighborhood;
+    }
+
+    @Override
+    public void reset() {
+        occupiedNodes.values().forEach(AbstractOccupied::reset);
+        occupiedEdges.values().forEach(AbstractOccupied::reset);
+        resetVehicles();
+    }
+
+    @Override
+    VehicleManagerImpl createEmpty() {
+        return new TestVehicleManager(getRegion(), getPathCalculator());
+    }
+
+    @Override
+    VehicleImpl createVehicle(int id, double capacity, OccupiedRestaurant startingNode) {
+        return new TestVehicle(id, capacity, this, startingNode);
+    }
+
+    private static class TestVehicle extends VehicleImpl {
+
+        private TestVehicle(int id, double capacity, VehicleManagerImpl vehicleManager, OccupiedRestaurant startingNode) {
+            super(id, capacity, vehicleManager, startingNode);
+        }
+
+        @Override
+        public void moveDirect(Region.Node node, BiConsumer<? super Vehicle, Long> arrivalAction) {
+            if (!(getOccupied().getComponent() instanceof Region.Node)) {
+                throw new UnsupportedOperationException("Vehicles of a TestVehicleManager can only move directly from a node");
+            }
+            clearMoveQueue();
+            moveQueued(node, arrivalAction);
+        }
+
+        @Override
+        public void moveQueued(Region.Node node, BiConsumer<? super Vehicle, Long> arrivalAction) {
+            @Nullable Region.Node start = getOccupied().getComponent() instanceof Region.Node current ? current : null;
+            for (Path path : getPaths()) {
+                if (!path.nodes().isEmpty()) {
+                    start = path.nodes().getLast();
+                }
+            }
+            if (start == null) {
+                throw new IllegalStateException("Vehicle %d is on an edge without a path".formatted(getId()));
+            }
+            queuePath(new ArrayDeque<>(getVehicleManager().getPathCalculator().getPath(start, node)), arrivalAction);
+        }
+
+        @Override
+        public double getCurrentWeight() {
+            return getOrders().stream().mapToDouble(ConfirmedOrder::getWeight).sum();
+        }
+
+        @Override
+        void loadOrder(ConfirmedOrder order) {
+            getOrders().add(order);
+        }
+
+        @Override
+        void unloadOrder(ConfirmedOrder order) {
+            getOrders().remove(order);
+        }
+    }
+}
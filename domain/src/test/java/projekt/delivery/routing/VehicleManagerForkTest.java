@@ -0,0 +1,126 @@
+package projekt.delivery.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.base.Location;
+import projekt.base.TickInterval;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VehicleManagerForkTest {
+
+    private TestRegion region;
+    private Region.Node restaurant;
+    private Region.Node neighborhood;
+
+    @BeforeEach
+    public void setUp() {
+        region = new TestRegion();
+        restaurant = region.addRestaurant(new Location(0, 0));
+        Region.Node a = region.addNode(new Location(1, 0));
+        Region.Node b = region.addNode(new Location(2, 0));
+        neighborhood = region.addNeighborhood(new Location(3, 0));
+        region.addEdge(restaurant, a, 2);
+        region.addEdge(a, b, 2);
+        region.addEdge(b, neighborhood, 2);
+    }
+
+    @Test
+    public void testForkMidDeliveryDoesNotChangeOriginal() {
+        VehicleManager vehicleManager = createVehicleManager();
+        Vehicle vehicle = vehicleManager.getVehicles().iterator().next();
+        ConfirmedOrder order = loadOrder(vehicleManager, vehicle);
+        vehicle.moveQueued(neighborhood, new Deliver(vehicleManager, neighborhood, order));
+        vehicleManager.tick(1);
+        vehicleManager.tick(2);
+
+        VehicleManager fork = vehicleManager.fork();
+        Vehicle forkedVehicle = fork.getVehicles().iterator().next();
+        ConfirmedOrder forkedOrder = forkedVehicle.getOrders().iterator().next();
+        assertNotSame(order, forkedOrder);
+        assertSame(fork, forkedOrder.getRestaurant().getVehicleManager());
+
+        for (long tick = 3; tick < 20; tick++) {
+            fork.tick(tick);
+        }
+        assertTrue(forkedVehicle.getOrders().isEmpty());
+        assertNotEquals(0, forkedOrder.getActualDeliveryTick());
+
+        assertEquals(List.of(order), List.copyOf(vehicle.getOrders()));
+        assertEquals(0, order.getActualDeliveryTick());
+        assertSame(vehicleManager, vehicle.getVehicleManager());
+        assertEquals(1, vehicle.getPaths().size());
+
+        for (long tick = 3; tick < 20; tick++) {
+            vehicleManager.tick(tick);
+        }
+        assertTrue(vehicle.getOrders().isEmpty());
+        assertEquals(forkedOrder.getActualDeliveryTick(), order.getActualDeliveryTick());
+    }
+
+    @Test
+    public void testForkRejectsArrivalActionThatCannotBeRebound() {
+        VehicleManager vehicleManager = createVehicleManager();
+        Vehicle vehicle = vehicleManager.getVehicles().iterator().next();
+        ConfirmedOrder order = loadOrder(vehicleManager, vehicle);
+        vehicle.moveQueued(neighborhood, (v, tick) ->
+            vehicleManager.getOccupiedNeighborhood(neighborhood).deliverOrder(v, order, tick));
+
+        assertThrows(UnsupportedOperationException.class, vehicleManager::fork);
+        assertEquals(List.of(order), List.copyOf(vehicle.getOrders()));
+        assertEquals(1, vehicle.getPaths().size());
+    }
+
+    @Test
+    public void testCopyIsInTheStartState() {
+        VehicleManager vehicleManager = createVehicleManager();
+        Vehicle vehicle = vehicleManager.getVehicles().iterator().next();
+        loadOrder(vehicleManager, vehicle);
+        vehicle.moveQueued(neighborhood);
+        vehicleManager.tick(1);
+
+        VehicleManager copy = vehicleManager.copy();
+        assertTrue(copy.getVehicles().isEmpty());
+        copy.tick(0);
+        Vehicle copiedVehicle = copy.getVehicles().iterator().next();
+        assertNotSame(vehicle, copiedVehicle);
+        assertEquals(vehicle.getId(), copiedVehicle.getId());
+        assertEquals(vehicle.getCapacity(), copiedVehicle.getCapacity());
+        assertSame(copy.getOccupiedRestaurant(restaurant), copiedVehicle.getStartingNode());
+        assertSame(copiedVehicle.getStartingNode(), copiedVehicle.getOccupied());
+        assertTrue(copiedVehicle.getOrders().isEmpty());
+        assertTrue(copiedVehicle.getPaths().isEmpty());
+    }
+
+    private VehicleManager createVehicleManager() {
+        VehicleManager vehicleManager = TestVehicleManager.create(region, new CompactDijkstraPathCalculator())
+            .withVehicle(restaurant, 10);
+        vehicleManager.tick(0);
+        return vehicleManager;
+    }
+
+    private ConfirmedOrder loadOrder(VehicleManager vehicleManager, Vehicle vehicle) {
+        VehicleManager.OccupiedRestaurant occupiedRestaurant = vehicleManager.getOccupiedRestaurant(restaurant);
+        ConfirmedOrder order = new ConfirmedOrder(neighborhood.getLocation(), occupiedRestaurant,
+            new TickInterval(0, 100), List.of(TestRegion.FOOD.get(0)), 1);
+        occupiedRestaurant.loadOrder(vehicle, order, 0);
+        return order;
+    }
+
+    private record Deliver(VehicleManager vehicleManager, Region.Node neighborhood, ConfirmedOrder order)
+        implements Vehicle.RebindableAction {
+
+        @Override
+        public void accept(Vehicle vehicle, Long tick) {
+            vehicleManager.getOccupiedNeighborhood(neighborhood).deliverOrder(vehicle, order, tick);
+        }
+
+        @Override
+        public Deliver rebind(VehicleManager vehicleManager, UnaryOperator<ConfirmedOrder> orders) {
+            return new Deliver(vehicleManager, neighborhood, orders.apply(order));
+        }
+    }
+}
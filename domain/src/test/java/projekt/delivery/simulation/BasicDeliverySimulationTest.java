@@ -0,0 +1,96 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.delivery.event.Event;
+import projekt.delivery.routing.CompactDijkstraPathCalculator;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.TestRegion;
+import projekt.delivery.routing.TestVehicleManager;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.AbstractDeliveryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BasicDeliverySimulationTest {
+
+    private SimulationConfig simulationConfig;
+    private BasicDeliverySimulation simulation;
+
+    @BeforeEach
+    public void setUp() {
+        TestRegion region = TestRegion.grid(3, 3, 2, 1);
+        VehicleManager vehicleManager = TestVehicleManager.create(region, new CompactDijkstraPathCalculator())
+            .withVehicle(region.getNode(0, 0), 5);
+        simulationConfig = new SimulationConfig(10);
+        simulation = new BasicDeliverySimulation(simulationConfig, Map.of(), new IdleService(vehicleManager),
+            () -> tick -> List.of());
+    }
+
+    @Test
+    public void testInterruptEndsPausedSimulation() throws InterruptedException {
+        simulationConfig.setPaused(true);
+        assertInterruptEndsSimulation();
+    }
+
+    @Test
+    public void testInterruptEndsHeadlessSimulation() throws InterruptedException {
+        simulationConfig.setHeadless(true);
+        assertInterruptEndsSimulation();
+    }
+
+    @Test
+    public void testInterruptEndsWaitingSimulation() throws InterruptedException {
+        simulationConfig.setMillisecondsPerTick(60_000);
+        assertInterruptEndsSimulation();
+    }
+
+    private void assertInterruptEndsSimulation() throws InterruptedException {
+        AtomicBoolean keptInterrupt = new AtomicBoolean();
+        Thread thread = new Thread(() -> {
+            simulation.runSimulation();
+            keptInterrupt.set(Thread.currentThread().isInterrupted());
+        });
+        thread.start();
+        Thread.sleep(50);
+        thread.interrupt();
+        thread.join(5000);
+
+        boolean alive = thread.isAlive();
+        if (alive) {
+            simulation.endSimulation();
+            simulationConfig.setPaused(false);
+        }
+        assertFalse(alive, "the interrupted simulation is still running");
+        assertTrue(keptInterrupt.get());
+        assertFalse(simulation.isRunning());
+    }
+
+    /**
+     * A delivery service that only moves its vehicles, so the simulation never ends on its own.
+     */
+    private static class IdleService extends AbstractDeliveryService {
+
+        private final List<ConfirmedOrder> pendingOrders = new ArrayList<>();
+
+        private IdleService(VehicleManager vehicleManager) {
+            super(vehicleManager);
+        }
+
+        @Override
+        protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
+            pendingOrders.addAll(newOrders);
+            return vehicleManager.tick(currentTick);
+        }
+
+        @Override
+        public List<ConfirmedOrder> getPendingOrders() {
+            return pendingOrders;
+        }
+    }
+}
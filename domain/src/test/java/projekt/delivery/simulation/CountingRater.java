@@ -0,0 +1,39 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.event.DeliverOrderEvent;
+import projekt.delivery.event.Event;
+import projekt.delivery.rating.Rater;
+import projekt.delivery.rating.RatingCriteria;
+
+import java.util.List;
+
+/**
+ * Counts the delivered orders and the observed ticks. It does not implement {@link Checkpointable}, so its state
+ * is restored by replaying the recorded events.
+ */
+class CountingRater implements Rater {
+
+    private int deliveredOrders;
+    private long observedTicks;
+
+    @Override
+    public double getScore() {
+        return deliveredOrders + observedTicks / 1000.0;
+    }
+
+    @Override
+    public RatingCriteria getRatingCriteria() {
+        return RatingCriteria.AMOUNT_DELIVERED;
+    }
+
+    @Override
+    public void onTick(List<Event> events, long tick) {
+        deliveredOrders += events.stream().filter(DeliverOrderEvent.class::isInstance).count();
+        observedTicks++;
+    }
+
+    @Override
+    public void onIdleTicks(long from, long to) {
+        observedTicks += to - from;
+    }
+}
@@ -0,0 +1,132 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.Test;
+import projekt.delivery.event.Event;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.CompactDijkstraPathCalculator;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.TestRegion;
+import projekt.delivery.routing.TestVehicleManager;
+import projekt.delivery.routing.Vehicle;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.DeliveryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventDrivenSimulationTest {
+
+    private static final long SIMULATION_LENGTH = 60;
+    private static final Pattern ORDER_ID = Pattern.compile("order (\\d+)");
+
+    @Test
+    public void testSkippingIdleTicksMatchesTickByTick() {
+        Run expected = run(false);
+        Run actual = run(true);
+
+        assertTrue(expected.events.stream().anyMatch(event -> event.contains("DeliverOrder")), "nothing was delivered");
+        assertEquals(0, expected.idleTicks);
+        assertEquals(SIMULATION_LENGTH, expected.ticks.size());
+        assertTrue(actual.idleTicks > 0, "no ticks were skipped");
+        assertEquals(SIMULATION_LENGTH, actual.ticks.size() + actual.idleTicks);
+
+        assertEquals(expected.events, actual.events);
+        assertEquals(expected.state, actual.state);
+        assertEquals(expected.score, actual.score);
+    }
+
+    @Test
+    public void testListenersWithoutIdleTickSupportSeeEveryTick() {
+        Run expected = run(false);
+        Run actual = run(true);
+
+        // the default implementation of onIdleTicks reports every skipped tick as an empty one
+        assertEquals(expected.defaultTicks, actual.defaultTicks);
+        assertEquals(expected.ticks.size(), expected.defaultTicks.size());
+    }
+
+    private static Run run(boolean eventDriven) {
+        TestRegion region = TestRegion.grid(6, 6, 3, 42);
+        VehicleManager vehicleManager = TestVehicleManager.create(region, new CompactDijkstraPathCalculator())
+            .withVehicle(region.getNode(0, 0), 5)
+            .withVehicle(region.getNode(0, 0), 5);
+        SimulationConfig simulationConfig = new SimulationConfig(0);
+        simulationConfig.setHeadless(true);
+        simulationConfig.setEventDriven(eventDriven);
+        OrderGenerator orderGenerator = new TestOrderGenerator(vehicleManager, region);
+        BasicDeliverySimulation simulation = new BasicDeliverySimulation(simulationConfig,
+            Map.of(RatingCriteria.AMOUNT_DELIVERED, CountingRater::new), new ShuttleService(vehicleManager),
+            () -> orderGenerator);
+
+        Run run = new Run();
+        simulation.addListener(new SimulationListener() {
+            @Override
+            public void onTick(List<Event> events, long tick) {
+                run.ticks.add(tick);
+                events.forEach(event -> run.events.add(TestEvents.describe(event)));
+            }
+
+            @Override
+            public void onIdleTicks(long from, long to) {
+                run.idleTicks += to - from;
+            }
+        });
+        simulation.addListener((events, tick) -> run.defaultTicks.add(tick + ": " + events.size()));
+        simulation.runSimulation(SIMULATION_LENGTH);
+
+        run.score = simulation.getRatingForCriterion(RatingCriteria.AMOUNT_DELIVERED);
+        run.state = describeState(simulation.getDeliveryService());
+        run.relativizeOrderIDs();
+        return run;
+    }
+
+    private static String describeState(DeliveryService deliveryService) {
+        StringBuilder description = new StringBuilder();
+        for (Vehicle vehicle : deliveryService.getVehicleManager().getAllVehicles()) {
+            description.append("vehicle ").append(vehicle.getId())
+                .append(" at ").append(vehicle.getOccupied().getComponent())
+                .append(" carries");
+            vehicle.getOrders().forEach(order -> description.append(" order ").append(order.getOrderID()));
+            description.append('\n');
+        }
+        for (ConfirmedOrder order : deliveryService.getPendingOrders()) {
+            description.append("pending order ").append(order.getOrderID()).append('\n');
+        }
+        return description.toString();
+    }
+
+    private static class Run {
+        private final List<Long> ticks = new ArrayList<>();
+        private final List<String> events = new ArrayList<>();
+        private final List<String> defaultTicks = new ArrayList<>();
+        private long idleTicks;
+        private double score;
+        private String state;
+
+        /**
+         * Replaces the order IDs, which are unique across all simulations, by their distance to the first order of
+         * this run.
+         */
+        private void relativizeOrderIDs() {
+            int first = events.stream()
+                .map(ORDER_ID::matcher)
+                .filter(Matcher::find)
+                .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
+                .min()
+                .orElse(0);
+            events.replaceAll(event -> relativize(event, first));
+            state = relativize(state, first);
+        }
+
+        private static String relativize(String description, int first) {
+            return ORDER_ID.matcher(description)
+                .replaceAll(result -> "order " + (Integer.parseInt(result.group(1)) - first));
+        }
+    }
+}
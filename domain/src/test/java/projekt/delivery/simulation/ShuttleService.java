@@ -0,0 +1,60 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.event.Event;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.Vehicle;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.AbstractDeliveryService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the oldest pending order onto every idle vehicle at the restaurant and delivers it using an arrival action
+ * that refers to the order, before returning to the restaurant.
+ */
+class ShuttleService extends AbstractDeliveryService {
+
+    private final List<ConfirmedOrder> pendingOrders = new ArrayList<>();
+
+    ShuttleService(VehicleManager vehicleManager) {
+        super(vehicleManager);
+    }
+
+    @Override
+    protected List<Event> tick(long currentTick, List<ConfirmedOrder> newOrders) {
+        List<Event> events = vehicleManager.tick(currentTick);
+        pendingOrders.addAll(newOrders);
+        for (Vehicle vehicle : vehicleManager.getVehicles()) {
+            if (pendingOrders.isEmpty()) {
+                break;
+            }
+            if (vehicle.getPaths().isEmpty() && vehicle.getOccupied().getComponent() instanceof Region.Restaurant restaurant) {
+                ConfirmedOrder order = pendingOrders.remove(0);
+                vehicleManager.getOccupiedRestaurant(restaurant).loadOrder(vehicle, order, currentTick);
+                Region.Node target = vehicleManager.getRegion().getNode(order.getLocation());
+                vehicle.moveQueued(target, (v, tick) ->
+                    vehicleManager.getOccupiedNeighborhood(target).deliverOrder(v, order, tick));
+                vehicle.moveQueued(restaurant);
+            }
+        }
+        return events;
+    }
+
+    @Override
+    public long getNextEventTick(long currentTick) {
+        return hasUnprocessedOrders() ? currentTick : vehicleManager.getNextEventTick(currentTick);
+    }
+
+    @Override
+    public List<ConfirmedOrder> getPendingOrders() {
+        return pendingOrders;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        pendingOrders.clear();
+    }
+}
@@ -0,0 +1,153 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import projekt.delivery.event.Event;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.rating.RatingCriteria;
+import projekt.delivery.routing.CompactDijkstraPathCalculator;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.TestRegion;
+import projekt.delivery.routing.TestVehicleManager;
+import projekt.delivery.routing.Vehicle;
+import projekt.delivery.routing.VehicleManager;
+import projekt.delivery.service.BogoDeliveryService;
+import projekt.delivery.service.DeliveryService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationCheckpointTest {
+
+    private static final long CHECKPOINT_TICK = 15;
+    private static final long SIMULATION_LENGTH = 60;
+
+    private TestRegion region;
+    private BasicDeliverySimulation simulation;
+    private final List<String> log = new ArrayList<>();
+    private long idleTicks;
+
+    @BeforeEach
+    public void setUp() {
+        region = TestRegion.grid(6, 6, 3, 42);
+        simulation = createSimulation(ShuttleService::new);
+    }
+
+    private BasicDeliverySimulation createSimulation(Function<VehicleManager, DeliveryService> deliveryService) {
+        VehicleManager vehicleManager = TestVehicleManager.create(region, new CompactDijkstraPathCalculator())
+            .withVehicle(region.getNode(0, 0), 5)
+            .withVehicle(region.getNode(0, 0), 5);
+        SimulationConfig simulationConfig = new SimulationConfig(0);
+        simulationConfig.setHeadless(true);
+        simulationConfig.setEventDriven(true);
+        OrderGenerator orderGenerator = new TestOrderGenerator(vehicleManager, region);
+        BasicDeliverySimulation simulation = new BasicDeliverySimulation(simulationConfig,
+            Map.of(RatingCriteria.AMOUNT_DELIVERED, CountingRater::new), deliveryService.apply(vehicleManager),
+            () -> orderGenerator);
+        simulation.addListener(new SimulationListener() {
+            @Override
+            public void onTick(List<Event> events, long tick) {
+                events.forEach(event -> log.add(TestEvents.describe(event)));
+            }
+
+            @Override
+            public void onIdleTicks(long from, long to) {
+                idleTicks += to - from;
+            }
+        });
+        return simulation;
+    }
+
+    @Test
+    public void testRestoredSimulationContinuesLikeTheOriginal() {
+        List<SimulationCheckpoint> checkpoints = new ArrayList<>();
+        simulation.setCheckpointHandler(CHECKPOINT_TICK, checkpoints::add);
+        simulation.runSimulation(SIMULATION_LENGTH);
+        simulation.setCheckpointHandler(0, null);
+        SimulationCheckpoint checkpoint = checkpoints.get(0);
+        List<String> expected = eventsFrom(checkpoint.getTick());
+        String expectedState = describeState();
+        double expectedScore = simulation.getRatingForCriterion(RatingCriteria.AMOUNT_DELIVERED);
+        assertTrue(expected.stream().anyMatch(event -> event.startsWith("DeliverOrder")), "nothing was delivered");
+        assertTrue(idleTicks > 0, "no ticks were skipped");
+        assertTrue(checkpoint.hasArrivalActions());
+
+        log.clear();
+        simulation.setCheckpointHandler(2 * CHECKPOINT_TICK, checkpoints::add);
+        simulation.resumeSimulation(checkpoint, SIMULATION_LENGTH);
+
+        assertEquals(expected, log);
+        assertEquals(expectedState, describeState());
+        assertEquals(expectedScore, simulation.getRatingForCriterion(RatingCriteria.AMOUNT_DELIVERED));
+
+        // the events of a restored simulation are recorded separately from the restored ones
+        simulation.setCheckpointHandler(0, null);
+        simulation.resumeSimulation(checkpoints.get(1), SIMULATION_LENGTH);
+        assertEquals(expectedState, describeState());
+        assertEquals(expectedScore, simulation.getRatingForCriterion(RatingCriteria.AMOUNT_DELIVERED));
+    }
+
+    @Test
+    public void testRandomMovesContinueAfterRestoringFromAStream() throws IOException {
+        simulation = createSimulation(BogoDeliveryService::new);
+        List<SimulationCheckpoint> checkpoints = new ArrayList<>();
+        simulation.setCheckpointHandler(CHECKPOINT_TICK, checkpoints::add);
+        simulation.runSimulation(SIMULATION_LENGTH);
+        simulation.setCheckpointHandler(0, null);
+        SimulationCheckpoint checkpoint = checkpoints.get(0);
+        List<String> expected = eventsFrom(checkpoint.getTick());
+        String expectedState = describeState();
+        assertTrue(expected.stream().anyMatch(event -> event.startsWith("DeliverOrder")), "nothing was delivered");
+
+        // the random moves of the delivery service have no arrival actions
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        checkpoint.writeTo(bytes);
+        SimulationCheckpoint read = SimulationCheckpoint.readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+        assertFalse(read.hasArrivalActions());
+        log.clear();
+        simulation.resumeSimulation(read, SIMULATION_LENGTH);
+
+        assertEquals(expected, log);
+        assertEquals(expectedState, describeState());
+    }
+
+    @Test
+    public void testStreamCheckpointWithArrivalActionsCannotBeRestored() throws IOException {
+        simulation.runSimulation(CHECKPOINT_TICK);
+        SimulationCheckpoint checkpoint = simulation.createCheckpoint();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        checkpoint.writeTo(bytes);
+        SimulationCheckpoint read = SimulationCheckpoint.readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertFalse(read.hasArrivalActions());
+        assertEquals(checkpoint.getTick(), read.getTick());
+        assertThrows(UnsupportedOperationException.class, () -> simulation.restoreCheckpoint(read));
+    }
+
+    private List<String> eventsFrom(long tick) {
+        return log.stream()
+            .filter(event -> Long.parseLong(event.substring(event.indexOf('@') + 1, event.indexOf(' '))) >= tick)
+            .toList();
+    }
+
+    private String describeState() {
+        // arrival actions that refer to stale orders deliver them, but leave the loaded copies on the vehicles
+        StringBuilder description = new StringBuilder();
+        for (Vehicle vehicle : simulation.getDeliveryService().getVehicleManager().getAllVehicles()) {
+            description.append("vehicle ").append(vehicle.getId()).append(" carries");
+            vehicle.getOrders().forEach(order -> description.append(' ').append(order.getOrderID()));
+            description.append('\n');
+        }
+        for (ConfirmedOrder order : simulation.getDeliveryService().getPendingOrders()) {
+            description.append("pending ").append(order.getOrderID()).append('\n');
+        }
+        return description.toString();
+    }
+}
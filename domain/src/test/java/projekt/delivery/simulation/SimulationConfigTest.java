@@ -0,0 +1,49 @@
+package projekt.delivery.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationConfigTest {
+
+    @Test
+    public void testConditionChangedBeforeWaitingIsNotMissed() {
+        SimulationConfig config = new SimulationConfig(10);
+        config.setPaused(true);
+        AtomicBoolean terminated = new AtomicBoolean();
+        // the wake up happens before the thread starts waiting
+        terminated.set(true);
+        config.wakeUp();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> config.awaitUnpaused(terminated::get));
+        assertTrue(config.isPaused());
+    }
+
+    @Test
+    public void testWakeUpReleasesWaitingThread() throws InterruptedException {
+        SimulationConfig config = new SimulationConfig(10);
+        config.setPaused(true);
+        AtomicBoolean terminated = new AtomicBoolean();
+        CountDownLatch released = new CountDownLatch(1);
+        Thread waiting = new Thread(() -> {
+            try {
+                config.awaitUnpaused(terminated::get);
+                released.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiting.start();
+
+        terminated.set(true);
+        config.wakeUp();
+        boolean wasReleased = released.await(5, TimeUnit.SECONDS);
+        waiting.interrupt();
+        assertTrue(wasReleased);
+    }
+}
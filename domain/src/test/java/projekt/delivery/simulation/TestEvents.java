@@ -0,0 +1,41 @@
+package projekt.delivery.simulation;
+
+import projekt.delivery.event.DeliverOrderEvent;
+import projekt.delivery.event.Event;
+import projekt.delivery.event.LoadOrderEvent;
+import projekt.delivery.event.OrderReceivedEvent;
+import projekt.delivery.event.VehicleEvent;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.Vehicle;
+
+/**
+ * Describes {@link Event}s independently of their identity, so that the {@link Event}s of different runs can be
+ * compared.
+ */
+final class TestEvents {
+
+    private TestEvents() {
+    }
+
+    /**
+     * Returns a description of the given {@link Event} containing its type, its tick, its vehicle and its order.
+     * @param event The {@link Event} to describe.
+     * @return The description.
+     */
+    static String describe(Event event) {
+        StringBuilder description = new StringBuilder(event.getClass().getSimpleName())
+            .append('@').append(event.getTick()).append(' ');
+        if (event instanceof VehicleEvent vehicleEvent) {
+            Vehicle vehicle = vehicleEvent.getVehicle();
+            description.append("vehicle ").append(vehicle.getId()).append(" on ").append(vehicle.getOccupied().getComponent());
+        }
+        ConfirmedOrder order = event instanceof OrderReceivedEvent e ? e.getOrder()
+            : event instanceof LoadOrderEvent e ? e.getOrder()
+            : event instanceof DeliverOrderEvent e ? e.getOrder()
+            : null;
+        if (order != null) {
+            description.append(" order ").append(order.getOrderID());
+        }
+        return description.toString();
+    }
+}
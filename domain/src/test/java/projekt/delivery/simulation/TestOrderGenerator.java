@@ -0,0 +1,49 @@
+package projekt.delivery.simulation;
+
+import projekt.base.TickInterval;
+import projekt.delivery.generator.OrderGenerator;
+import projekt.delivery.routing.ConfirmedOrder;
+import projekt.delivery.routing.Region;
+import projekt.delivery.routing.TestRegion;
+import projekt.delivery.routing.VehicleManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates an order to a neighborhood at the restaurant at (0, 0) in every third of the first 30 ticks. The
+ * orders are only created once, so they have the same ids in every run.
+ */
+class TestOrderGenerator implements OrderGenerator {
+
+    private final VehicleManager vehicleManager;
+    private final TestRegion region;
+    private final Map<Long, List<ConfirmedOrder>> orders = new HashMap<>();
+
+    TestOrderGenerator(VehicleManager vehicleManager, TestRegion region) {
+        this.vehicleManager = vehicleManager;
+        this.region = region;
+    }
+
+    @Override
+    public List<ConfirmedOrder> generateOrders(long tick) {
+        if (tick % 3 != 0 || tick >= 30) {
+            return List.of();
+        }
+        return orders.computeIfAbsent(tick, t -> {
+            List<Region.Node> neighborhoods = region.getNodes().stream()
+                .filter(Region.Neighborhood.class::isInstance)
+                .toList();
+            Region.Node target = neighborhoods.get((int) (t / 3 % neighborhoods.size()));
+            return List.of(new ConfirmedOrder(target.getLocation(),
+                vehicleManager.getOccupiedRestaurant(region.getNode(0, 0)),
+                new TickInterval(t, t + 20), List.of(TestRegion.FOOD.get(0)), 1));
+        });
+    }
+
+    @Override
+    public long getNextOrderTick(long tick) {
+        return tick >= 30 ? Long.MAX_VALUE : (tick + 2) / 3 * 3;
+    }
+}
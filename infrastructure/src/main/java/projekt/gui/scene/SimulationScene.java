@@ -8,6 +8,7 @@ import projekt.delivery.archetype.ProblemArchetype;
 import projekt.delivery.event.ArrivedAtEdgeEvent;
 import projekt.delivery.event.ArrivedAtNodeEvent;
 import projekt.delivery.event.Event;
+import projekt.delivery.event.EventBatch;
 import projekt.delivery.event.SpawnEvent;
 import projekt.delivery.routing.Region;
 import projekt.delivery.routing.VehicleManager;
@@ -63,20 +64,15 @@ public class SimulationScene extends Scene implements SimulationListener, Contro
     @Override
     public void onTick(List<Event> events, long tick) {
         //Execute GUI updates on the javafx application thread
+        EventBatch batch = EventBatch.of(events);
         Platform.runLater(() -> {
-            events.stream()
-                .filter(SpawnEvent.class::isInstance)
-                .map(SpawnEvent.class::cast)
+            batch.of(SpawnEvent.class)
                 .forEach(spawnEvent -> mapPane.addVehicle(spawnEvent.getVehicle()));
 
-            events.stream()
-                .filter(ArrivedAtNodeEvent.class::isInstance)
-                .map(ArrivedAtNodeEvent.class::cast)
+            batch.of(ArrivedAtNodeEvent.class)
                 .forEach(arrivedAtNodeEvent -> mapPane.redrawVehicle(arrivedAtNodeEvent.getVehicle()));
 
-            events.stream()
-                .filter(ArrivedAtEdgeEvent.class::isInstance)
-                .map(ArrivedAtEdgeEvent.class::cast)
+            batch.of(ArrivedAtEdgeEvent.class)
                 .forEach(arrivedAtEdgeEvent -> mapPane.redrawVehicle(arrivedAtEdgeEvent.getVehicle()));
 
             controlsPane.updateTickLabel(tick);
@@ -84,6 +80,11 @@ public class SimulationScene extends Scene implements SimulationListener, Contro
 
     }
 
+    @Override
+    public boolean isRenderer() {
+        return true;
+    }
+
     @Override
     public SimulationSceneController getController() {
         return controller;
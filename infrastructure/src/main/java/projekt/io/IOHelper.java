@@ -1,6 +1,10 @@
 package projekt.io;
 
+import org.jetbrains.annotations.Nullable;
 import projekt.delivery.archetype.ProblemArchetype;
+import projekt.delivery.routing.CachedPathCalculator;
+import projekt.delivery.routing.ContractionHierarchyPathCalculator;
+import projekt.delivery.routing.PathCalculator;
 
 import java.io.*;
 import java.nio.file.Path;
@@ -57,7 +61,7 @@ public class IOHelper {
             dir.mkdirs();
         }
 
-        return new HashSet<>(Arrays.asList(Objects.requireNonNull(dir.listFiles())));
+        return new HashSet<>(Arrays.asList(Objects.requireNonNull(dir.listFiles((ignored, name) -> name.endsWith(".txt")))));
     }
 
     private static List<ProblemArchetype> readProblemsInFiles(Set<File> files) {
@@ -65,7 +69,9 @@ public class IOHelper {
 
         for (File file : files) {
             try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                problems.add(ProblemArchetypeIO.readProblemArchetype(reader));
+                ProblemArchetype problem = ProblemArchetypeIO.readProblemArchetype(reader);
+                readContractionHierarchy(problem);
+                problems.add(problem);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -74,11 +80,83 @@ public class IOHelper {
         return problems;
     }
 
+    /**
+     * Returns the file in the build directory (build/run/projekt/gui/problems) the contraction hierarchy of the given
+     * {@link ProblemArchetype} is stored in.
+     *
+     * @param problem The {@link ProblemArchetype} to return the file of.
+     * @return The file the contraction hierarchy of the given {@link ProblemArchetype} is stored in.
+     */
+    public static File getContractionHierarchyFile(ProblemArchetype problem) {
+        return Path.of(PROBLEMS_DIR.getPath(), problem.name() + ".ch").toFile();
+    }
+
+    /**
+     * Loads the contraction hierarchy of the given {@link ProblemArchetype} from the build directory, if it uses a
+     * {@link ContractionHierarchyPathCalculator} and a matching contraction hierarchy has been stored by
+     * {@link #writeContractionHierarchy(ProblemArchetype)}. Otherwise, the contraction hierarchy is built when it is
+     * needed for the first time. Nothing is written.
+     *
+     * @param problem The {@link ProblemArchetype} to load the contraction hierarchy of.
+     */
+    private static void readContractionHierarchy(ProblemArchetype problem) {
+        ContractionHierarchyPathCalculator pathCalculator = getContractionHierarchyPathCalculator(problem);
+        if (pathCalculator == null) {
+            return;
+        }
+
+        File file = getContractionHierarchyFile(problem);
+        if (!file.exists()) {
+            return;
+        }
+        try (InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+            pathCalculator.read(problem.vehicleManager().getRegion(), input);
+        } catch (IOException ignored) {
+            // an unreadable contraction hierarchy is built again
+        }
+    }
+
+    /**
+     * Writes the contraction hierarchy of the given {@link ProblemArchetype} into a binary file in the build directory
+     * (build/run/projekt/gui/problems), if it uses a {@link ContractionHierarchyPathCalculator}. The contraction
+     * hierarchy is built first, if it has not been built or loaded yet.<p>
+     *
+     * Apart from {@link #writeProblem(ProblemArchetype)}, which calls this method, nothing precomputes contraction
+     * hierarchies. {@link #readProblems()} only loads stored ones.
+     *
+     * @param problem The {@link ProblemArchetype} to write the contraction hierarchy of.
+     */
+    public static void writeContractionHierarchy(ProblemArchetype problem) {
+        ContractionHierarchyPathCalculator pathCalculator = getContractionHierarchyPathCalculator(problem);
+        if (pathCalculator == null) {
+            return;
+        }
+
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(getContractionHierarchyFile(problem)))) {
+            pathCalculator.write(problem.vehicleManager().getRegion(), output);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static @Nullable ContractionHierarchyPathCalculator getContractionHierarchyPathCalculator(ProblemArchetype problem) {
+        PathCalculator pathCalculator = problem.vehicleManager().getPathCalculator();
+
+        while (pathCalculator instanceof CachedPathCalculator cachedPathCalculator) {
+            pathCalculator = cachedPathCalculator.getDelegate();
+        }
+
+        return pathCalculator instanceof ContractionHierarchyPathCalculator contractionHierarchyPathCalculator
+            ? contractionHierarchyPathCalculator : null;
+    }
+
     /**
      * Writes the given {@link ProblemArchetype} into a text file in the build directory (build/run/projekt/gui/problems).<p>
      * <p>
      * The name of the file will be the name of the {@link ProblemArchetype}. The content of the file will be
      * produced by the {@link ProblemArchetypeIO#writeProblemArchetype(BufferedWriter, ProblemArchetype) method.
+     * If the {@link ProblemArchetype} uses a {@link ContractionHierarchyPathCalculator}, its contraction hierarchy is
+     * stored next to it.
      * <p>
      *
      * @param problem The {@link ProblemArchetype} to write into the file.
@@ -97,5 +175,7 @@ public class IOHelper {
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+
+        writeContractionHierarchy(problem);
     }
 }
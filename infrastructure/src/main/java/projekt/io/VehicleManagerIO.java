@@ -14,7 +14,14 @@ public class VehicleManagerIO {
 
     private static final Map<String, Function<Object, ? extends PathCalculator>> DESERIALIZED_PATH_CALCULATOR = Map.of(
         CachedPathCalculator.class.getSimpleName(), pathCalculator -> new CachedPathCalculator((PathCalculator) pathCalculator),
-        DijkstraPathCalculator.class.getSimpleName(), ignored -> new DijkstraPathCalculator()
+        DijkstraPathCalculator.class.getSimpleName(), ignored -> new DijkstraPathCalculator(),
+        CompactDijkstraPathCalculator.class.getSimpleName(), ignored -> new CompactDijkstraPathCalculator(),
+        BidirectionalDijkstraPathCalculator.class.getSimpleName(), ignored -> new BidirectionalDijkstraPathCalculator(),
+        AStarPathCalculator.class.getSimpleName(), ignored -> new AStarPathCalculator(),
+        ContractionHierarchyPathCalculator.class.getSimpleName(), ignored -> new ContractionHierarchyPathCalculator(),
+        LandmarkPathCalculator.class.getSimpleName(), ignored -> new LandmarkPathCalculator(),
+        AllPairsPathCalculator.class.getSimpleName(), ignored -> new AllPairsPathCalculator(),
+        DynamicPathCalculator.class.getSimpleName(), ignored -> new DynamicPathCalculator()
     );
 
     public static VehicleManager readVehicleManager(BufferedReader reader, Region region) {